@@ -1,31 +1,41 @@
 package com.agora.notification.channels;
 
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.core.NotificationProvider;
 import com.agora.notification.core.RetryableChannel;
+import com.agora.notification.exceptions.DeadlineExceededException;
 import com.agora.notification.exceptions.ProviderException;
 import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
+import com.agora.notification.monitoring.ProviderCallEvent;
 import com.agora.notification.retry.RetryExecutor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Email channel implementation. Delegates to the configured {@link NotificationProvider};
  * supports optional retry via {@link RetryExecutor}. Use with SendGrid, Mailgun, or custom
  * email providers. Implements {@link RetryableChannel} for retry configuration from the service builder.
+ * The provider can be replaced with {@link #setProvider} at any time; each send uses the provider
+ * that was set when it started. A provider call cut short by the request's deadline ends as EXPIRED.
  */
 @Slf4j
 public class EmailChannel implements RetryableChannel {
 
+    // Volatile so providers can be hot-swapped while sends are in flight
     @Getter
     @Setter
-    private NotificationProvider provider;
+    private volatile NotificationProvider provider;
 
     @Getter
     @Setter
-    private RetryExecutor retryExecutor;
+    private volatile RetryExecutor retryExecutor;
 
     /** No-arg constructor; set provider and optionally retryExecutor before use. */
     public EmailChannel() {
@@ -52,13 +62,17 @@ public class EmailChannel implements RetryableChannel {
      */
     @Override
     public NotificationResult send(NotificationRequest request) {
+        // Read once: a concurrent setProvider must not change the provider mid-send
+        NotificationProvider provider = this.provider;
+        RetryExecutor retryExecutor = this.retryExecutor;
         if (provider == null) {
             throw new ProviderException("EmailChannel", "No email provider configured");
         }
         
         if (!provider.isConfigured()) {
             throw new ProviderException("EmailChannel", 
-                "Email provider is not properly configured: " + provider.getName());
+                "Email provider is not properly configured: " + provider.getName(), 
+                ErrorCategory.CONFIGURATION);
         }
         
         log.debug("Sending email via provider: {}", provider.getName());
@@ -68,7 +82,59 @@ public class EmailChannel implements RetryableChannel {
             return retryExecutor.executeWithRetry(provider, request);
         }
         
-        return provider.send(request);
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        try {
+            NotificationResult result = provider.send(request);
+            callEvent.complete(request, provider.getName(), 1, result);
+            return result;
+        } catch (DeadlineExceededException e) {
+            callEvent.fail(request, provider.getName(), 1, e);
+            return NotificationResult.expired(provider.getName(), 1);
+        } catch (RuntimeException e) {
+            callEvent.fail(request, provider.getName(), 1, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends without blocking when the provider is a non-blocking {@link AsyncNotificationProvider}, including
+     * retries. Blocking providers are called as in {@link #send} on the calling thread.
+     *
+     * @param request the notification request
+     * @return future completed with the result of the send attempt
+     */
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        NotificationProvider provider = this.provider;
+        RetryExecutor retryExecutor = this.retryExecutor;
+        if (!AsyncNotificationProvider.isNonBlocking(provider)) {
+            return RetryableChannel.super.sendAsync(request);
+        }
+        
+        if (!provider.isConfigured()) {
+            return CompletableFuture.failedFuture(new ProviderException("EmailChannel", 
+                "Email provider is not properly configured: " + provider.getName(), 
+                ErrorCategory.CONFIGURATION));
+        }
+        
+        log.debug("Sending email asynchronously via provider: {}", provider.getName());
+        
+        if (retryExecutor != null) {
+            return retryExecutor.executeWithRetryAsync(provider, request);
+        }
+        
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        return provider.sendAsync(request).whenComplete((result, error) -> {
+            if (error != null) {
+                callEvent.fail(request, provider.getName(), 1, error);
+            } else {
+                callEvent.complete(request, provider.getName(), 1, result);
+            }
+        }).exceptionallyCompose(error -> unwrap(error) instanceof DeadlineExceededException
+            ? CompletableFuture.completedFuture(NotificationResult.expired(provider.getName(), 1))
+            : CompletableFuture.failedFuture(error));
     }
 
     /** Returns {@link Channel#EMAIL}. */
@@ -76,4 +142,8 @@ public class EmailChannel implements RetryableChannel {
     public Channel getChannelType() {
         return Channel.EMAIL;
     }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 }
@@ -0,0 +1,123 @@
+package com.agora.notification.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assigns keys (recipients) to nodes with consistent hashing. Every node is placed on the ring at
+ * virtualNodes points, so keys spread evenly and a membership change only moves the keys between
+ * the changed node and its ring neighbours (about 1/N of them), not all of them.
+ * 
+ * Lookups binary-search an immutable snapshot and take no lock; {@link #addNode} and
+ * {@link #removeNode} build a new snapshot and swap it in, so routing rebalances with the next lookup.
+ */
+public class ConsistentHashRing {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final int virtualNodes;
+    private volatile Snapshot snapshot = new Snapshot(new TreeSet<>(), new long[0], new String[0]);
+
+    public ConsistentHashRing() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /** Ring with the given nodes and the default number of virtual nodes. */
+    public static ConsistentHashRing of(Collection<String> nodes) {
+        ConsistentHashRing ring = new ConsistentHashRing();
+        nodes.forEach(ring::addNode);
+        return ring;
+    }
+
+    /** @return false if the node was already a member */
+    public synchronized boolean addNode(String node) {
+        Set<String> nodes = new TreeSet<>(snapshot.nodes);
+        if (node == null || !nodes.add(node)) {
+            return false;
+        }
+        snapshot = build(nodes);
+        return true;
+    }
+
+    /** @return false if the node was not a member */
+    public synchronized boolean removeNode(String node) {
+        Set<String> nodes = new TreeSet<>(snapshot.nodes);
+        if (!nodes.remove(node)) {
+            return false;
+        }
+        snapshot = build(nodes);
+        return true;
+    }
+
+    /**
+     * The node that owns the key: the first virtual node clockwise from the key's hash.
+     * 
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public String nodeFor(String key) {
+        Snapshot current = snapshot;
+        if (current.points.length == 0) {
+            throw new IllegalStateException("Consistent hash ring has no nodes");
+        }
+        int index = Arrays.binarySearch(current.points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+            if (index == current.points.length) {
+                index = 0;
+            }
+        }
+        return current.owners[index];
+    }
+
+    public Set<String> getNodes() {
+        return snapshot.nodes;
+    }
+
+    private Snapshot build(Set<String> nodes) {
+        Point[] placed = new Point[nodes.size() * virtualNodes];
+        int i = 0;
+        for (String node : nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                placed[i++] = new Point(hash(node + "#" + replica), node);
+            }
+        }
+        Arrays.sort(placed, Comparator.comparingLong(Point::hash));
+        long[] points = new long[placed.length];
+        String[] owners = new String[placed.length];
+        for (int j = 0; j < placed.length; j++) {
+            points[j] = placed[j].hash();
+            owners[j] = placed[j].node();
+        }
+        return new Snapshot(Set.copyOf(nodes), points, owners);
+    }
+
+    /** 64-bit FNV-1a over the characters, finished with the murmur3 mix for avalanche. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+
+    private record Point(long hash, String node) {
+    }
+
+    private record Snapshot(Set<String> nodes, long[] points, String[] owners) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.agora.notification.cluster;
+
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.exceptions.NodeUnreachableException;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries requests between the nodes of a partitioned deployment, e.g. over HTTP or a message bus.
+ * The receiving side must hand a forwarded request to its node's local service (the one passed to
+ * {@link #bind}), not to its partitioned service, so a request is never forwarded twice.
+ */
+public interface ForwardingTransport {
+
+    /**
+     * Sends the request to the node that owns its recipient.
+     * 
+     * @return Future completed with the owner's result or error, or with a {@link NodeUnreachableException}
+     *         if the request did not reach the node
+     */
+    CompletableFuture<NotificationResult> forward(String nodeId, NotificationRequest request);
+
+    /** Makes this node reachable: requests forwarded to nodeId are sent through the local service. */
+    default void bind(String nodeId, NotificationService localService) {
+    }
+
+    /** Stops accepting requests for the node, e.g. when it shuts down. */
+    default void unbind(String nodeId) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.agora.notification.cluster;
+
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.exceptions.NodeUnreachableException;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process {@link ForwardingTransport}: nodes bound to the same instance forward to each other by
+ * direct call. For tests and for running several logical nodes in one JVM.
+ */
+public class LoopbackTransport implements ForwardingTransport {
+
+    private final Map<String, NotificationService> nodes = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<NotificationResult> forward(String nodeId, NotificationRequest request) {
+        NotificationService target = nodes.get(nodeId);
+        if (target == null) {
+            return CompletableFuture.failedFuture(new NodeUnreachableException(nodeId, "Node " + nodeId + " is not reachable"));
+        }
+        try {
+            return target.sendAsync(request);
+        } catch (RuntimeException e) {
+            // Thrown by the owner, which did receive the request
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void bind(String nodeId, NotificationService localService) {
+        nodes.put(nodeId, localService);
+    }
+
+    @Override
+    public void unbind(String nodeId) {
+        nodes.remove(nodeId);
+    }
+}
@@ -0,0 +1,165 @@
+package com.agora.notification.cluster;
+
+import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.core.Recipients;
+import com.agora.notification.exceptions.NodeUnreachableException;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator that routes every request to the node owning its recipient on a
+ * {@link ConsistentHashRing}, so per-recipient state (frequency caps, digests, deduplication) lives
+ * on one node. Requests this node owns go to the local service; others are forwarded through the
+ * {@link ForwardingTransport}.
+ * 
+ * Membership changes ({@link #join}, {@link #leave}) take effect with the next request; recipients
+ * that move start with fresh state on their new node. If the owner cannot be reached (the transport
+ * fails with {@link NodeUnreachableException}) the request is sent locally, preferring delivery over
+ * strict ownership; any other error, e.g. the owner's bulkhead being full, is passed to the caller
+ * since the owner has already seen the request. Cancelling the returned future cancels the
+ * forwarded send (or the local fallback); events and cancel(id) cover this node's sends only.
+ */
+@Slf4j
+public class PartitionedNotificationService implements NotificationService {
+
+    @Getter
+    private final String nodeId;
+    @Getter
+    private final ConsistentHashRing ring;
+    @Getter
+    private final NotificationService local;
+    private final ForwardingTransport transport;
+
+    public PartitionedNotificationService(String nodeId, ConsistentHashRing ring, ForwardingTransport transport,
+                                          NotificationService local) {
+        this.nodeId = nodeId;
+        this.ring = ring;
+        this.transport = transport;
+        this.local = local;
+        ring.addNode(nodeId);
+        transport.bind(nodeId, local);
+    }
+
+    @Override
+    public NotificationResult send(NotificationRequest request) {
+        String owner = ownerOf(request);
+        if (owner.equals(nodeId)) {
+            return local.send(request);
+        }
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        String owner = ownerOf(request);
+        if (owner.equals(nodeId)) {
+            return local.sendAsync(request);
+        }
+        CompletableFuture<NotificationResult> forwarded;
+        try {
+            forwarded = transport.forward(owner, request);
+        } catch (RuntimeException e) {
+            forwarded = CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        // The send currently carrying the request, so cancelling the returned future reaches it
+        AtomicReference<CompletableFuture<NotificationResult>> current = new AtomicReference<>(forwarded);
+        forwarded.whenComplete((result, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof NodeUnreachableException) || future.isDone()) {
+                complete(future, result, cause);
+                return;
+            }
+            log.warn("Cannot forward notification to node {}, sending locally: {}", owner, cause.getMessage());
+            CompletableFuture<NotificationResult> fallback;
+            try {
+                fallback = local.sendAsync(request);
+            } catch (RuntimeException e) {
+                fallback = CompletableFuture.failedFuture(e);
+            }
+            current.set(fallback);
+            if (future.isCancelled()) {
+                fallback.cancel(true);
+            }
+            fallback.whenComplete((fallbackResult, fallbackError) -> complete(future, fallbackResult, fallbackError));
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                current.get().cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private static void complete(CompletableFuture<NotificationResult> future, NotificationResult result, Throwable error) {
+        if (error == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(error);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<NotificationResult>> sendAsyncBatch(List<NotificationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<CompletableFuture<NotificationResult>> futures = requests.stream()
+                .map(this::sendAsync)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    /** Adds a node to the ring; recipients it now owns are forwarded to it from the next request. */
+    public boolean join(String node) {
+        return ring.addNode(node);
+    }
+
+    /** Removes a node from the ring, e.g. when it fails health checks; its recipients move to their next owner. */
+    public boolean leave(String node) {
+        return ring.removeNode(node);
+    }
+
+    /** The node that owns the request's recipient. */
+    public String ownerOf(NotificationRequest request) {
+        String recipient = request != null && request.getRecipient() != null ? request.getRecipient() : "";
+        // Same key as frequency caps and suppression, so every spelling of a recipient has one owner
+        return ring.nodeFor(Recipients.key(recipient));
+    }
+
+    @Override
+    public boolean cancel(String notificationId) {
+        return local.cancel(notificationId);
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationEvent> eventConsumer) {
+        local.subscribe(eventConsumer);
+    }
+
+    @Override
+    public void shutdown() {
+        transport.unbind(nodeId);
+        local.shutdown();
+    }
+}
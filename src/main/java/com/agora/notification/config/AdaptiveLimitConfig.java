@@ -0,0 +1,37 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuration for the adaptive concurrency limit of a provider.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * The limit starts at initialLimit and moves between minLimit and maxLimit as provider latency
+ * is observed; it is not a target, only the starting point before the first samples arrive.
+ */
+@Getter
+@Builder
+public class AdaptiveLimitConfig {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    /** Default: start at 20 concurrent sends, adapt between 1 and 500. */
+    public static AdaptiveLimitConfig defaultConfig() {
+        return AdaptiveLimitConfig.builder()
+            .initialLimit(20)
+            .minLimit(1)
+            .maxLimit(500)
+            .build();
+    }
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if 0 < minLimit <= initialLimit <= maxLimit
+     */
+    public boolean isValid() {
+        return minLimit > 0 && minLimit <= initialLimit && initialLimit <= maxLimit;
+    }
+}
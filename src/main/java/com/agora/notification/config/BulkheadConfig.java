@@ -0,0 +1,28 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuration for a per-channel bulkhead.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * maxConcurrent bounds the sends of the channel in flight at once (including retries and
+ * provider round-trips); up to maxQueued further sends wait for a free slot, beyond that sends
+ * are rejected immediately.
+ */
+@Getter
+@Builder
+public class BulkheadConfig {
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if maxConcurrent > 0 and maxQueued >= 0
+     */
+    public boolean isValid() {
+        return maxConcurrent > 0 && maxQueued >= 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for request deduplication by notification ID.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * ttl is how long an accepted ID is remembered, maxEntries bounds the in-memory cache.
+ * When spillFile is set, IDs evicted from memory before they expire are kept in a
+ * fixed-size memory-mapped file of spillSlots entries (16 bytes each), which also
+ * survives restarts.
+ */
+@Getter
+@Builder
+public class DeduplicationConfig {
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Path spillFile;
+    private final int spillSlots;
+
+    /** Default: remember IDs for 10 minutes, up to 100,000 in memory, no spill file. */
+    public static DeduplicationConfig defaultConfig() {
+        return DeduplicationConfig.builder()
+            .ttl(Duration.ofMinutes(10))
+            .maxEntries(100_000)
+            .build();
+    }
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if ttl is positive, maxEntries > 0 and, when a spill file is set, spillSlots > 0
+     */
+    public boolean isValid() {
+        return ttl != null && !ttl.isNegative() && !ttl.isZero()
+            && maxEntries > 0
+            && (spillFile == null || spillSlots > 0);
+    }
+}
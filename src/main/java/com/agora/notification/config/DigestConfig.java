@@ -0,0 +1,42 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for digesting (coalescing) notifications per recipient.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * A digest opens with the first request for its (channel, recipient, digestKey) and is sent as one
+ * merged notification after window. maxOpenDigests bounds the digests buffered at once (requests
+ * beyond it are sent individually) and maxPerDigest the requests per digest (a full digest is sent
+ * early).
+ */
+@Getter
+@Builder
+public class DigestConfig {
+    private final Duration window;
+    private final int maxOpenDigests;
+    private final int maxPerDigest;
+
+    /** Default: 1 minute windows, up to 10,000 open digests of at most 100 requests each. */
+    public static DigestConfig defaultConfig() {
+        return DigestConfig.builder()
+            .window(Duration.ofMinutes(1))
+            .maxOpenDigests(10_000)
+            .maxPerDigest(100)
+            .build();
+    }
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if window is positive, maxOpenDigests > 0 and maxPerDigest > 1
+     */
+    public boolean isValid() {
+        return window != null && !window.isNegative() && !window.isZero()
+            && maxOpenDigests > 0 && maxPerDigest > 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Send rate towards one recipient domain (e.g. gmail.com) under domain throttling.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * A token bucket per domain: sends start at ratePerSecond on average, with up to burst at once
+ * after the domain has been idle. maxQueued bounds the domain's tasks waiting in the bulkhead queue
+ * (0: only the bulkhead's maxQueued applies).
+ */
+@Getter
+@Builder
+public class DomainThrottleConfig {
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxQueued;
+
+    /** Default: 20 sends per second per domain, bursts of 20. */
+    public static DomainThrottleConfig defaultConfig() {
+        return DomainThrottleConfig.builder()
+            .ratePerSecond(20)
+            .burst(20)
+            .build();
+    }
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if ratePerSecond > 0, burst >= 1 and maxQueued >= 0
+     */
+    public boolean isValid() {
+        return ratePerSecond > 0 && burst >= 1 && maxQueued >= 0;
+    }
+}
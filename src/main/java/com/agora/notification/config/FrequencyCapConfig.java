@@ -0,0 +1,33 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for a per-recipient frequency cap on one channel.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * At most maxSends notifications per recipient within any sliding window. Exact mode keeps the
+ * last maxSends send times of every active recipient; approximate mode counts in a fixed-size
+ * count-min sketch instead (sketchWidth counters per row), which may over-count and so cap a
+ * recipient slightly early, but never lets one through over the cap.
+ */
+@Getter
+@Builder
+public class FrequencyCapConfig {
+    private final int maxSends;
+    private final Duration window;
+    private final boolean approximate;
+    private final int sketchWidth;
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if maxSends > 0, window is positive and sketchWidth >= 0 (0 means the default)
+     */
+    public boolean isValid() {
+        return maxSends > 0 && window != null && !window.isNegative() && !window.isZero() && sketchWidth >= 0;
+    }
+}
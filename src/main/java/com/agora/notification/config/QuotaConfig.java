@@ -0,0 +1,34 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Configuration for a rate limit shared by all instances through a quota store.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * The shared bucket refills at ratePerSecond up to burst tokens. Each instance leases chunkSize
+ * tokens at a time, so it talks to the store once per chunk rather than once per send; tokens it
+ * has not used within leaseDuration go back to the store.
+ */
+@Getter
+@Builder
+public class QuotaConfig {
+    private final String name;
+    private final double ratePerSecond;
+    private final long burst;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if name is set, ratePerSecond > 0, burst >= chunkSize >= 1 and leaseDuration is positive
+     */
+    public boolean isValid() {
+        return name != null && !name.isBlank() && ratePerSecond > 0 && chunkSize >= 1 && burst >= chunkSize
+            && leaseDuration != null && !leaseDuration.isNegative() && !leaseDuration.isZero();
+    }
+}
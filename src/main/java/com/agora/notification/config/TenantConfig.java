@@ -0,0 +1,36 @@
+package com.agora.notification.config;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Scheduling share of one tenant under fair scheduling.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * weight is the number of queued sends the tenant may start per round relative to others (a tenant
+ * with weight 3 gets three times the slots of one with weight 1 while both have work queued).
+ * maxConcurrent caps the tenant's sends in flight per bulkhead; 0 means no cap beyond the bulkhead's.
+ */
+@Getter
+@Builder
+public class TenantConfig {
+    private final int weight;
+    private final int maxConcurrent;
+
+    /** Default: weight 1, no per-tenant concurrency cap. */
+    public static TenantConfig defaultConfig() {
+        return TenantConfig.builder()
+            .weight(1)
+            .maxConcurrent(0)
+            .build();
+    }
+
+    /**
+     * Validates the configuration.
+     * 
+     * @return true if weight > 0 and maxConcurrent >= 0
+     */
+    public boolean isValid() {
+        return weight > 0 && maxConcurrent >= 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.agora.notification.core;
+
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking notification provider. {@link #sendAsync} must not block the calling thread;
+ * it returns as soon as the request is in flight (e.g. on a non-blocking HTTP client).
+ * 
+ * Channels detect this interface and keep the whole send, including retries, asynchronous,
+ * so no thread is held for the provider round-trip. {@link #send} is derived from sendAsync
+ * for callers of the blocking API. Implementations that block in some configurations (e.g. without
+ * an HTTP transport, or decorating a blocking provider) say so through {@link #isBlocking()},
+ * and channels then call them like blocking providers.
+ */
+public interface AsyncNotificationProvider extends NotificationProvider {
+    
+    /**
+     * Starts sending a notification and returns immediately.
+     * 
+     * @param request The notification request containing all necessary data
+     * @return Future completed with the result, or exceptionally with a ProviderException
+     */
+    @Override
+    CompletableFuture<NotificationResult> sendAsync(NotificationRequest request);
+    
+    /**
+     * Whether {@link #sendAsync} blocks the caller in this instance's configuration after all.
+     * 
+     * @return false by default
+     */
+    default boolean isBlocking() {
+        return false;
+    }
+    
+    /**
+     * Whether the provider can be called on the asynchronous path without blocking the caller.
+     * 
+     * @return true if it is an AsyncNotificationProvider that reports itself non-blocking
+     */
+    static boolean isNonBlocking(NotificationProvider provider) {
+        return provider instanceof AsyncNotificationProvider async && !async.isBlocking();
+    }
+    
+    /**
+     * Blocking adapter over {@link #sendAsync}; unwraps the CompletionException so callers see
+     * the same exceptions as with a blocking provider.
+     */
+    @Override
+    default NotificationResult send(NotificationRequest request) {
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface for notification channels (Email, SMS, Push).
  * Each channel manages multiple providers and can switch between them.
@@ -21,6 +23,21 @@ public interface NotificationChannel {
      */
     NotificationResult send(NotificationRequest request);
     
+    /**
+     * Sends a notification without blocking the caller when the provider is non-blocking
+     * ({@link AsyncNotificationProvider}). The default runs {@link #send} on the calling thread.
+     * 
+     * @param request The notification request
+     * @return Future completed with the result, or exceptionally if the send fails
+     */
+    default CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        try {
+            return CompletableFuture.completedFuture(send(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
     /**
      * Returns the channel type this implementation handles.
      * 
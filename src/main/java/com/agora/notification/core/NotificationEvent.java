@@ -16,6 +16,9 @@ import java.time.Instant;
  * - RETRYING: Notification being retried after failure
  * - SENT: Notification successfully sent
  * - FAILED: Notification failed after all retries
+ * - EXPIRED: Notification dropped because its deadline passed
+ * - CANCELLED: Notification cancelled by the caller before it completed
+ * - INVALIDATED: The provider reported the recipient (e.g. a push token) as permanently invalid
  */
 @Getter
 @Builder
@@ -67,6 +70,40 @@ public class NotificationEvent {
             .build();
     }
     
+    public static NotificationEvent cancelled(String notificationId, String channel, String recipient) {
+        return NotificationEvent.builder()
+            .notificationId(notificationId)
+            .status(NotificationStatus.CANCELLED)
+            .channel(channel)
+            .recipient(recipient)
+            .timestamp(Instant.now())
+            .attemptNumber(0)
+            .build();
+    }
+    
+    /** Recipient reported invalid by the provider; not tied to one notification, so notificationId is null. */
+    public static NotificationEvent invalidated(String channel, String recipient) {
+        return NotificationEvent.builder()
+            .status(NotificationStatus.INVALIDATED)
+            .channel(channel)
+            .recipient(recipient)
+            .timestamp(Instant.now())
+            .attemptNumber(0)
+            .build();
+    }
+    
+    public static NotificationEvent expired(String notificationId, NotificationResult result) {
+        return NotificationEvent.builder()
+            .notificationId(notificationId)
+            .status(NotificationStatus.EXPIRED)
+            .result(result)
+            .channel(result.getProviderName())
+            .recipient(null)
+            .timestamp(result.getTimestamp())
+            .attemptNumber(result.getAttemptNumber())
+            .build();
+    }
+    
     public static NotificationEvent failed(String notificationId, NotificationResult result) {
         return NotificationEvent.builder()
             .notificationId(notificationId)
@@ -0,0 +1,18 @@
+package com.agora.notification.core;
+
+/**
+ * Strategy for generating notification IDs.
+ * The services call it once per request that does not carry its own ID
+ * ({@link com.agora.notification.models.NotificationRequest#getNotificationId()}).
+ * 
+ * Implementations must be thread-safe and should return unique, non-blank IDs.
+ */
+public interface NotificationIdGenerator {
+    
+    /**
+     * Generates a new notification ID.
+     * 
+     * @return A unique notification ID
+     */
+    String nextId();
+}
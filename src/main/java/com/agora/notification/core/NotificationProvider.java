@@ -3,6 +3,8 @@ package com.agora.notification.core;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Core interface for all notification providers.
  * Each provider (SendGrid, Twilio, FCM, etc.) must implement this interface.
@@ -21,6 +23,22 @@ public interface NotificationProvider {
      */
     NotificationResult send(NotificationRequest request);
     
+    /**
+     * Sends a notification without blocking the caller, where the provider supports it.
+     * The default adapts blocking providers: it runs {@link #send} on the calling thread and returns
+     * an already-completed future. Non-blocking providers implement {@link AsyncNotificationProvider}.
+     * 
+     * @param request The notification request containing all necessary data
+     * @return Future completed with the result, or exceptionally with a ProviderException
+     */
+    default CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        try {
+            return CompletableFuture.completedFuture(send(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
     /**
      * Returns the name of this provider (e.g., "SendGrid", "Twilio").
      * 
@@ -35,6 +35,19 @@ public interface NotificationService extends AutoCloseable {
      */
     void subscribe(Consumer<NotificationEvent> eventConsumer);
     
+    /**
+     * Cancels a notification that has not completed yet: it is removed from the queue if still
+     * waiting, otherwise its retry backoff is interrupted and no further attempts are made.
+     * Cancelling the future returned by {@link #sendAsync} has the same effect.
+     * The default does nothing, for services that send on the caller's thread.
+     * 
+     * @param notificationId ID of the notification, as passed in the request or published in its events
+     * @return true if a pending notification was cancelled
+     */
+    default boolean cancel(String notificationId) {
+        return false;
+    }
+    
     /**
      * Shuts down the service and releases resources (e.g. executor threads).
      * Should be called when the service is no longer needed.
@@ -0,0 +1,30 @@
+package com.agora.notification.core;
+
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+/**
+ * A step that inspects a request before it is queued for sending (validation, suppression, etc.).
+ * Stages run in the calling thread, so they must be cheap and thread-safe.
+ * 
+ * A stage can let the request through, short-circuit it with a terminal result (no provider call),
+ * or reject it by throwing a {@link com.agora.notification.exceptions.NotificationException}.
+ */
+public interface NotificationStage {
+    
+    /**
+     * Applies this stage to a request.
+     * 
+     * @param request The notification request
+     * @return null to continue with the next stage, or the result to return without sending
+     * @throws com.agora.notification.exceptions.ValidationException if the request is invalid
+     */
+    NotificationResult apply(NotificationRequest request);
+
+    /**
+     * Called once when the service shuts down, before its executor stops. Stages that hold requests
+     * back (e.g. digests) send them here; the default does nothing.
+     */
+    default void shutdown() {
+    }
+}
@@ -0,0 +1,23 @@
+package com.agora.notification.core;
+
+/**
+ * Provider that wraps another provider to add behaviour (limits, quotas, encoding, tracking).
+ * This interface lets the registry swap the provider at the bottom of a chain of decorators
+ * without knowing their concrete types, and without losing any of them.
+ */
+public interface ProviderDecorator extends NotificationProvider {
+
+    /**
+     * @return The wrapped provider, itself possibly a decorator
+     */
+    NotificationProvider getDelegate();
+
+    /**
+     * The same decoration around another provider. The copy shares this decorator's state
+     * (limiters, registries), so limits and quotas carry over to the new provider.
+     * 
+     * @param delegate The provider to wrap instead
+     * @return A new decorator wrapping the given provider
+     */
+    ProviderDecorator withDelegate(NotificationProvider delegate);
+}
@@ -0,0 +1,57 @@
+package com.agora.notification.core;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of a recipient, shared by everything that keys state by recipient (suppression,
+ * frequency caps, partitioning), so that one person is never split over several keys by formatting.
+ */
+public final class Recipients {
+
+    private Recipients() {
+    }
+
+    /**
+     * Emails are lower-cased; phone numbers lose the separators PhoneValidator accepts (spaces,
+     * dashes, parentheses); anything else, e.g. a push token, is only trimmed since tokens are
+     * case-sensitive.
+     * 
+     * @param recipient A non-null recipient
+     * @return The key for the recipient
+     */
+    public static String key(String recipient) {
+        String trimmed = recipient.trim();
+        if (trimmed.indexOf('@') >= 0) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        return isPhoneNumber(trimmed) ? stripSeparators(trimmed) : trimmed;
+    }
+
+    private static boolean isPhoneNumber(String value) {
+        boolean digits = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (!isSeparator(c) && !(c == '+' && i == 0)) {
+                return false;
+            }
+        }
+        return digits;
+    }
+
+    private static String stripSeparators(String phone) {
+        StringBuilder key = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (!isSeparator(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '-' || c == '(' || c == ')';
+    }
+}
@@ -0,0 +1,42 @@
+package com.agora.notification.digest;
+
+import com.agora.notification.models.NotificationRequest;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Merges the requests of one digest into the single request that is sent. Called once per digest,
+ * off the caller's thread, with the requests in arrival order (at least one).
+ */
+@FunctionalInterface
+public interface DigestMerger {
+
+    NotificationRequest merge(List<NotificationRequest> requests);
+
+    /** Sends only the most recent request, e.g. for "you have new messages" style notifications. */
+    static DigestMerger latest() {
+        return requests -> requests.get(requests.size() - 1);
+    }
+
+    /** Sends the most recent request with the messages and bodies of all requests joined by the separator. */
+    static DigestMerger joinMessages(String separator) {
+        return requests -> {
+            if (requests.size() == 1) {
+                return requests.get(0);
+            }
+            return requests.get(requests.size() - 1).toBuilder()
+                .message(join(requests, NotificationRequest::getMessage, separator))
+                .body(join(requests, NotificationRequest::getBody, separator))
+                .build();
+        };
+    }
+
+    private static String join(List<NotificationRequest> requests, Function<NotificationRequest, String> field,
+                               String separator) {
+        String joined = requests.stream().map(field).filter(Objects::nonNull).collect(Collectors.joining(separator));
+        return joined.isEmpty() ? null : joined;
+    }
+}
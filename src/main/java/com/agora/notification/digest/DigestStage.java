@@ -0,0 +1,150 @@
+package com.agora.notification.digest;
+
+import com.agora.notification.config.DigestConfig;
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Stage that coalesces requests carrying a digestKey: the first request for a (channel, recipient,
+ * digestKey) opens a digest, later ones within the window join it, and every one of them completes
+ * at once with a DIGESTED result. When the window closes (or the digest is full) the requests are
+ * merged by the {@link DigestMerger} and the merged request, without digestKey or notificationId, is
+ * handed to the sink, normally the service's sendAsync, where it runs through the pipeline again under
+ * a new ID and publishes its own events. Open digests are sent when the service shuts down.
+ * 
+ * Digests whose window closes are sent from the stage's own threads rather than the common pool: with
+ * a synchronous service the sink blocks for the whole provider call.
+ * 
+ * Memory is bounded by maxOpenDigests x maxPerDigest requests; once maxOpenDigests are open, requests
+ * for new digests pass through and are sent individually. Requests without a digestKey are untouched.
+ */
+@Slf4j
+public class DigestStage implements NotificationStage {
+
+    private final DigestConfig config;
+    private final DigestMerger merger;
+    private final Map<DigestKey, Digest> open = new ConcurrentHashMap<>();
+    private final AtomicInteger openCount = new AtomicInteger();
+    private final ExecutorService closer = Executors.newCachedThreadPool();
+    private volatile Consumer<NotificationRequest> sink;
+    private volatile boolean stopped;
+
+    public DigestStage(DigestConfig config, DigestMerger merger) {
+        this.config = config;
+        this.merger = merger;
+    }
+
+    /** Sets where merged requests are sent; requests are not digested until a sink is set. */
+    public void setSink(Consumer<NotificationRequest> sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public NotificationResult apply(NotificationRequest request) {
+        if (request == null || request.getDigestKey() == null || request.getRecipient() == null || sink == null || stopped) {
+            return null;
+        }
+        DigestKey key = new DigestKey(request.getChannel(), request.getRecipient(), request.getDigestKey());
+        boolean[] opened = new boolean[1];
+        boolean[] full = new boolean[1];
+        Digest digest = open.compute(key, (k, current) -> {
+            if (current == null) {
+                if (openCount.get() >= config.getMaxOpenDigests()) {
+                    return null;
+                }
+                openCount.incrementAndGet();
+                opened[0] = true;
+                current = new Digest();
+            }
+            current.requests.add(request);
+            full[0] = current.requests.size() >= config.getMaxPerDigest();
+            return current;
+        });
+        if (digest == null) {
+            log.debug("{} open digests, sending {} notification individually", openCount.get(), request.getChannel());
+            return null;
+        }
+        if (full[0]) {
+            close(key, digest);
+        } else if (opened[0]) {
+            CompletableFuture.delayedExecutor(config.getWindow().toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> closeLater(key, digest));
+        }
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.DIGESTED)
+            .message("Notification added to digest " + request.getDigestKey())
+            .providerName(request.getChannel() != null ? request.getChannel().name() : null)
+            .timestamp(Instant.now())
+            .attemptNumber(0)
+            .build();
+    }
+
+    /** Sends every open digest now. */
+    public void flush() {
+        open.forEach(this::close);
+    }
+
+    /** Sends every open digest and stops the stage's threads; later requests pass through undigested. */
+    @Override
+    public void shutdown() {
+        stopped = true;
+        flush();
+        closer.shutdown();
+    }
+
+    /** Digests currently buffering requests. */
+    public int getOpenDigests() {
+        return openCount.get();
+    }
+
+    /** Sends the digest on the stage's threads, or right here if the stage has shut down meanwhile. */
+    private void closeLater(DigestKey key, Digest digest) {
+        try {
+            closer.execute(() -> close(key, digest));
+        } catch (RejectedExecutionException e) {
+            close(key, digest);
+        }
+    }
+
+    /** Removes the digest if it is still open (only one caller wins) and sends the merged request. */
+    private void close(DigestKey key, Digest digest) {
+        if (!open.remove(key, digest)) {
+            return;
+        }
+        openCount.decrementAndGet();
+        // No request can join after the removal, which happens-before this read
+        try {
+            NotificationRequest merged = merger.merge(digest.requests);
+            // The merged request keeps a member's notificationId, which deduplication has already seen
+            sink.accept(merged.toBuilder().digestKey(null).notificationId(null).build());
+        } catch (RuntimeException e) {
+            log.error("Failed to send digest of {} notifications: {}", digest.requests.size(), e.getMessage(), e);
+        }
+    }
+
+    private record DigestKey(Channel channel, String recipient, String digestKey) {
+    }
+
+    /** Requests of one open digest; compared by identity so a closed digest never matches a newer one. */
+    private static final class Digest {
+        private final List<NotificationRequest> requests = new ArrayList<>();
+    }
+}
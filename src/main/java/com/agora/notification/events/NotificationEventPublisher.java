@@ -1,6 +1,7 @@
 package com.agora.notification.events;
 
 import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.monitoring.EventDispatchEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
@@ -54,15 +55,22 @@ public class NotificationEventPublisher {
         
         log.debug("Publishing event: {} - {}", event.getStatus(), event.getNotificationId());
         
+        EventDispatchEvent dispatchEvent = new EventDispatchEvent();
+        dispatchEvent.begin();
+        int notified = 0;
+        int failures = 0;
         for (NotificationEventListener listener : listeners) {
+            notified++;
             try {
                 listener.onEvent(event);
             } catch (Exception e) {
+                failures++;
                 log.error("Error notifying listener {}: {}", 
                     listener.getClass().getSimpleName(), e.getMessage(), e);
                 // Continue notifying other listeners even if one fails
             }
         }
+        dispatchEvent.complete(event, notified, failures);
     }
     
     /**
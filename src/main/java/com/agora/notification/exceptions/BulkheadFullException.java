@@ -0,0 +1,12 @@
+package com.agora.notification.exceptions;
+
+/**
+ * Exception thrown when a send is rejected because its channel's bulkhead has no free slot
+ * and its queue is full. The provider was not called.
+ */
+public class BulkheadFullException extends NotificationException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
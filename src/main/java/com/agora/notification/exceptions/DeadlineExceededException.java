@@ -0,0 +1,20 @@
+package com.agora.notification.exceptions;
+
+import com.agora.notification.models.ErrorCategory;
+
+/**
+ * Failure of a provider call cut short by the notification's own deadline: the deadline had passed
+ * before the call, or the timeout it shortened fired. The client chose the deadline, so this says
+ * nothing about the provider's health. Channels and the retry executor report it as an EXPIRED
+ * result, and the adaptive concurrency limit ignores it.
+ */
+public class DeadlineExceededException extends ProviderException {
+
+    public DeadlineExceededException(String providerName, String message) {
+        super(providerName, message, ErrorCategory.TRANSIENT);
+    }
+
+    public DeadlineExceededException(String providerName, String message, Throwable cause) {
+        super(providerName, message, ErrorCategory.TRANSIENT, cause);
+    }
+}
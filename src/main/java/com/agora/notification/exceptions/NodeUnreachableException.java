@@ -0,0 +1,24 @@
+package com.agora.notification.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception a {@link com.agora.notification.cluster.ForwardingTransport} fails with when the node a
+ * request was forwarded to cannot be reached, so the owner never saw the request. Any other failure
+ * means the owner received it.
+ */
+@Getter
+public class NodeUnreachableException extends NotificationException {
+
+    private final String nodeId;
+
+    public NodeUnreachableException(String nodeId, String message) {
+        super(message);
+        this.nodeId = nodeId;
+    }
+
+    public NodeUnreachableException(String nodeId, String message, Throwable cause) {
+        super(message, cause);
+        this.nodeId = nodeId;
+    }
+}
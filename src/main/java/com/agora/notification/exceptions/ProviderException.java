@@ -1,24 +1,77 @@
 package com.agora.notification.exceptions;
 
+import com.agora.notification.models.ErrorCategory;
+
+import java.time.Duration;
+
 /**
  * Exception thrown when a provider fails to send a notification.
  * This indicates an error from the external service, not invalid input.
+ * 
+ * Carries an {@link ErrorCategory} that retry policies use to skip retries of permanent failures,
+ * the provider's HTTP status code when there was one (0 otherwise) and the provider's Retry-After
+ * hint (null when none was given).
  */
 public class ProviderException extends NotificationException {
 
     private final String providerName;
+    private final ErrorCategory category;
+    private final int statusCode;
+    private final Duration retryAfter;
 
     public ProviderException(String providerName, String message) {
-        super(String.format("Provider [%s] error: %s", providerName, message));
-        this.providerName = providerName;
+        this(providerName, message, ErrorCategory.UNKNOWN, 0, null, null);
     }
 
     public ProviderException(String providerName, String message, Throwable cause) {
+        this(providerName, message, ErrorCategory.UNKNOWN, 0, null, cause);
+    }
+
+    public ProviderException(String providerName, String message, ErrorCategory category) {
+        this(providerName, message, category, 0, null, null);
+    }
+
+    public ProviderException(String providerName, String message, ErrorCategory category, Throwable cause) {
+        this(providerName, message, category, 0, null, cause);
+    }
+
+    /** Classifies the error from the provider's HTTP status code. */
+    public ProviderException(String providerName, String message, int statusCode) {
+        this(providerName, message, ErrorCategory.fromStatusCode(statusCode), statusCode, null, null);
+    }
+
+    /** Classifies the error from the provider's HTTP status code and keeps its Retry-After hint. */
+    public ProviderException(String providerName, String message, int statusCode, Duration retryAfter) {
+        this(providerName, message, ErrorCategory.fromStatusCode(statusCode), statusCode, retryAfter, null);
+    }
+
+    private ProviderException(String providerName, String message, ErrorCategory category, int statusCode,
+                              Duration retryAfter, Throwable cause) {
         super(String.format("Provider [%s] error: %s", providerName, message), cause);
         this.providerName = providerName;
+        this.category = category != null ? category : ErrorCategory.UNKNOWN;
+        this.statusCode = statusCode;
+        this.retryAfter = retryAfter;
     }
 
     public String getProviderName() {
         return providerName;
     }
+
+    public ErrorCategory getCategory() {
+        return category;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** Whether another attempt can succeed, per {@link ErrorCategory#isRetryable()}. */
+    public boolean isRetryable() {
+        return category.isRetryable();
+    }
 }
@@ -0,0 +1,142 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.AdaptiveLimitConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows the provider's latency, TCP Vegas style. The lowest RTT seen
+ * approximates the provider with nothing queued; the ratio to the current RTT estimates how many
+ * of our sends are waiting at the provider (limit * (1 - rttNoLoad / rtt)). While that queue is
+ * short the limit grows, once it is long the limit shrinks, and a timeout or overload error
+ * (TRANSIENT or RATE_LIMITED) cuts it by a tenth at once.
+ * 
+ * Samples taken while less than half the limit is in use are ignored for growth, so an idle
+ * service does not inflate the limit. The no-load RTT is re-measured every 30 * limit samples so a
+ * provider that got permanently slower is not mistaken for an overloaded one.
+ * 
+ * Acquiring is lock-free; updating the limit from a sample takes a short lock.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DROP_RATIO = 0.9;
+    private static final int PROBE_MULTIPLIER = 30;
+
+    @Getter
+    private final int minLimit;
+    @Getter
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private long rttNoLoadNanos;
+    private long samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveLimitConfig config) {
+        if (!config.isValid()) {
+            throw new IllegalArgumentException("Invalid adaptive limit configuration");
+        }
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.estimatedLimit = config.getInitialLimit();
+        this.limit = config.getInitialLimit();
+    }
+
+    /**
+     * Takes a slot if fewer than the current limit are in flight. Every successful acquire must be
+     * followed by exactly one of {@link #onSuccess}, {@link #onDropped} or {@link #onIgnored}.
+     * 
+     * @return true if the send may start, false if the limit is reached
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Releases a slot after a send that reached the provider and came back in time.
+     * 
+     * @param rttNanos      Time the provider took
+     * @param inFlightAtStart Sends in flight when this one started, including itself
+     */
+    public void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            update(rttNanos, inFlightAtStart);
+        }
+    }
+
+    /** Releases a slot after a timeout or overload response and backs the limit off. */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        setLimit(estimatedLimit * DROP_RATIO);
+    }
+
+    /** Releases a slot without learning from the send, e.g. after a rejected request. */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    /** Current number of sends allowed in flight. */
+    public int getLimit() {
+        return limit;
+    }
+
+    /** Sends currently holding a slot. */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** Sends refused because the limit was reached, since creation. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        if (++samplesSinceProbe >= PROBE_MULTIPLIER * estimatedLimit) {
+            samplesSinceProbe = 0;
+            rttNoLoadNanos = 0;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        if (inFlightAtStart * 2 < estimatedLimit) {
+            return;
+        }
+        double queued = Math.ceil(estimatedLimit * (1 - (double) rttNoLoadNanos / rttNanos));
+        double step = Math.max(1, Math.log10(estimatedLimit));
+        double alpha = 3 * step;
+        double beta = 6 * step;
+        if (queued <= step) {
+            setLimit(estimatedLimit + beta);
+        } else if (queued < alpha) {
+            setLimit(estimatedLimit + step);
+        } else if (queued > beta) {
+            setLimit(estimatedLimit - step);
+        }
+    }
+
+    private void setLimit(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        int rounded = (int) estimatedLimit;
+        if (rounded != limit) {
+            log.debug("Adaptive concurrency limit {} -> {}", limit, rounded);
+            limit = rounded;
+        }
+    }
+}
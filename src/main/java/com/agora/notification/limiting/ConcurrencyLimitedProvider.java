@@ -0,0 +1,99 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.ProviderDecorator;
+import com.agora.notification.exceptions.DeadlineExceededException;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Provider decorator that admits sends through an {@link AdaptiveConcurrencyLimiter}. Above the
+ * limit a send fails at once with a RATE_LIMITED ProviderException, so a retry executor backs off
+ * and retries it like a provider 429 instead of adding to the provider's queue.
+ * 
+ * Every call's round-trip time feeds the limiter; overload failures (TRANSIENT, RATE_LIMITED)
+ * shrink the limit and other failures leave it unchanged, as do sends refused by a shared quota
+ * ({@link QuotaExceededException}) inside this limit and calls cut short by the notification's
+ * deadline ({@link DeadlineExceededException}). A delegate that returns no result releases its slot
+ * without changing the limit. Non-blocking delegates stay non-blocking;
+ * blocking ones run on the calling thread as before.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitedProvider implements AsyncNotificationProvider, ProviderDecorator {
+
+    @Getter
+    private final NotificationProvider delegate;
+    @Getter
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (!limiter.tryAcquire()) {
+            return CompletableFuture.failedFuture(new ProviderException(getName(),
+                "Adaptive concurrency limit of " + limiter.getLimit() + " reached", ErrorCategory.RATE_LIMITED));
+        }
+        int inFlightAtStart = limiter.getInFlight();
+        long start = System.nanoTime();
+        CompletableFuture<NotificationResult> send;
+        try {
+            send = Objects.requireNonNull(delegate.sendAsync(request), "Provider returned no future");
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, error) -> {
+            ErrorCategory category = error != null ? categoryOf(error)
+                : result == null || result.isSuccess() ? null : result.getErrorCategory();
+            if (error == null && result == null) {
+                // Nothing to learn from, but the slot is still released
+                limiter.onIgnored();
+            } else if (unwrap(error) instanceof QuotaExceededException || unwrap(error) instanceof DeadlineExceededException) {
+                // Refused before reaching the provider, or cut short by a deadline the client chose
+                limiter.onIgnored();
+            } else if (category == ErrorCategory.TRANSIENT || category == ErrorCategory.RATE_LIMITED) {
+                limiter.onDropped();
+            } else if (error == null) {
+                limiter.onSuccess(System.nanoTime() - start, inFlightAtStart);
+            } else {
+                limiter.onIgnored();
+            }
+        });
+    }
+
+    /** As the delegate: a limited blocking provider stays on the channel's blocking path. */
+    @Override
+    public boolean isBlocking() {
+        return !AsyncNotificationProvider.isNonBlocking(delegate);
+    }
+
+    @Override
+    public ConcurrencyLimitedProvider withDelegate(NotificationProvider delegate) {
+        return new ConcurrencyLimitedProvider(delegate, limiter);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return delegate.isConfigured();
+    }
+
+    private static ErrorCategory categoryOf(Throwable error) {
+        return unwrap(error) instanceof ProviderException e ? e.getCategory() : ErrorCategory.UNKNOWN;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
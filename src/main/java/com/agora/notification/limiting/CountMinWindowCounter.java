@@ -0,0 +1,146 @@
+package com.agora.notification.limiting;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate frequency counter with fixed memory: the window is split into {@value #SUB_WINDOWS}
+ * sub-windows, each a count-min sketch of DEPTH rows by width counters. A key's count is the sum over
+ * the live sub-windows of its smallest counter, which can over-count (hash collisions) but not miss
+ * sends, so a busy sketch caps recipients early rather than late. Sends from the last sub-window
+ * beyond the window may still count, which is the same conservative error.
+ * 
+ * One spare sketch beyond the live ones holds the sub-window that has just left the window; the
+ * background sweep ({@link #evictExpired}) zeroes it ahead of time, so rolling over to the next
+ * sub-window only moves an epoch and no sending thread clears counters. Only if the sweep falls
+ * behind does the first sender of a sub-window clear its sketch; concurrent senders wait for it
+ * rather than go uncounted.
+ * 
+ * Memory is (SUB_WINDOWS + 1) x DEPTH x width ints however many recipients there are, e.g. 9 MB at
+ * the default width. Counters are atomics and epochs move by CAS, so the check is lock-free; two
+ * concurrent sends for one key may both pass at the edge of the cap.
+ */
+public class CountMinWindowCounter implements FrequencyCounter {
+
+    public static final int DEFAULT_WIDTH = 1 << 16;
+
+    private static final int SUB_WINDOWS = 8;
+    private static final int SLOTS = SUB_WINDOWS + 1;
+    private static final int DEPTH = 4;
+    private static final long RECYCLING = Long.MIN_VALUE;
+    private static final long CLEARED = Long.MIN_VALUE + 1;
+
+    private final int maxSends;
+    private final long subWindowMs;
+    private final int mask;
+    private final AtomicIntegerArray[] counters = new AtomicIntegerArray[SLOTS];
+    private final AtomicLong[] epochs = new AtomicLong[SLOTS];
+
+    /**
+     * @param width Counters per row, rounded up to a power of two; 0 for {@link #DEFAULT_WIDTH}
+     */
+    public CountMinWindowCounter(int maxSends, long windowMs, int width) {
+        this.maxSends = maxSends;
+        this.subWindowMs = Math.max(1, windowMs / SUB_WINDOWS);
+        int rowWidth = Integer.highestOneBit(Math.max(1, width > 0 ? width : DEFAULT_WIDTH) * 2 - 1);
+        this.mask = rowWidth - 1;
+        for (int i = 0; i < SLOTS; i++) {
+            counters[i] = new AtomicIntegerArray(DEPTH * rowWidth);
+            epochs[i] = new AtomicLong(CLEARED);
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String key, long nowMs) {
+        long hash = mix(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long current = nowMs / subWindowMs;
+
+        long estimate = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            long epoch = epochs[i].get();
+            if (epoch > current - SUB_WINDOWS && epoch <= current) {
+                estimate += minCount(counters[i], h1, h2);
+            }
+        }
+        if (estimate >= maxSends) {
+            return false;
+        }
+
+        AtomicIntegerArray sketch = advance((int) Math.floorMod(current, (long) SLOTS), current);
+        for (int row = 0; row < DEPTH; row++) {
+            sketch.incrementAndGet(index(row, h1, h2));
+        }
+        return true;
+    }
+
+    /** Zeroes the sketches of sub-windows that have left the window, so the next rollover finds its sketch clear. */
+    @Override
+    public void evictExpired(long nowMs) {
+        long current = nowMs / subWindowMs;
+        for (int i = 0; i < SLOTS; i++) {
+            long seen = epochs[i].get();
+            if (seen != CLEARED && seen != RECYCLING && seen <= current - SUB_WINDOWS 
+                    && epochs[i].compareAndSet(seen, RECYCLING)) {
+                clear(counters[i]);
+                epochs[i].set(CLEARED);
+            }
+        }
+    }
+
+    /** Half a sub-window, so every sub-window's spare sketch is cleared before it is needed. */
+    @Override
+    public long sweepIntervalMs() {
+        return Math.max(1, subWindowMs / 2);
+    }
+
+    /** Returns the slot's sketch once it holds the current sub-window, clearing it first if the sweep has not. */
+    private AtomicIntegerArray advance(int slot, long current) {
+        AtomicLong epoch = epochs[slot];
+        while (true) {
+            long seen = epoch.get();
+            if (seen >= current) {
+                // A sender with a later clock already moved on; counting there keeps the send longer
+                return counters[slot];
+            }
+            if (seen == RECYCLING) {
+                Thread.onSpinWait();
+            } else if (seen == CLEARED) {
+                if (epoch.compareAndSet(CLEARED, current)) {
+                    return counters[slot];
+                }
+            } else if (epoch.compareAndSet(seen, RECYCLING)) {
+                clear(counters[slot]);
+                epoch.set(current);
+                return counters[slot];
+            }
+        }
+    }
+
+    private static void clear(AtomicIntegerArray sketch) {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.set(i, 0);
+        }
+    }
+    private int minCount(AtomicIntegerArray sketch, int h1, int h2) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, sketch.get(index(row, h1, h2)));
+        }
+        return min;
+    }
+
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private static long mix(long h) {
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
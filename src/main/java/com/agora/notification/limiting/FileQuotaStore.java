@@ -0,0 +1,118 @@
+package com.agora.notification.limiting;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link QuotaStore} shared by processes on one host: every quota is a 16-byte file (tokens as a
+ * double, last refill as epoch milliseconds) in a directory, updated under an exclusive file lock.
+ * For local multi-process testing and single-host deployments; the lock costs a system call per
+ * lease, which chunked leasing amortises.
+ */
+public class FileQuotaStore implements QuotaStore, AutoCloseable {
+
+    private static final int RECORD_BYTES = 16;
+    // File locks are held per JVM, so stores sharing a file in one JVM serialize on a common monitor
+    private static final Map<Path, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final LongSupplier clockMs;
+    private final Map<String, FileChannel> channels = new ConcurrentHashMap<>();
+
+    public FileQuotaStore(Path directory) {
+        this(directory, System::currentTimeMillis);
+    }
+
+    public FileQuotaStore(Path directory, LongSupplier clockMs) {
+        this.directory = directory;
+        this.clockMs = clockMs;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create quota directory " + directory, e);
+        }
+    }
+
+    @Override
+    public long lease(String quota, double ratePerSecond, long burst, long requested) {
+        return update(quota, burst, (tokens, refilledAtMs, now) -> {
+            double refilled = Math.min(burst, tokens + Math.max(0, now - refilledAtMs) * ratePerSecond / 1000);
+            long granted = Math.min(requested, (long) refilled);
+            return new long[] {Double.doubleToLongBits(refilled - granted), now, granted};
+        });
+    }
+
+    @Override
+    public void release(String quota, long burst, long tokens) {
+        if (tokens > 0) {
+            update(quota, burst, (current, refilledAtMs, now) -> 
+                new long[] {Double.doubleToLongBits(Math.min(burst, current + tokens)), refilledAtMs, 0});
+        }
+    }
+
+    @Override
+    public void close() {
+        for (FileChannel channel : channels.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Best effort on shutdown
+            }
+        }
+        channels.clear();
+    }
+
+    /** Reads the record under the lock (a new file starts as a full bucket), applies the change and writes it back. */
+    private long update(String quota, long burst, Change change) {
+        FileChannel channel = channels.computeIfAbsent(quota, this::open);
+        // FileLock excludes other processes; the monitor excludes threads of this one
+        synchronized (JVM_LOCKS.computeIfAbsent(fileOf(quota), k -> new Object())) {
+            try (FileLock lock = channel.lock()) {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+                long now = clockMs.getAsLong();
+                double tokens = burst;
+                long refilledAtMs = now;
+                if (channel.read(record, 0) == RECORD_BYTES) {
+                    record.flip();
+                    tokens = record.getDouble();
+                    refilledAtMs = record.getLong();
+                }
+                long[] updated = change.apply(tokens, refilledAtMs, now);
+                record.clear();
+                record.putLong(updated[0]).putLong(updated[1]).flip();
+                channel.write(record, 0);
+                return updated[2];
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot update quota " + quota + " in " + directory, e);
+            }
+        }
+    }
+
+    private FileChannel open(String quota) {
+        try {
+            return FileChannel.open(fileOf(quota),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open quota file for " + quota, e);
+        }
+    }
+
+    private Path fileOf(String quota) {
+        return directory.resolve(quota + ".quota").toAbsolutePath().normalize();
+    }
+
+    @FunctionalInterface
+    private interface Change {
+        /** @return {new tokens as double bits, new refill time, granted tokens} */
+        long[] apply(double tokens, long refilledAtMs, long now);
+    }
+}
@@ -0,0 +1,109 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.FrequencyCapConfig;
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.core.Recipients;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Stage that caps how many notifications one recipient gets per channel, e.g. 3 SMS per hour.
+ * Sends over the cap short-circuit with a THROTTLED result. Each capped channel has its own
+ * {@link FrequencyCounter}, so a request costs one EnumMap lookup plus the counter's check.
+ * Recipients are counted by {@link Recipients#key}, so "+1 555-0100" and "+15550100" share a cap.
+ * 
+ * Idle recipients are evicted by a background sweep as often as the most demanding counter asks
+ * (at most every second), never on a sending thread; the sweep stops when the service shuts down.
+ */
+@Slf4j
+public class FrequencyCapStage implements NotificationStage {
+
+    private static final long MIN_SWEEP_INTERVAL_MS = 1_000;
+
+    private final Map<Channel, FrequencyCounter> counters = new EnumMap<>(Channel.class);
+    private final LongSupplier clock;
+    private final long sweepIntervalMs;
+    private volatile boolean stopped;
+
+    public FrequencyCapStage(Map<Channel, FrequencyCapConfig> caps) {
+        this(caps, System::currentTimeMillis);
+    }
+
+    public FrequencyCapStage(Map<Channel, FrequencyCapConfig> caps, LongSupplier clock) {
+        this.clock = clock;
+        caps.forEach((channel, config) -> counters.put(channel, newCounter(config)));
+        this.sweepIntervalMs = Math.max(MIN_SWEEP_INTERVAL_MS, counters.values().stream()
+            .mapToLong(FrequencyCounter::sweepIntervalMs).min().orElse(MIN_SWEEP_INTERVAL_MS));
+        if (!counters.isEmpty()) {
+            scheduleSweep();
+        }
+    }
+
+    @Override
+    public NotificationResult apply(NotificationRequest request) {
+        if (request == null || request.getChannel() == null || request.getRecipient() == null) {
+            return null;
+        }
+        FrequencyCounter counter = counters.get(request.getChannel());
+        if (counter == null) {
+            return null;
+        }
+        if (counter.tryAcquire(Recipients.key(request.getRecipient()), clock.getAsLong())) {
+            return null;
+        }
+        log.debug("Recipient reached the {} frequency cap, not sending", request.getChannel());
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.THROTTLED)
+            .message("Recipient reached the frequency cap")
+            .providerName(request.getChannel().name())
+            .timestamp(Instant.now())
+            .errorDetails("Frequency cap reached")
+            .attemptNumber(0)
+            .build();
+    }
+
+    /** Stops the eviction sweep. */
+    @Override
+    public void shutdown() {
+        stopped = true;
+    }
+
+    /** Evicts idle recipients from every counter now. */
+    void sweep() {
+        long now = clock.getAsLong();
+        counters.forEach((channel, counter) -> {
+            try {
+                counter.evictExpired(now);
+            } catch (RuntimeException e) {
+                log.error("Failed to evict idle {} recipients: {}", channel, e.getMessage(), e);
+            }
+        });
+    }
+
+    private void scheduleSweep() {
+        CompletableFuture.delayedExecutor(sweepIntervalMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (!stopped) {
+                sweep();
+                scheduleSweep();
+            }
+        });
+    }
+
+    private static FrequencyCounter newCounter(FrequencyCapConfig config) {
+        long windowMs = config.getWindow().toMillis();
+        return config.isApproximate()
+            ? new CountMinWindowCounter(config.getMaxSends(), windowMs, config.getSketchWidth())
+            : new SlidingWindowCounter(config.getMaxSends(), windowMs);
+    }
+}
@@ -0,0 +1,20 @@
+package com.agora.notification.limiting;
+
+/** Counts sends per key over a sliding window and admits them up to a cap. Thread-safe. */
+public interface FrequencyCounter {
+
+    /**
+     * Records a send for the key if it is still under the cap.
+     * 
+     * @param key   The recipient
+     * @param nowMs Current time in epoch milliseconds
+     * @return true if the send is allowed (and was counted), false if the cap is reached
+     */
+    boolean tryAcquire(String key, long nowMs);
+
+    /** Drops state that can no longer affect a decision; called periodically by the stage. */
+    void evictExpired(long nowMs);
+
+    /** How often {@link #evictExpired} should run, in milliseconds. */
+    long sweepIntervalMs();
+}
@@ -0,0 +1,54 @@
+package com.agora.notification.limiting;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/** {@link QuotaStore} for instances in one JVM (and tests). Buckets start full. */
+public class InMemoryQuotaStore implements QuotaStore {
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clockMs;
+
+    public InMemoryQuotaStore() {
+        this(System::currentTimeMillis);
+    }
+
+    public InMemoryQuotaStore(LongSupplier clockMs) {
+        this.clockMs = clockMs;
+    }
+
+    @Override
+    public long lease(String quota, double ratePerSecond, long burst, long requested) {
+        Bucket bucket = buckets.computeIfAbsent(quota, k -> new Bucket(burst, clockMs.getAsLong()));
+        synchronized (bucket) {
+            long now = clockMs.getAsLong();
+            bucket.tokens = Math.min(burst, bucket.tokens + Math.max(0, now - bucket.refilledAtMs) * ratePerSecond / 1000);
+            bucket.refilledAtMs = now;
+            long granted = Math.min(requested, (long) bucket.tokens);
+            bucket.tokens -= granted;
+            return granted;
+        }
+    }
+
+    @Override
+    public void release(String quota, long burst, long tokens) {
+        Bucket bucket = buckets.get(quota);
+        if (bucket == null || tokens <= 0) {
+            return;
+        }
+        synchronized (bucket) {
+            bucket.tokens = Math.min(burst, bucket.tokens + tokens);
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAtMs;
+
+        private Bucket(double tokens, long refilledAtMs) {
+            this.tokens = tokens;
+            this.refilledAtMs = refilledAtMs;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+
+/**
+ * RATE_LIMITED failure of a {@link QuotaLimitedProvider} whose shared quota is exhausted. The
+ * provider was not called, so the error says nothing about its latency or health.
+ */
+public class QuotaExceededException extends ProviderException {
+
+    public QuotaExceededException(String providerName, String quota) {
+        super(providerName, "Shared quota " + quota + " exhausted", ErrorCategory.RATE_LIMITED);
+    }
+}
@@ -0,0 +1,66 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.ProviderDecorator;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provider decorator that spends one token of a {@link SharedRateLimiter} per send. When the
+ * shared quota is exhausted a send fails at once with a RATE_LIMITED {@link QuotaExceededException}, so a retry
+ * executor backs off as it would on the provider's own 429. If the quota store cannot be reached
+ * the send fails as TRANSIENT rather than exceeding the account's quota.
+ */
+@RequiredArgsConstructor
+public class QuotaLimitedProvider implements AsyncNotificationProvider, ProviderDecorator {
+
+    @Getter
+    private final NotificationProvider delegate;
+    @Getter
+    private final SharedRateLimiter limiter;
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        try {
+            if (!limiter.tryAcquire()) {
+                return CompletableFuture.failedFuture(new QuotaExceededException(getName(), limiter.getConfig().getName()));
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(new ProviderException(getName(),
+                "Quota store unavailable: " + e.getMessage(), ErrorCategory.TRANSIENT, e));
+        }
+        try {
+            return delegate.sendAsync(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Follows the delegate. */
+    @Override
+    public boolean isBlocking() {
+        return !AsyncNotificationProvider.isNonBlocking(delegate);
+    }
+
+    @Override
+    public QuotaLimitedProvider withDelegate(NotificationProvider delegate) {
+        return new QuotaLimitedProvider(delegate, limiter);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return delegate.isConfigured();
+    }
+}
@@ -0,0 +1,20 @@
+package com.agora.notification.limiting;
+
+/**
+ * Shared token buckets that every instance of a deployment draws from, e.g. a Redis script or a
+ * database row; {@link InMemoryQuotaStore} and {@link FileQuotaStore} are provided for tests and
+ * single-host setups. Implementations must be safe for concurrent callers in all processes.
+ */
+public interface QuotaStore {
+
+    /**
+     * Takes up to the requested tokens from the quota's bucket, after refilling it at ratePerSecond
+     * (capped at burst) for the time since its last refill.
+     * 
+     * @return Tokens granted, between 0 and requested
+     */
+    long lease(String quota, double ratePerSecond, long burst, long requested);
+
+    /** Gives unused leased tokens back (still capped at burst). */
+    void release(String quota, long burst, long tokens);
+}
@@ -0,0 +1,116 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.QuotaConfig;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter whose budget is shared by every instance using the same {@link QuotaStore} and
+ * quota name. Tokens are leased from the store chunkSize at a time and spent locally without
+ * coordination, so the store sees one call per chunk.
+ * 
+ * A lease is valid for leaseDuration: whatever is left of it then goes back to the store, by the
+ * next caller or by a timer if the instance has gone idle. An idle instance thus holds at most one
+ * chunk for at most one lease, and the rest of the account's quota goes to the busy ones.
+ * 
+ * When the store grants nothing, sends are refused locally until the shared bucket has had time to
+ * refill one token (1/ratePerSecond), so an exhausted quota does not turn every send into a store call.
+ */
+public class SharedRateLimiter {
+
+    @Getter
+    private final QuotaConfig config;
+    private final QuotaStore store;
+    private final LongSupplier clockMs;
+    private final long leaseMs;
+    private final long emptyBackoffMs;
+
+    private final AtomicLong tokens = new AtomicLong();
+    private volatile long leaseExpiresAtMs;
+    private volatile long nextLeaseAtMs;
+
+    public SharedRateLimiter(QuotaStore store, QuotaConfig config) {
+        this(store, config, System::currentTimeMillis);
+    }
+
+    public SharedRateLimiter(QuotaStore store, QuotaConfig config, LongSupplier clockMs) {
+        this.store = store;
+        this.config = config;
+        this.clockMs = clockMs;
+        this.leaseMs = config.getLeaseDuration().toMillis();
+        this.emptyBackoffMs = Math.max(1, (long) Math.ceil(1000 / config.getRatePerSecond()));
+    }
+
+    /**
+     * Takes one token, leasing a new chunk from the store when the local one is spent or expired.
+     * 
+     * @return false if the shared quota is exhausted
+     */
+    public boolean tryAcquire() {
+        long now = clockMs.getAsLong();
+        if (now < leaseExpiresAtMs && takeLocal()) {
+            return true;
+        }
+        if (now < nextLeaseAtMs) {
+            // The store was empty moments ago
+            return false;
+        }
+        return leaseAndAcquire();
+    }
+
+    /** @return Tokens leased but not yet spent */
+    public long getLocalTokens() {
+        return tokens.get();
+    }
+
+    /** Returns any unspent tokens to the store, e.g. on shutdown. */
+    public synchronized void releaseUnused() {
+        long unused = tokens.getAndSet(0);
+        if (unused > 0) {
+            store.release(config.getName(), config.getBurst(), unused);
+        }
+    }
+
+    private synchronized boolean leaseAndAcquire() {
+        long now = clockMs.getAsLong();
+        if (now >= leaseExpiresAtMs) {
+            releaseUnused();
+        } else if (takeLocal()) {
+            // Another thread leased while this one waited for the lock
+            return true;
+        }
+        if (now < nextLeaseAtMs) {
+            return false;
+        }
+        long granted = store.lease(config.getName(), config.getRatePerSecond(), config.getBurst(), config.getChunkSize());
+        if (granted <= 0) {
+            nextLeaseAtMs = now + emptyBackoffMs;
+            return false;
+        }
+        tokens.addAndGet(granted - 1);
+        leaseExpiresAtMs = now + leaseMs;
+        if (granted > 1) {
+            CompletableFuture.delayedExecutor(leaseMs, TimeUnit.MILLISECONDS).execute(this::expireLease);
+        }
+        return true;
+    }
+
+    private synchronized void expireLease() {
+        if (clockMs.getAsLong() >= leaseExpiresAtMs) {
+            releaseUnused();
+        }
+    }
+
+    private boolean takeLocal() {
+        for (long available = tokens.get(); available > 0; available = tokens.get()) {
+            if (tokens.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
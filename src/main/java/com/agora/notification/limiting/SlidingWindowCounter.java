@@ -0,0 +1,136 @@
+package com.agora.notification.limiting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Exact frequency counter: every active key has a ring of maxSends send times. A send is allowed
+ * when one of them has left the window, and then overwrites it, so memory per key is maxSends
+ * longs regardless of traffic.
+ * 
+ * Keys live in a ConcurrentHashMap (internally sharded), so different recipients never contend. A
+ * send claims an expired slot with a CAS on its time, so the check is lock-free, and since only
+ * times outside the window are ever overwritten, every send inside the window keeps its slot: at
+ * most maxSends are admitted per window even under concurrent sends to one recipient.
+ * 
+ * Keys idle for a whole window are removed by {@link #evictExpired}. A ring is only removed once no
+ * send is using it (its sender count is CASed to "dead"), and senders that find a dead ring look it
+ * up again, so no send is recorded in a ring that has left the map.
+ */
+public class SlidingWindowCounter implements FrequencyCounter {
+
+    private final int maxSends;
+    private final long windowMs;
+    private final ConcurrentHashMap<String, Ring> rings = new ConcurrentHashMap<>();
+
+    public SlidingWindowCounter(int maxSends, long windowMs) {
+        this.maxSends = maxSends;
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    public boolean tryAcquire(String key, long nowMs) {
+        while (true) {
+            Ring ring = rings.get(key);
+            if (ring == null) {
+                ring = rings.computeIfAbsent(key, k -> new Ring(maxSends));
+            }
+            if (!ring.enter()) {
+                // Being evicted: it is either removed shortly or revived if a send just landed in it
+                Thread.onSpinWait();
+                continue;
+            }
+            try {
+                return ring.tryAcquire(nowMs, windowMs);
+            } finally {
+                ring.exit();
+            }
+        }
+    }
+
+    @Override
+    public void evictExpired(long nowMs) {
+        rings.forEach((key, ring) -> {
+            if (nowMs - ring.newest() >= windowMs && ring.kill()) {
+                // No send is in progress now, so this re-check sees every send that got in first
+                if (nowMs - ring.newest() >= windowMs) {
+                    rings.remove(key, ring);
+                } else {
+                    ring.revive();
+                }
+            }
+        });
+    }
+
+    @Override
+    public long sweepIntervalMs() {
+        return windowMs;
+    }
+
+    /** Keys currently tracked. */
+    public int size() {
+        return rings.size();
+    }
+
+    private static final class Ring {
+        private static final long NEVER = Long.MIN_VALUE / 2;
+        private static final int DEAD = -1;
+
+        private final AtomicLongArray sendTimes;
+        // Sends in progress, or DEAD once the sweep has claimed the ring for removal
+        private final AtomicInteger senders = new AtomicInteger();
+        private volatile int hint;
+
+        private Ring(int size) {
+            this.sendTimes = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sendTimes.set(i, NEVER);
+            }
+        }
+
+        private boolean enter() {
+            for (int seen = senders.get(); seen != DEAD; seen = senders.get()) {
+                if (senders.compareAndSet(seen, seen + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void exit() {
+            senders.decrementAndGet();
+        }
+
+        private boolean kill() {
+            return senders.compareAndSet(0, DEAD);
+        }
+
+        private void revive() {
+            senders.set(0);
+        }
+
+        /** Claims a slot whose send has left the window, starting after the last one claimed. */
+        private boolean tryAcquire(long nowMs, long windowMs) {
+            int size = sendTimes.length();
+            int start = hint;
+            for (int i = 0; i < size; i++) {
+                int slot = (start + i) % size;
+                long sentAt = sendTimes.get(slot);
+                if (nowMs - sentAt >= windowMs && sendTimes.compareAndSet(slot, sentAt, nowMs)) {
+                    hint = (slot + 1) % size;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private long newest() {
+            long newest = NEVER;
+            for (int i = 0; i < sendTimes.length(); i++) {
+                newest = Math.max(newest, sendTimes.get(i));
+            }
+            return newest;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.agora.notification.models;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered fallback chain for reaching one user, cheapest channel first (e.g. PUSH, then SMS, then
+ * EMAIL). Each step is a complete request for its channel, since recipient and content differ per
+ * channel, plus how long to wait for it to succeed before moving on. A step without a timeout waits
+ * for its result.
+ */
+@Getter
+public class CascadeRequest {
+    private final List<Step> steps;
+
+    private CascadeRequest(List<Step> steps) {
+        this.steps = List.copyOf(steps);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** One channel of the cascade. */
+    @Getter
+    public static class Step {
+        private final NotificationRequest request;
+        private final Duration timeout;
+
+        private Step(NotificationRequest request, Duration timeout) {
+            this.request = request;
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Builder {
+        private final List<Step> steps = new ArrayList<>();
+
+        /** Adds a step that falls back when it fails or has not succeeded within the timeout. */
+        public Builder step(NotificationRequest request, Duration timeout) {
+            if (request == null) {
+                throw new IllegalArgumentException("Cascade step request cannot be null");
+            }
+            steps.add(new Step(request, timeout));
+            return this;
+        }
+
+        /** Adds a step that falls back only when it fails, typically the last one. */
+        public Builder step(NotificationRequest request) {
+            return step(request, null);
+        }
+
+        public CascadeRequest build() {
+            if (steps.isEmpty()) {
+                throw new IllegalArgumentException("Cascade needs at least one step");
+            }
+            return new CascadeRequest(steps);
+        }
+    }
+}
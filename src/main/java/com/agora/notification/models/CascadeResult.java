@@ -0,0 +1,18 @@
+package com.agora.notification.models;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a cascade: whether any step succeeded, the channel that did, and the result of every
+ * step tried, in order (a step that timed out has a FAILED result).
+ */
+@Getter
+@Builder
+public class CascadeResult {
+    private final boolean success;
+    private final Channel deliveredVia;
+    private final List<NotificationResult> attempts;
+}
@@ -0,0 +1,40 @@
+package com.agora.notification.models;
+
+/** 
+ * Why a send failed, as far as retrying is concerned. TRANSIENT and RATE_LIMITED failures may
+ * succeed on a later attempt; INVALID_REQUEST, AUTHENTICATION and CONFIGURATION (provider not
+ * set up) failures never will. INVALID_RECIPIENT means the provider reported the recipient itself
+ * as gone (e.g. an unregistered push token), so no request to it can succeed. UNKNOWN
+ * (unclassified errors) is treated as retryable. 
+ */
+public enum ErrorCategory {
+    TRANSIENT,
+    RATE_LIMITED,
+    INVALID_REQUEST,
+    INVALID_RECIPIENT,
+    AUTHENTICATION,
+    CONFIGURATION,
+    UNKNOWN;
+    
+    /** Whether another attempt of the same request can succeed. */
+    public boolean isRetryable() {
+        return this == TRANSIENT || this == RATE_LIMITED || this == UNKNOWN;
+    }
+    
+    /** Classifies an HTTP status code: 429 rate limited, 408 and 5xx transient, 401/403 auth, other 4xx invalid. */
+    public static ErrorCategory fromStatusCode(int statusCode) {
+        if (statusCode == 429) {
+            return RATE_LIMITED;
+        }
+        if (statusCode == 408 || (statusCode >= 500 && statusCode < 600)) {
+            return TRANSIENT;
+        }
+        if (statusCode == 401 || statusCode == 403) {
+            return AUTHENTICATION;
+        }
+        if (statusCode >= 400 && statusCode < 500) {
+            return INVALID_REQUEST;
+        }
+        return UNKNOWN;
+    }
+}
@@ -3,17 +3,63 @@ package com.agora.notification.models;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Payload for a single notification. Channel and recipient are required; subject/title/body
  * depend on the channel (e.g. email uses subject+message, push uses title+body).
+ * notificationId is optional: when set, the service uses it instead of generating one, so callers
+ * can pass their own idempotency key.
+ * tenant identifies the team or client the request is sent for, so a shared service can schedule
+ * tenants fairly; unset means {@link #DEFAULT_TENANT}.
+ * deadline is optional: once it has passed, the request is dropped with an EXPIRED result instead
+ * of being sent or retried (set it directly or as a TTL with {@code ttl(Duration)}).
+ * priority decides which queued send starts first when the service limits concurrency; unset means NORMAL.
+ * digestKey is optional: with digesting enabled, requests to the same channel and recipient with the
+ * same digestKey (e.g. "new-comment") within a window are merged into one notification.
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class NotificationRequest {
+    public static final String DEFAULT_TENANT = "default";
+    
+    private final String notificationId;
     private final Channel channel;
     private final String recipient;
     private final String subject;
     private final String message;
     private final String title;
     private final String body;
+    private final String tenant;
+    private final Priority priority;
+    private final Instant deadline;
+    private final String digestKey;
+    
+    public String getTenant() {
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+    
+    public Priority getPriority() {
+        return priority != null ? priority : Priority.NORMAL;
+    }
+    
+    /** Whether the deadline has passed; always false without a deadline. */
+    public boolean isExpired() {
+        return isExpiredAt(Instant.now());
+    }
+    
+    /** Whether the deadline will have passed at the given instant; always false without a deadline. */
+    public boolean isExpiredAt(Instant instant) {
+        return deadline != null && !instant.isBefore(deadline);
+    }
+    
+    public static class NotificationRequestBuilder {
+        
+        /** Sets the deadline to now plus the given time to live. */
+        public NotificationRequestBuilder ttl(Duration ttl) {
+            this.deadline = Instant.now().plus(ttl);
+            return this;
+        }
+    }
 }
@@ -3,14 +3,17 @@ package com.agora.notification.models;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.Duration;
 import java.time.Instant;
 
 /**
  * Outcome of a send/sendAsync call. success and status reflect delivery; errorDetails set on failure.
- * attemptNumber is 1-based and increases on retries.
+ * attemptNumber is 1-based and increases on retries. On failure, errorCategory and retryAfter (the
+ * provider's Retry-After hint, if any) tell the retry policy whether and when to try again.
+ * segmentCount is the number of SMS parts the message was sent in, when known (0 otherwise).
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class NotificationResult {
     private final boolean success;
     private final NotificationStatus status;
@@ -19,4 +22,25 @@ public class NotificationResult {
     private final Instant timestamp;
     private final String errorDetails;
     private final int attemptNumber;
+    private final ErrorCategory errorCategory;
+    private final Duration retryAfter;
+    private final int segmentCount;
+    
+    /**
+     * Result for a request dropped because its deadline passed.
+     * 
+     * @param providerName  Provider (or channel) that would have sent it
+     * @param attemptNumber Provider calls made before it expired; 0 if it never reached the provider
+     */
+    public static NotificationResult expired(String providerName, int attemptNumber) {
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.EXPIRED)
+            .message("Notification expired before it could be sent")
+            .providerName(providerName)
+            .timestamp(Instant.now())
+            .errorDetails("Deadline exceeded")
+            .attemptNumber(attemptNumber)
+            .build();
+    }
 }
@@ -1,11 +1,23 @@
 package com.agora.notification.models;
 
 /** 
- * Outcome of a send attempt: PENDING, SENT, FAILED, or RETRYING. 
+ * Outcome of a send attempt: PENDING, SENT, FAILED, or RETRYING. EXPIRED means the request's
+ * deadline passed before it could be sent, so it was dropped without (further) provider calls.
+ * CANCELLED means the caller cancelled it before it completed. SUPPRESSED means the recipient is on
+ * a suppression list, so it was never sent. THROTTLED means the recipient reached a frequency cap, so
+ * it was not sent this time. DIGESTED means it was accepted into a digest and will be delivered as
+ * part of one merged notification when the digest window closes. INVALIDATED is only used for events:
+ * the provider reported the recipient (e.g. a push token) as permanently invalid.
  */
 public enum NotificationStatus {
     PENDING,
     SENT,
     FAILED,
-    RETRYING
+    RETRYING,
+    EXPIRED,
+    CANCELLED,
+    SUPPRESSED,
+    THROTTLED,
+    DIGESTED,
+    INVALIDATED
 }
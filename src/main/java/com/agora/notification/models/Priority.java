@@ -0,0 +1,11 @@
+package com.agora.notification.models;
+
+/** 
+ * Scheduling priority of a request: HIGH (transactional, e.g. OTP or password reset), NORMAL, 
+ * or LOW (bulk, e.g. campaigns). Only affects the order in which queued sends start. 
+ */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,56 @@
+package com.agora.notification.monitoring;
+
+import com.agora.notification.core.NotificationEvent;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering the delivery of one NotificationEvent to all subscribed listeners.
+ * Emitted by NotificationEventPublisher; failedListeners counts listeners that threw.
+ */
+@Name("com.agora.notification.EventDispatch")
+@Label("Event Dispatch")
+@Category({"Notification Library", "Events"})
+@Description("Dispatch of a notification status event to subscribers")
+@StackTrace(false)
+public class EventDispatchEvent extends jdk.jfr.Event {
+
+    @Label("Notification ID")
+    String notificationId;
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Listeners")
+    int listeners;
+
+    @Label("Failed Listeners")
+    int failedListeners;
+
+    /** Ends the event and commits it, if recording is enabled. */
+    public void complete(NotificationEvent event, int listeners, int failedListeners) {
+        end();
+        if (shouldCommit()) {
+            this.notificationId = event.getNotificationId();
+            this.channel = event.getChannel();
+            this.provider = event.getResult() != null ? event.getResult().getProviderName() : null;
+            this.attempt = event.getAttemptNumber();
+            this.outcome = event.getStatus() != null ? event.getStatus().name() : null;
+            this.listeners = listeners;
+            this.failedListeners = failedListeners;
+            commit();
+        }
+    }
+}
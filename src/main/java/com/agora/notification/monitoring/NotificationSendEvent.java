@@ -0,0 +1,64 @@
+package com.agora.notification.monitoring;
+
+import com.agora.notification.models.NotificationResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one notification from submission to final result (including queueing
+ * and retries). Emitted by SyncNotificationService and AsyncNotificationService.
+ */
+@Name("com.agora.notification.NotificationSend")
+@Label("Notification Send")
+@Category({"Notification Library", "Send"})
+@Description("End-to-end send of a notification through the service")
+@StackTrace(false)
+public class NotificationSendEvent extends jdk.jfr.Event {
+
+    @Label("Notification ID")
+    String notificationId;
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error")
+    String error;
+
+    /** Ends the event and commits it with the data from the result, if recording is enabled. */
+    public void complete(String notificationId, String channel, NotificationResult result) {
+        end();
+        if (shouldCommit()) {
+            this.notificationId = notificationId;
+            this.channel = channel;
+            this.provider = result != null ? result.getProviderName() : null;
+            this.attempt = result != null ? result.getAttemptNumber() : 0;
+            this.outcome = result != null && result.getStatus() != null ? result.getStatus().name() : null;
+            this.error = result != null ? result.getErrorDetails() : null;
+            commit();
+        }
+    }
+
+    /** Ends the event and commits it with outcome ERROR, if recording is enabled. */
+    public void fail(String notificationId, String channel, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.notificationId = notificationId;
+            this.channel = channel;
+            this.outcome = "ERROR";
+            this.error = error != null ? error.getMessage() : null;
+            commit();
+        }
+    }
+}
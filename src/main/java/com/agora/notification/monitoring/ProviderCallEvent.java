@@ -0,0 +1,66 @@
+package com.agora.notification.monitoring;
+
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering a single provider.send() attempt. Emitted by RetryExecutor for every
+ * attempt and by the channels when they call the provider directly.
+ */
+@Name("com.agora.notification.ProviderCall")
+@Label("Provider Call")
+@Category({"Notification Library", "Provider"})
+@Description("A single call to a notification provider")
+@StackTrace(false)
+public class ProviderCallEvent extends jdk.jfr.Event {
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Error")
+    String error;
+
+    /** Ends the event and commits it with the data from the result, if recording is enabled. */
+    public void complete(NotificationRequest request, String provider, int attempt, NotificationResult result) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channelOf(request);
+            this.provider = provider;
+            this.attempt = attempt;
+            this.outcome = result != null && result.getStatus() != null ? result.getStatus().name() : null;
+            this.error = result != null ? result.getErrorDetails() : null;
+            commit();
+        }
+    }
+
+    /** Ends the event and commits it with outcome ERROR, if recording is enabled. */
+    public void fail(NotificationRequest request, String provider, int attempt, Throwable error) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channelOf(request);
+            this.provider = provider;
+            this.attempt = attempt;
+            this.outcome = "ERROR";
+            this.error = error != null ? error.getMessage() : null;
+            commit();
+        }
+    }
+
+    private static String channelOf(NotificationRequest request) {
+        return request != null && request.getChannel() != null ? request.getChannel().name() : null;
+    }
+}
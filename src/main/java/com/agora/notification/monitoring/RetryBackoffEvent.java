@@ -0,0 +1,49 @@
+package com.agora.notification.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering the wait between two attempts in RetryExecutor. The event duration is the
+ * time actually waited; delay is the value computed by the retry policy.
+ */
+@Name("com.agora.notification.RetryBackoff")
+@Label("Retry Backoff")
+@Category({"Notification Library", "Retry"})
+@Description("Backoff wait before the next retry attempt")
+@StackTrace(false)
+public class RetryBackoffEvent extends jdk.jfr.Event {
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Next Attempt")
+    int attempt;
+
+    @Label("Planned Delay")
+    @Timespan(Timespan.MILLISECONDS)
+    long delay;
+
+    @Label("Outcome")
+    String outcome;
+
+    /** Ends the event and commits it, if recording is enabled. Outcome is e.g. COMPLETED or INTERRUPTED. */
+    public void complete(String channel, String provider, int attempt, long delayMs, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.provider = provider;
+            this.attempt = attempt;
+            this.delay = delayMs;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
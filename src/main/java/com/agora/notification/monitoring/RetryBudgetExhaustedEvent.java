@@ -0,0 +1,42 @@
+package com.agora.notification.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Instant JFR event emitted when RetryExecutor skips a retry because its retry budget is empty.
+ */
+@Name("com.agora.notification.RetryBudgetExhausted")
+@Label("Retry Budget Exhausted")
+@Category({"Notification Library", "Retry"})
+@Description("Retry refused because the shared retry budget has no tokens left")
+@StackTrace(false)
+public class RetryBudgetExhaustedEvent extends jdk.jfr.Event {
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Refused Attempt")
+    int attempt;
+
+    @Label("Refused Retries")
+    long exhaustedCount;
+
+    /** Commits the event, if recording is enabled. */
+    public static void emit(String channel, String provider, int attempt, long exhaustedCount) {
+        RetryBudgetExhaustedEvent event = new RetryBudgetExhaustedEvent();
+        if (event.shouldCommit()) {
+            event.channel = channel;
+            event.provider = provider;
+            event.attempt = attempt;
+            event.exhaustedCount = exhaustedCount;
+            event.commit();
+        }
+    }
+}
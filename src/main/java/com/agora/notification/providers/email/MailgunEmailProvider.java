@@ -1,24 +1,30 @@
 package com.agora.notification.providers.email;
 
 import com.agora.notification.config.EmailConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * Email provider backed by Mailgun. Simulates delivery; uses subject and message from the request. 
+ * With an {@link HttpTransport} it POSTs to {apiUrl}/v3/{domain of fromEmail}/messages with basic auth instead. 
  */
 @Slf4j
 @RequiredArgsConstructor
-public class MailgunEmailProvider implements NotificationProvider {
+public class MailgunEmailProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "Mailgun";
     private static final int MIN_LATENCY_MS = 60;
@@ -27,11 +33,21 @@ public class MailgunEmailProvider implements NotificationProvider {
     
     private final EmailConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public MailgunEmailProvider(EmailConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[Mailgun] Preparing email send request");
@@ -62,26 +78,66 @@ public class MailgunEmailProvider implements NotificationProvider {
             log.error("[Mailgun] Failed to send email to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "Mailgun API returned error: 401 Unauthorized - Invalid API key"
+                "Mailgun API returned error: 401 Unauthorized - Invalid API key",
+                401
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[Mailgun] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/v3/" + sendingDomain() + "/messages")
+                .contentType("application/x-www-form-urlencoded")
+                .header("Authorization", TransportRequest.basicAuth("api", config.getApiKey()))
+                .body(buildMailgunRequest(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                "Email sent successfully via Mailgun"));
+    }
+    
     private String buildMailgunRequest(NotificationRequest request) {
-        // Simulates Mailgun API Messages endpoint form-data structure
+        // Mailgun API Messages endpoint form body
         String from = config.getFromName() != null && !config.getFromName().isBlank()
             ? String.format("%s <%s>", config.getFromName(), config.getFromEmail())
             : config.getFromEmail();
         
-        return String.format(
-            "from=%s&to=%s&subject=%s&text=%s",
-            from,
-            request.getRecipient(),
-            request.getSubject(),
-            request.getMessage()
+        return TransportRequest.form(
+            "from", from,
+            "to", request.getRecipient(),
+            "subject", request.getSubject(),
+            "text", request.getMessage()
         );
     }
     
+    private String sendingDomain() {
+        // Mailgun routes by sending domain, taken from the configured from address
+        String fromEmail = config.getFromEmail();
+        return fromEmail.substring(fromEmail.lastIndexOf('@') + 1);
+    }
+    
     private void simulateLatency() {
         try {
             int latency = MIN_LATENCY_MS + random.nextInt(MAX_LATENCY_MS - MIN_LATENCY_MS);
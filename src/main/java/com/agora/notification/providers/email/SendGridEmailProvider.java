@@ -1,24 +1,30 @@
 package com.agora.notification.providers.email;
 
 import com.agora.notification.config.EmailConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * Email provider backed by SendGrid. Simulates delivery; uses subject and message from the request. 
+ * With an {@link HttpTransport} it POSTs to {apiUrl}/v3/mail/send with a bearer API key instead. 
  */
 @Slf4j
 @RequiredArgsConstructor
-public class SendGridEmailProvider implements NotificationProvider {
+public class SendGridEmailProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "SendGrid";
     private static final int MIN_LATENCY_MS = 50;
@@ -27,11 +33,21 @@ public class SendGridEmailProvider implements NotificationProvider {
     
     private final EmailConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public SendGridEmailProvider(EmailConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[SendGrid] Preparing email send request");
@@ -62,11 +78,46 @@ public class SendGridEmailProvider implements NotificationProvider {
             log.error("[SendGrid] Failed to send email to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "SendGrid API returned error: 400 Bad Request - Invalid email address"
+                "SendGrid API returned error: 400 Bad Request - Invalid email address",
+                400
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[SendGrid] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/v3/mail/send")
+                .contentType("application/json")
+                .header("Authorization", "Bearer " + config.getApiKey())
+                .body(buildSendGridRequest(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                "Email sent successfully via SendGrid"));
+    }
+    
     private String buildSendGridRequest(NotificationRequest request) {
         // Simulates SendGrid API v3 Mail Send JSON structure
         return String.format(
@@ -1,25 +1,33 @@
 package com.agora.notification.providers.push;
 
 import com.agora.notification.config.PushConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * Push provider backed by Firebase Cloud Messaging. Simulates delivery; 
  * uses title and body (recipient = device token). 
+ * With an {@link HttpTransport} it POSTs to {apiUrl}/v1/projects/{appId}/messages:send (appId holds the 
+ * Firebase project ID) with serverKey as bearer token instead. An UNREGISTERED or invalid registration
+ * token response fails with an INVALID_RECIPIENT ProviderException, so the token can be dropped.
  */
 @Slf4j
 @RequiredArgsConstructor
-public class FcmPushProvider implements NotificationProvider {
+public class FcmPushProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "FCM";
     private static final int MIN_LATENCY_MS = 40;
@@ -28,11 +36,21 @@ public class FcmPushProvider implements NotificationProvider {
     
     private final PushConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public FcmPushProvider(PushConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[FCM] Preparing push notification send request");
@@ -63,11 +81,61 @@ public class FcmPushProvider implements NotificationProvider {
             log.error("[FCM] Failed to send push notification to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "FCM API returned error: 401 Unauthorized - Invalid server key"
+                "FCM API returned error: 401 Unauthorized - Invalid server key",
+                401
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[FCM] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/v1/projects/" + config.getAppId() + "/messages:send")
+                .contentType("application/json")
+                .header("Authorization", "Bearer " + config.getServerKey())
+                .body(buildFcmRequest(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> {
+                if (isInvalidToken(response.statusCode(), response.body())) {
+                    throw new ProviderException(PROVIDER_NAME, "FCM reports the registration token as invalid: " 
+                        + response.statusCode(), ErrorCategory.INVALID_RECIPIENT);
+                }
+                return HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                    "Push notification sent successfully via FCM");
+            });
+    }
+    
+    /** 404 UNREGISTERED (app uninstalled, token expired) or 400 for a malformed registration token. */
+    static boolean isInvalidToken(int statusCode, String body) {
+        if (body == null) {
+            return false;
+        }
+        return (statusCode == 404 && body.contains("UNREGISTERED")) 
+            || (statusCode == 400 && body.contains("registration token"));
+    }
+    
     private String buildFcmRequest(NotificationRequest request) {
         // Simulates FCM v1 Send API JSON structure
         String title = request.getTitle() != null ? request.getTitle() : "";
@@ -1,24 +1,31 @@
 package com.agora.notification.providers.push;
 
 import com.agora.notification.config.PushConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * Push provider backed by OneSignal. Simulates delivery; uses title and body (recipient = device token). 
+ * With an {@link HttpTransport} it POSTs to {apiUrl}/notifications (apiUrl includes /api/v1) instead. 
+ * A response naming the player ID invalid fails with an INVALID_RECIPIENT ProviderException, so the ID can be dropped. 
  */
 @Slf4j
 @RequiredArgsConstructor
-public class OneSignalProvider implements NotificationProvider {
+public class OneSignalProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "OneSignal";
     private static final int MIN_LATENCY_MS = 60;
@@ -27,11 +34,21 @@ public class OneSignalProvider implements NotificationProvider {
     
     private final PushConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public OneSignalProvider(PushConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[OneSignal] Preparing push notification send request");
@@ -62,11 +79,60 @@ public class OneSignalProvider implements NotificationProvider {
             log.error("[OneSignal] Failed to send push notification to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "OneSignal API returned error: 400 Bad Request - Invalid app ID or API key"
+                "OneSignal API returned error: 400 Bad Request - Invalid app ID or API key",
+                400
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[OneSignal] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/notifications")
+                .contentType("application/json")
+                .header("Authorization", "Basic " + config.getApiKey())
+                .body(buildOneSignalRequest(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> {
+                if (isInvalidToken(response.body())) {
+                    throw new ProviderException(PROVIDER_NAME, "OneSignal reports the player ID as invalid: " 
+                        + response.statusCode(), ErrorCategory.INVALID_RECIPIENT);
+                }
+                return HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                    "Push notification sent successfully via OneSignal");
+            });
+    }
+    
+    /** 
+     * OneSignal lists unknown player IDs under errors.invalid_player_ids, even with a 200 status, and 
+     * rejects sends whose only player is unsubscribed. 
+     */
+    static boolean isInvalidToken(String body) {
+        return body != null && (body.contains("\"invalid_player_ids\"") || body.contains("not subscribed"));
+    }
+    
     private String buildOneSignalRequest(NotificationRequest request) {
         // Simulates OneSignal Create Notification API JSON structure
         String title = request.getTitle() != null ? request.getTitle() : "";
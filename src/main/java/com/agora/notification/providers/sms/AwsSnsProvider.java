@@ -1,24 +1,31 @@
 package com.agora.notification.providers.sms;
 
 import com.agora.notification.config.SmsConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * SMS provider backed by AWS SNS. Simulates delivery; uses message and recipient from the request. 
+ * With an {@link HttpTransport} it POSTs a Publish action (Query API) to apiUrl instead. Requests are not 
+ * SigV4-signed; point apiUrl at an endpoint or proxy that signs them. 
  */
 @Slf4j
 @RequiredArgsConstructor
-public class AwsSnsProvider implements NotificationProvider {
+public class AwsSnsProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "AWS SNS";
     private static final int MIN_LATENCY_MS = 100;
@@ -27,11 +34,21 @@ public class AwsSnsProvider implements NotificationProvider {
     
     private final SmsConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public AwsSnsProvider(SmsConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[AWS SNS] Preparing SMS send request");
@@ -63,11 +80,45 @@ public class AwsSnsProvider implements NotificationProvider {
             log.error("[AWS SNS] Failed to send SMS to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "AWS SNS API returned error: 403 Forbidden - Invalid credentials"
+                "AWS SNS API returned error: 403 Forbidden - Invalid credentials",
+                403
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[AWS SNS] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/")
+                .contentType("application/x-www-form-urlencoded")
+                .body(buildAwsSnsQuery(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                "SMS sent successfully via AWS SNS"));
+    }
+    
     private String buildAwsSnsRequest(NotificationRequest request) {
         // Simulates AWS SNS Publish API JSON structure
         return String.format(
@@ -77,6 +128,19 @@ public class AwsSnsProvider implements NotificationProvider {
         );
     }
     
+    private String buildAwsSnsQuery(NotificationRequest request) {
+        // AWS SNS Publish action in Query API form encoding
+        return TransportRequest.form(
+            "Action", "Publish",
+            "Version", "2010-03-31",
+            "PhoneNumber", request.getRecipient(),
+            "Message", request.getMessage(),
+            "MessageAttributes.entry.1.Name", "AWS.SNS.SMS.SMSType",
+            "MessageAttributes.entry.1.Value.DataType", "String",
+            "MessageAttributes.entry.1.Value.StringValue", "Transactional"
+        );
+    }
+    
     private void simulateLatency() {
         try {
             int latency = MIN_LATENCY_MS + random.nextInt(MAX_LATENCY_MS - MIN_LATENCY_MS);
@@ -0,0 +1,167 @@
+package com.agora.notification.providers.sms;
+
+import java.text.Normalizer;
+import java.util.Map;
+
+/**
+ * GSM-7 / UCS-2 analysis of SMS text. A message is sent as GSM-7 (160 characters, or 153 per part
+ * when split) only if every character is in the GSM 03.38 alphabet; a single other character makes
+ * the whole message UCS-2 (70, or 67 per part), which can triple its segment count.
+ * 
+ * Characters are checked with a table lookup; extension characters (e.g. '{', '€') count as two
+ * septets. {@link #transliterate(String)} replaces common look-alikes (curly quotes, dashes,
+ * accented letters) so that such a message stays GSM-7.
+ */
+public final class SmsEncoding {
+
+    /** Encoding a message is sent with. */
+    public enum Charset {
+        GSM_7,
+        UCS_2
+    }
+
+    private static final String BASIC = "@£$¥èéùìòÇ\nØø\rÅåΔ_ΦΓΛΩΠΨΣΘΞÆæßÉ !\"#¤%&'()*+,-./0123456789:;<=>?"
+        + "¡ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÑÜ§¿abcdefghijklmnopqrstuvwxyzäöñüà";
+    private static final String EXTENSION = "\f^{}\\[~]|€";
+    private static final char EURO = '€';
+    private static final int TABLE_SIZE = 0x400;
+
+    // Septets per character: 0 if not GSM-7, 1 for the basic alphabet, 2 for the extension table
+    private static final byte[] SEPTETS = new byte[TABLE_SIZE];
+
+    private static final int GSM_SINGLE = 160;
+    private static final int GSM_PART = 153;
+    private static final int UCS_SINGLE = 70;
+    private static final int UCS_PART = 67;
+
+    private static final Map<Character, String> LOOK_ALIKES = Map.ofEntries(
+        Map.entry('‘', "'"), Map.entry('’', "'"), Map.entry('‚', "'"), Map.entry('′', "'"),
+        Map.entry('`', "'"), Map.entry('´', "'"),
+        Map.entry('“', "\""), Map.entry('”', "\""), Map.entry('„', "\""), Map.entry('″', "\""),
+        Map.entry('«', "\""), Map.entry('»', "\""),
+        Map.entry('‐', "-"), Map.entry('‑', "-"), Map.entry('–', "-"), Map.entry('—', "-"),
+        Map.entry('−', "-"), Map.entry('…', "..."), Map.entry('•', "*"),
+        Map.entry('\u00A0', " "), Map.entry('\u2009', " "), Map.entry('\u200B', ""), Map.entry('\t', " "),
+        Map.entry('ç', "Ç"));
+
+    static {
+        for (int i = 0; i < BASIC.length(); i++) {
+            SEPTETS[BASIC.charAt(i)] = 1;
+        }
+        for (int i = 0; i < EXTENSION.length(); i++) {
+            char c = EXTENSION.charAt(i);
+            if (c < TABLE_SIZE) {
+                SEPTETS[c] = 2;
+            }
+        }
+    }
+
+    private SmsEncoding() {
+    }
+
+    /** Whether the whole text can be sent as GSM-7. */
+    public static boolean isGsm7(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (septets(text.charAt(i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Charset charsetOf(CharSequence text) {
+        return isGsm7(text) ? Charset.GSM_7 : Charset.UCS_2;
+    }
+
+    /**
+     * Number of SMS parts the text is sent in. Extension characters and surrogate pairs are never
+     * split across parts, as handsets reassemble them per part.
+     * 
+     * @return 0 for null, otherwise at least 1
+     */
+    public static int segmentCount(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        return isGsm7(text) ? gsmSegments(text) : ucsSegments(text);
+    }
+
+    /**
+     * Replaces characters outside GSM-7 with look-alikes (curly quotes, dashes, ellipsis, accented
+     * letters without their accent) if that makes the whole text GSM-7.
+     * 
+     * @return The GSM-7 text, or the original if it is already GSM-7 or cannot be made so (e.g. emoji)
+     */
+    public static String transliterate(String text) {
+        if (text == null || isGsm7(text)) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (septets(c) != 0) {
+                out.append(c);
+                continue;
+            }
+            String replacement = LOOK_ALIKES.get(c);
+            if (replacement == null) {
+                replacement = stripAccent(c);
+            }
+            if (replacement == null) {
+                return text;
+            }
+            out.append(replacement);
+        }
+        return out.toString();
+    }
+
+    private static int septets(char c) {
+        return c < TABLE_SIZE ? SEPTETS[c] : c == EURO ? 2 : 0;
+    }
+
+    /** The base letter of an accented letter if it is GSM-7 (e.g. 'á' to 'a'), else null. */
+    private static String stripAccent(char c) {
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        char base = decomposed.charAt(0);
+        return decomposed.length() > 1 && septets(base) == 1 ? String.valueOf(base) : null;
+    }
+
+    private static int gsmSegments(CharSequence text) {
+        int total = 0;
+        for (int i = 0; i < text.length(); i++) {
+            total += septets(text.charAt(i));
+        }
+        if (total <= GSM_SINGLE) {
+            return 1;
+        }
+        int segments = 1;
+        int used = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int size = septets(text.charAt(i));
+            if (used + size > GSM_PART) {
+                segments++;
+                used = 0;
+            }
+            used += size;
+        }
+        return segments;
+    }
+
+    private static int ucsSegments(CharSequence text) {
+        if (text.length() <= UCS_SINGLE) {
+            return 1;
+        }
+        int segments = 1;
+        int used = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int size = Character.isHighSurrogate(text.charAt(i)) && i + 1 < text.length() ? 2 : 1;
+            if (used + size > UCS_PART) {
+                segments++;
+                used = 0;
+            }
+            used += size;
+            i += size - 1;
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,84 @@
+package com.agora.notification.providers.sms;
+
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.ProviderDecorator;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SMS provider decorator that optimizes the message encoding before it is sent: with
+ * transliteration on, a message that is UCS-2 only because of look-alike characters (curly quotes,
+ * dashes, accents) is rewritten to GSM-7. Every result carries the segment count of the message as
+ * sent, so callers can track SMS cost. Non-blocking delegates stay non-blocking; blocking ones run
+ * on the calling thread as before.
+ */
+@Slf4j
+public class SmsEncodingProvider implements AsyncNotificationProvider, ProviderDecorator {
+
+    @Getter
+    private final NotificationProvider delegate;
+    private final boolean transliterate;
+
+    public SmsEncodingProvider(NotificationProvider delegate, boolean transliterate) {
+        this.delegate = delegate;
+        this.transliterate = transliterate;
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        NotificationRequest encoded = encode(request);
+        CompletableFuture<NotificationResult> send;
+        try {
+            send = delegate.sendAsync(encoded);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.thenApply(result -> withSegments(result, encoded));
+    }
+
+    /** Follows the delegate, so simulated providers still send on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return !AsyncNotificationProvider.isNonBlocking(delegate);
+    }
+
+    @Override
+    public SmsEncodingProvider withDelegate(NotificationProvider delegate) {
+        return new SmsEncodingProvider(delegate, transliterate);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return delegate.isConfigured();
+    }
+
+    private NotificationRequest encode(NotificationRequest request) {
+        if (!transliterate || request == null || request.getMessage() == null) {
+            return request;
+        }
+        String message = SmsEncoding.transliterate(request.getMessage());
+        if (message.equals(request.getMessage())) {
+            return request;
+        }
+        log.debug("Transliterated SMS to GSM-7: {} -> {} segments", 
+            SmsEncoding.segmentCount(request.getMessage()), SmsEncoding.segmentCount(message));
+        return request.toBuilder().message(message).build();
+    }
+
+    private static NotificationResult withSegments(NotificationResult result, NotificationRequest request) {
+        if (result == null || request == null || request.getMessage() == null) {
+            return result;
+        }
+        return result.toBuilder().segmentCount(SmsEncoding.segmentCount(request.getMessage())).build();
+    }
+}
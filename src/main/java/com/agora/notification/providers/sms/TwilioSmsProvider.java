@@ -1,24 +1,30 @@
 package com.agora.notification.providers.sms;
 
 import com.agora.notification.config.SmsConfig;
-import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpResponseParser;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.TransportRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * SMS provider backed by Twilio. Simulates delivery; uses message and recipient from the request. 
+ * With an {@link HttpTransport} it POSTs to {apiUrl}/2010-04-01/Accounts/{accountSid}/Messages.json instead. 
  */
 @Slf4j
 @RequiredArgsConstructor
-public class TwilioSmsProvider implements NotificationProvider {
+public class TwilioSmsProvider implements AsyncNotificationProvider {
     
     private static final String PROVIDER_NAME = "Twilio";
     private static final int MIN_LATENCY_MS = 80;
@@ -27,11 +33,21 @@ public class TwilioSmsProvider implements NotificationProvider {
     
     private final SmsConfig config;
     private final Random random = new Random();
+    private final HttpTransport transport;
+    
+    /** Creates a provider that simulates delivery. */
+    public TwilioSmsProvider(SmsConfig config) {
+        this(config, null);
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
         if (!isConfigured()) {
-            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured");
+            throw new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                ErrorCategory.CONFIGURATION);
+        }
+        if (transport != null) {
+            return AsyncNotificationProvider.super.send(request);
         }
         
         log.info("[Twilio] Preparing SMS send request");
@@ -63,18 +79,52 @@ public class TwilioSmsProvider implements NotificationProvider {
             log.error("[Twilio] Failed to send SMS to {}", request.getRecipient());
             throw new ProviderException(
                 PROVIDER_NAME,
-                "Twilio API returned error: 400 Bad Request - Invalid phone number"
+                "Twilio API returned error: 400 Bad Request - Invalid phone number",
+                400
             );
         }
     }
     
+    /** Without a transport, sends are simulated on the calling thread. */
+    @Override
+    public boolean isBlocking() {
+        return transport == null;
+    }
+    
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        if (transport == null) {
+            // Simulated delivery runs on the calling thread, as with a blocking provider
+            return CompletableFuture.supplyAsync(() -> send(request), Runnable::run);
+        }
+        if (!isConfigured()) {
+            return CompletableFuture.failedFuture(
+                new ProviderException(PROVIDER_NAME, "Provider is not properly configured", 
+                    ErrorCategory.CONFIGURATION));
+        }
+        
+        log.info("[Twilio] Sending request to {}", config.getApiUrl());
+        TransportRequest apiRequest = TransportRequest.builder()
+                .providerName(PROVIDER_NAME)
+                .baseUrl(config.getApiUrl())
+                .path("/2010-04-01/Accounts/" + config.getAccountSid() + "/Messages.json")
+                .contentType("application/x-www-form-urlencoded")
+                .header("Authorization", TransportRequest.basicAuth(config.getAccountSid(), config.getAuthToken()))
+                .body(buildTwilioRequest(request))
+                .timeoutMs(config.getTimeoutMs())
+                .deadline(request.getDeadline())
+                .build();
+        return transport.sendAsync(apiRequest)
+            .thenApply(response -> HttpResponseParser.toResult(PROVIDER_NAME, response, 
+                "SMS sent successfully via Twilio"));
+    }
+    
     private String buildTwilioRequest(NotificationRequest request) {
-        // Simulates Twilio API Messages endpoint form-data structure
-        return String.format(
-            "From=%s&To=%s&Body=%s",
-            config.getFromNumber(),
-            request.getRecipient(),
-            request.getMessage()
+        // Twilio API Messages endpoint form body
+        return TransportRequest.form(
+            "From", config.getFromNumber(),
+            "To", request.getRecipient(),
+            "Body", request.getMessage()
         );
     }
     
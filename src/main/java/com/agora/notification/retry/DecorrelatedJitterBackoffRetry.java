@@ -0,0 +1,39 @@
+package com.agora.notification.retry;
+
+import com.agora.notification.models.NotificationResult;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/** 
+ * Decorrelated jitter: each delay is uniform in [initialDelayMs, 3 * previous delay], capped at 
+ * maxDelayMs. Delays grow like exponential backoff on average but each send follows its own path. 
+ * Without the previous delay (calculateDelayMs(attempt)) the first retry's range is used. 
+ */
+public class DecorrelatedJitterBackoffRetry extends ExponentialBackoffRetry {
+    
+    private static final int GROWTH_FACTOR = 3;
+    
+    public DecorrelatedJitterBackoffRetry(RetryConfig config) {
+        super(config);
+    }
+    
+    @Override
+    public long calculateDelayMs(int attemptNumber) {
+        return calculateDelayMs(attemptNumber, 0, null);
+    }
+    
+    @Override
+    public long calculateDelayMs(int attemptNumber, long previousDelayMs, NotificationResult lastResult) {
+        if (attemptNumber <= 1) {
+            return 0;
+        }
+        long base = config.getInitialDelayMs();
+        long upper = Math.max(base, Math.max(previousDelayMs, base) * GROWTH_FACTOR);
+        long delay = Math.min(config.getMaxDelayMs(), 
+            upper > base ? ThreadLocalRandom.current().nextLong(base, upper + 1) : base);
+        if (lastResult != null && lastResult.getRetryAfter() != null) {
+            return Math.max(delay, lastResult.getRetryAfter().toMillis());
+        }
+        return delay;
+    }
+}
@@ -0,0 +1,24 @@
+package com.agora.notification.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/** 
+ * Exponential backoff with equal jitter: half the exponential delay is kept and the other half 
+ * is uniform random, so every retry still waits at least half the backoff. 
+ */
+public class EqualJitterBackoffRetry extends ExponentialBackoffRetry {
+    
+    public EqualJitterBackoffRetry(RetryConfig config) {
+        super(config);
+    }
+    
+    @Override
+    public long calculateDelayMs(int attemptNumber) {
+        long ceiling = super.calculateDelayMs(attemptNumber);
+        if (ceiling <= 0) {
+            return 0;
+        }
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+}
@@ -7,12 +7,15 @@ import lombok.extern.slf4j.Slf4j;
 /** 
  * Retry policy with exponential backoff: delay = initialDelayMs * multiplier^(attempt-2), 
  * capped at maxDelayMs. No delay before first attempt. 
+ * 
+ * Failures whose error category is not retryable (invalid request, authentication) are not retried.
+ * A provider Retry-After hint lengthens the delay, but one longer than maxDelayMs ends the retries. 
  */
 @Slf4j
 @RequiredArgsConstructor
 public class ExponentialBackoffRetry implements RetryPolicy {
     
-    private final RetryConfig config;
+    protected final RetryConfig config;
     
     @Override
     public boolean shouldRetry(NotificationResult result, int attemptNumber) {
@@ -30,6 +33,18 @@ public class ExponentialBackoffRetry implements RetryPolicy {
             return false;
         }
         
+        // Permanent failures will fail the same way on every attempt
+        if (result.getErrorCategory() != null && !result.getErrorCategory().isRetryable()) {
+            log.debug("Error category {} is not retryable", result.getErrorCategory());
+            return false;
+        }
+        
+        if (result.getRetryAfter() != null && result.getRetryAfter().toMillis() > config.getMaxDelayMs()) {
+            log.debug("Provider asked to retry after {}ms, beyond maxDelayMs {}", 
+                result.getRetryAfter().toMillis(), config.getMaxDelayMs());
+            return false;
+        }
+        
         return true;
     }
     
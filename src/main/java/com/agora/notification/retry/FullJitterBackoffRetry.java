@@ -0,0 +1,20 @@
+package com.agora.notification.retry;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/** 
+ * Exponential backoff with full jitter: the delay is uniform in [0, exponential delay]. 
+ * Spreads retries the most; some retries happen almost immediately. 
+ */
+public class FullJitterBackoffRetry extends ExponentialBackoffRetry {
+    
+    public FullJitterBackoffRetry(RetryConfig config) {
+        super(config);
+    }
+    
+    @Override
+    public long calculateDelayMs(int attemptNumber) {
+        long ceiling = super.calculateDelayMs(attemptNumber);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
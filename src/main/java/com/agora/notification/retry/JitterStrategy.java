@@ -0,0 +1,16 @@
+package com.agora.notification.retry;
+
+/** 
+ * How retry delays are randomised so that failed sends do not all retry at the same instants. 
+ * NONE keeps the plain exponential delay; see the matching RetryPolicy for each strategy. 
+ */
+public enum JitterStrategy {
+    /** Deterministic exponential backoff ({@link ExponentialBackoffRetry}). */
+    NONE,
+    /** Uniform in [0, exponential delay] ({@link FullJitterBackoffRetry}). */
+    FULL,
+    /** Half the exponential delay plus uniform in [0, half] ({@link EqualJitterBackoffRetry}). */
+    EQUAL,
+    /** Uniform in [initialDelayMs, 3 * previous delay], capped ({@link DecorrelatedJitterBackoffRetry}). */
+    DECORRELATED
+}
@@ -0,0 +1,92 @@
+package com.agora.notification.retry;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket limiting retries to a fraction of successful traffic. Every notification that
+ * succeeds on its first attempt deposits retryRatio tokens (up to maxTokens); every retry takes
+ * one. When the bucket is empty retries fail fast instead of piling onto a struggling provider,
+ * so during an outage provider traffic grows by at most retryRatio (plus the initial burst).
+ * 
+ * Share one instance between the RetryExecutors that should draw from the same budget, e.g. all
+ * channels of a service or all channels using one provider. Thread-safe and lock-free.
+ */
+public class RetryBudget {
+    
+    // Tokens are stored in thousandths so fractional deposits need no floating-point CAS
+    private static final long SCALE = 1000;
+    
+    @Getter
+    private final double retryRatio;
+    @Getter
+    private final int maxTokens;
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    
+    /**
+     * @param retryRatio Tokens earned per successful first attempt, e.g. 0.1 for one retry per ten sends
+     * @param maxTokens  Bucket size; the bucket starts full so a cold start can still retry
+     */
+    public RetryBudget(double retryRatio, int maxTokens) {
+        if (retryRatio < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("retryRatio must be >= 0 and maxTokens >= 1");
+        }
+        this.retryRatio = retryRatio;
+        this.maxTokens = maxTokens;
+        this.deposit = Math.round(retryRatio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+    
+    /** Default budget: retries capped at 10% of successful sends, bursts of up to 10 retries. */
+    public static RetryBudget defaultBudget() {
+        return new RetryBudget(0.1, 10);
+    }
+    
+    /** Credits the bucket for a notification that succeeded on its first attempt. */
+    public void recordFirstAttemptSuccess() {
+        if (deposit == 0) {
+            return;
+        }
+        balance.accumulateAndGet(deposit, (current, add) -> Math.min(capacity, current + add));
+    }
+    
+    /**
+     * Takes one token for a retry.
+     * 
+     * @return true if the retry may proceed, false if the budget is exhausted
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        granted.increment();
+        return true;
+    }
+    
+    /** Retries currently available. */
+    public double getAvailableTokens() {
+        return balance.get() / (double) SCALE;
+    }
+    
+    /** Retries allowed since creation. */
+    public long getGrantedCount() {
+        return granted.sum();
+    }
+    
+    /** Retries refused because the budget was exhausted, since creation. */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+}
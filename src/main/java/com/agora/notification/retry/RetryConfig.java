@@ -6,6 +6,7 @@ import lombok.Getter;
 /**
  * Retry parameters: max attempts, initial/max delay, backoff multiplier, and whether to retry on failure.
  * Valid when maxAttempts > 0, delays >= 0, maxDelayMs >= initialDelayMs, backoffMultiplier > 0.
+ * jitter selects how delays are randomised (see {@link RetryPolicy#from}); unset means NONE.
  */
 @Getter
 @Builder
@@ -15,6 +16,7 @@ public class RetryConfig {
     private final long maxDelayMs;
     private final double backoffMultiplier;
     private final boolean retryOnFailure;
+    private final JitterStrategy jitter;
 
     /** Default: 3 attempts, 1s initial delay, 10s max delay, 2.0 multiplier, retry on failure. */
     public static RetryConfig defaultConfig() {
@@ -1,70 +1,116 @@
 package com.agora.notification.retry;
 
 import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.exceptions.DeadlineExceededException;
 import com.agora.notification.exceptions.ProviderException;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.monitoring.ProviderCallEvent;
+import com.agora.notification.monitoring.RetryBackoffEvent;
+import com.agora.notification.monitoring.RetryBudgetExhaustedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /** 
  * Runs provider.send() with retries; uses the configured policy for shouldRetry and delay. 
  * Returns the last result or rethrows ProviderException when retries are exhausted. 
+ * 
+ * {@link #executeWithRetryAsync} does the same over provider.sendAsync() without sleeping:
+ * the next attempt is scheduled after the backoff delay on the async executor (the common pool
+ * by default), so a non-blocking provider never holds a thread between attempts. 
+ * 
+ * With a {@link RetryBudget}, every retry must take a token from the budget; when none is left
+ * the send fails fast with its last result or exception, as if retries were exhausted. 
+ * 
+ * A request with a deadline is not attempted once it has passed, and no backoff is waited that
+ * would end after it: the send completes with an EXPIRED result instead, without spending retry
+ * budget. A provider call cut short by the deadline ({@link DeadlineExceededException}) also
+ * completes as EXPIRED. 
+ * 
+ * Cancelling the future returned by executeWithRetryAsync stops further attempts; interrupting
+ * the thread of executeWithRetry ends its backoff wait. 
  */
 @Slf4j
 @RequiredArgsConstructor
 public class RetryExecutor {
 
     private final RetryPolicy retryPolicy;
+    private final Executor asyncExecutor;
+    private final RetryBudget retryBudget;
+
+    public RetryExecutor(RetryPolicy retryPolicy) {
+        this(retryPolicy, ForkJoinPool.commonPool(), null);
+    }
+
+    public RetryExecutor(RetryPolicy retryPolicy, Executor asyncExecutor) {
+        this(retryPolicy, asyncExecutor, null);
+    }
+
+    public RetryExecutor(RetryPolicy retryPolicy, RetryBudget retryBudget) {
+        this(retryPolicy, ForkJoinPool.commonPool(), retryBudget);
+    }
 
     /** Sends via the provider, retrying on failure until success or max attempts. */
     public NotificationResult executeWithRetry(NotificationProvider provider, NotificationRequest request) {
         int attemptNumber = 1;
+        long previousDelayMs = 0;
         NotificationResult lastResult = null;
         
         while (attemptNumber <= retryPolicy.getMaxAttempts()) {
+            NotificationResult expired = expireIfDue(provider, request, attemptNumber - 1, 0);
+            if (expired != null) {
+                return expired;
+            }
+            ProviderCallEvent callEvent = new ProviderCallEvent();
+            boolean called = false;
             try {
                 log.debug("Attempt {} of {} to send notification via {}", 
                     attemptNumber, retryPolicy.getMaxAttempts(), provider.getName());
                 
+                callEvent.begin();
                 NotificationResult result = provider.send(request);
+                called = true;
+                callEvent.complete(request, provider.getName(), attemptNumber, result);
                 
                 // Update result with attempt number
-                lastResult = NotificationResult.builder()
-                    .success(result.isSuccess())
-                    .status(result.getStatus())
-                    .message(result.getMessage())
-                    .providerName(result.getProviderName())
-                    .timestamp(result.getTimestamp())
-                    .errorDetails(result.getErrorDetails())
-                    .attemptNumber(attemptNumber)
-                    .build();
+                lastResult = withAttemptNumber(result, attemptNumber);
                 
                 // If successful, return immediately
                 if (result.isSuccess()) {
                     log.info("Notification sent successfully on attempt {}", attemptNumber);
+                    recordSuccess(attemptNumber);
                     return lastResult;
                 }
                 
                 // Check if we should retry
                 if (!retryPolicy.shouldRetry(lastResult, attemptNumber)) {
-                    log.warn("Not retrying after attempt {}: max attempts reached or retry disabled", 
+                    log.warn("Not retrying after attempt {}: max attempts reached, retry disabled or non-retryable error", 
                         attemptNumber);
                     return lastResult;
                 }
                 
-                // Calculate delay before next retry
-                long delayMs = retryPolicy.calculateDelayMs(attemptNumber + 1);
+                // Calculate delay before next retry; a retry that would come too late spends no budget
+                long delayMs = retryPolicy.calculateDelayMs(attemptNumber + 1, previousDelayMs, lastResult);
+                previousDelayMs = delayMs;
+                expired = expireIfDue(provider, request, attemptNumber, delayMs);
+                if (expired != null) {
+                    return expired;
+                }
+                if (!acquireRetry(provider, request, attemptNumber + 1)) {
+                    return lastResult;
+                }
                 if (delayMs > 0) {
                     log.info("Waiting {}ms before retry attempt {}", delayMs, attemptNumber + 1);
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(delayMs);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
+                    if (!backoff(provider, request, attemptNumber + 1, delayMs)) {
                         log.warn("Retry delay interrupted");
                         return createFailureResult(provider.getName(), attemptNumber, 
                             "Retry interrupted");
@@ -73,10 +119,15 @@ public class RetryExecutor {
                 
                 attemptNumber++;
                 
+            } catch (DeadlineExceededException e) {
+                callEvent.fail(request, provider.getName(), attemptNumber, e);
+                log.info("Deadline reached during attempt {} via {}, dropping notification", attemptNumber, provider.getName());
+                return NotificationResult.expired(provider.getName(), attemptNumber);
             } catch (ProviderException e) {
-                log.warn("Provider exception on attempt {}: {}", attemptNumber, e.getMessage());
+                callEvent.fail(request, provider.getName(), attemptNumber, e);
+                log.warn("Provider exception on attempt {} ({}): {}", attemptNumber, e.getCategory(), e.getMessage());
                 
-                lastResult = createFailureResult(provider.getName(), attemptNumber, e.getMessage());
+                lastResult = createFailureResult(provider.getName(), attemptNumber, e);
                 
                 // Check if we should retry
                 if (!retryPolicy.shouldRetry(lastResult, attemptNumber)) {
@@ -85,20 +136,31 @@ public class RetryExecutor {
                 }
                 
                 // Calculate delay before next retry
-                long delayMs = retryPolicy.calculateDelayMs(attemptNumber + 1);
+                long delayMs = retryPolicy.calculateDelayMs(attemptNumber + 1, previousDelayMs, lastResult);
+                previousDelayMs = delayMs;
+                expired = expireIfDue(provider, request, attemptNumber, delayMs);
+                if (expired != null) {
+                    return expired;
+                }
+                if (!acquireRetry(provider, request, attemptNumber + 1)) {
+                    throw e;
+                }
                 if (delayMs > 0) {
                     log.info("Waiting {}ms before retry attempt {} after exception", 
                         delayMs, attemptNumber + 1);
-                    try {
-                        TimeUnit.MILLISECONDS.sleep(delayMs);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
+                    if (!backoff(provider, request, attemptNumber + 1, delayMs)) {
                         log.warn("Retry delay interrupted");
                         throw e; // Re-throw original exception
                     }
                 }
                 
                 attemptNumber++;
+            } catch (RuntimeException e) {
+                // Not a provider failure we know how to retry, but the attempt is still recorded
+                if (!called) {
+                    callEvent.fail(request, provider.getName(), attemptNumber, e);
+                }
+                throw e;
             }
         }
         
@@ -108,6 +170,192 @@ public class RetryExecutor {
             createFailureResult(provider.getName(), attemptNumber, "All retry attempts exhausted");
     }
     
+    /**
+     * Sends via provider.sendAsync(), retrying on failure until success or max attempts.
+     * Same semantics as {@link #executeWithRetry}: the future completes with the last result, or
+     * exceptionally with the last ProviderException when retries are exhausted.
+     */
+    public CompletableFuture<NotificationResult> executeWithRetryAsync(NotificationProvider provider,
+                                                                       NotificationRequest request) {
+        CompletableFuture<NotificationResult> outcome = new CompletableFuture<>();
+        attemptAsync(provider, request, 1, 0, outcome);
+        return outcome;
+    }
+    
+    private void attemptAsync(NotificationProvider provider, NotificationRequest request, int attemptNumber,
+                              long previousDelayMs, CompletableFuture<NotificationResult> outcome) {
+        if (outcome.isDone()) {
+            // Cancelled by the caller: make no further attempts
+            log.debug("Send via {} cancelled before attempt {}", provider.getName(), attemptNumber);
+            return;
+        }
+        NotificationResult expired = expireIfDue(provider, request, attemptNumber - 1, 0);
+        if (expired != null) {
+            outcome.complete(expired);
+            return;
+        }
+        log.debug("Async attempt {} of {} to send notification via {}", 
+            attemptNumber, retryPolicy.getMaxAttempts(), provider.getName());
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        CompletableFuture<NotificationResult> call;
+        try {
+            call = provider.sendAsync(request);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((result, error) -> {
+            try {
+                onAttemptComplete(provider, request, attemptNumber, previousDelayMs, callEvent, result, error, outcome);
+            } catch (RuntimeException e) {
+                // E.g. a null result or a throwing policy: fail the send rather than leave it pending forever
+                log.error("Error handling attempt {} via {}: {}", attemptNumber, provider.getName(), e.getMessage(), e);
+                outcome.completeExceptionally(e);
+            }
+        });
+    }
+    
+    private void onAttemptComplete(NotificationProvider provider, NotificationRequest request, int attemptNumber,
+                                   long previousDelayMs, ProviderCallEvent callEvent, NotificationResult result,
+                                   Throwable error, CompletableFuture<NotificationResult> outcome) {
+        if (error == null) {
+            callEvent.complete(request, provider.getName(), attemptNumber, result);
+            NotificationResult numbered = withAttemptNumber(result, attemptNumber);
+            if (result.isSuccess()) {
+                log.info("Notification sent successfully on attempt {}", attemptNumber);
+                recordSuccess(attemptNumber);
+                outcome.complete(numbered);
+            } else if (!retryPolicy.shouldRetry(numbered, attemptNumber)) {
+                log.warn("Not retrying after attempt {}: max attempts reached, retry disabled or non-retryable error", 
+                    attemptNumber);
+                outcome.complete(numbered);
+            } else {
+                scheduleAsyncRetry(provider, request, attemptNumber, previousDelayMs, numbered, null, outcome);
+            }
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        callEvent.fail(request, provider.getName(), attemptNumber, cause);
+        if (cause instanceof DeadlineExceededException) {
+            log.info("Deadline reached during attempt {} via {}, dropping notification", attemptNumber, provider.getName());
+            outcome.complete(NotificationResult.expired(provider.getName(), attemptNumber));
+            return;
+        }
+        if (!(cause instanceof ProviderException providerError)) {
+            outcome.completeExceptionally(cause);
+            return;
+        }
+        log.warn("Provider exception on attempt {} ({}): {}", 
+            attemptNumber, providerError.getCategory(), cause.getMessage());
+        NotificationResult failure = createFailureResult(provider.getName(), attemptNumber, providerError);
+        if (!retryPolicy.shouldRetry(failure, attemptNumber)) {
+            log.error("Failed to send notification after {} attempts", attemptNumber);
+            outcome.completeExceptionally(providerError);
+            return;
+        }
+        scheduleAsyncRetry(provider, request, attemptNumber, previousDelayMs, failure, providerError, outcome);
+    }
+    
+    /** Schedules the next attempt, or ends the send with lastError (if set) or lastResult when the budget is spent. */
+    private void scheduleAsyncRetry(NotificationProvider provider, NotificationRequest request, int attemptNumber,
+                                    long previousDelayMs, NotificationResult lastResult, ProviderException lastError,
+                                    CompletableFuture<NotificationResult> outcome) {
+        int nextAttempt = attemptNumber + 1;
+        long delayMs = retryPolicy.calculateDelayMs(nextAttempt, previousDelayMs, lastResult);
+        NotificationResult expired = expireIfDue(provider, request, attemptNumber, delayMs);
+        if (expired != null) {
+            outcome.complete(expired);
+            return;
+        }
+        if (!acquireRetry(provider, request, nextAttempt)) {
+            if (lastError != null) {
+                outcome.completeExceptionally(lastError);
+            } else {
+                outcome.complete(lastResult);
+            }
+            return;
+        }
+        if (delayMs <= 0) {
+            attemptAsync(provider, request, nextAttempt, delayMs, outcome);
+            return;
+        }
+        log.info("Scheduling retry attempt {} in {}ms", nextAttempt, delayMs);
+        RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+        backoffEvent.begin();
+        String channel = request.getChannel() != null ? request.getChannel().name() : null;
+        Executor delayed = CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS, asyncExecutor);
+        try {
+            delayed.execute(() -> {
+                try {
+                    backoffEvent.complete(channel, provider.getName(), nextAttempt, delayMs, "COMPLETED");
+                    attemptAsync(provider, request, nextAttempt, delayMs, outcome);
+                } catch (RuntimeException e) {
+                    log.error("Error starting retry attempt {} via {}: {}", nextAttempt, provider.getName(), e.getMessage(), e);
+                    outcome.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            outcome.completeExceptionally(e);
+        }
+    }
+    
+    /** Returns an EXPIRED result if the request's deadline passes before the next attempt could start, null otherwise. */
+    private NotificationResult expireIfDue(NotificationProvider provider, NotificationRequest request, 
+                                           int attemptsMade, long delayMs) {
+        if (!request.isExpiredAt(Instant.now().plusMillis(delayMs))) {
+            return null;
+        }
+        log.info("Deadline passes before attempt {} via {}, dropping notification", attemptsMade + 1, provider.getName());
+        return NotificationResult.expired(provider.getName(), attemptsMade);
+    }
+    
+    private void recordSuccess(int attemptNumber) {
+        if (retryBudget != null && attemptNumber == 1) {
+            retryBudget.recordFirstAttemptSuccess();
+        }
+    }
+    
+    /** Takes a retry token from the budget, if any; false when the budget is exhausted. */
+    private boolean acquireRetry(NotificationProvider provider, NotificationRequest request, int nextAttempt) {
+        if (retryBudget == null || retryBudget.tryAcquire()) {
+            return true;
+        }
+        log.warn("Retry budget exhausted, not retrying attempt {} via {}", nextAttempt, provider.getName());
+        String channel = request.getChannel() != null ? request.getChannel().name() : null;
+        RetryBudgetExhaustedEvent.emit(channel, provider.getName(), nextAttempt, retryBudget.getExhaustedCount());
+        return false;
+    }
+    
+    /** Sleeps for the backoff delay; returns false (with the interrupt flag restored) if interrupted. */
+    private boolean backoff(NotificationProvider provider, NotificationRequest request, int nextAttempt, long delayMs) {
+        RetryBackoffEvent backoffEvent = new RetryBackoffEvent();
+        backoffEvent.begin();
+        String channel = request.getChannel() != null ? request.getChannel().name() : null;
+        try {
+            TimeUnit.MILLISECONDS.sleep(delayMs);
+            backoffEvent.complete(channel, provider.getName(), nextAttempt, delayMs, "COMPLETED");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            backoffEvent.complete(channel, provider.getName(), nextAttempt, delayMs, "INTERRUPTED");
+            return false;
+        }
+    }
+    
+    private NotificationResult withAttemptNumber(NotificationResult result, int attemptNumber) {
+        return result.toBuilder()
+            .attemptNumber(attemptNumber)
+            .build();
+    }
+    
+    private NotificationResult createFailureResult(String providerName, int attemptNumber, ProviderException e) {
+        return createFailureResult(providerName, attemptNumber, e.getMessage()).toBuilder()
+            .errorCategory(e.getCategory())
+            .retryAfter(e.getRetryAfter())
+            .build();
+    }
+    
     private NotificationResult createFailureResult(String providerName, int attemptNumber, String errorDetails) {
         return NotificationResult.builder()
             .success(false)
@@ -13,5 +13,37 @@ public interface RetryPolicy {
     /** Delay in ms before the next attempt; attempt number is 1-based (0 before first attempt). */
     long calculateDelayMs(int attemptNumber);
 
+    /**
+     * Delay in ms before the next attempt after the given failed result. Defaults to the backoff
+     * delay, extended to the provider's Retry-After hint when that is longer.
+     */
+    default long calculateDelayMs(int attemptNumber, NotificationResult lastResult) {
+        long delayMs = calculateDelayMs(attemptNumber);
+        if (lastResult != null && lastResult.getRetryAfter() != null) {
+            return Math.max(delayMs, lastResult.getRetryAfter().toMillis());
+        }
+        return delayMs;
+    }
+
+    /**
+     * Delay in ms before the next attempt, given the delay used before the previous attempt
+     * (0 before the first retry). Only policies whose delays depend on their own history, such as
+     * {@link DecorrelatedJitterBackoffRetry}, need to override this.
+     */
+    default long calculateDelayMs(int attemptNumber, long previousDelayMs, NotificationResult lastResult) {
+        return calculateDelayMs(attemptNumber, lastResult);
+    }
+
+    /** Creates the policy selected by {@link RetryConfig#getJitter()} (plain exponential backoff if unset). */
+    static RetryPolicy from(RetryConfig config) {
+        JitterStrategy jitter = config.getJitter() != null ? config.getJitter() : JitterStrategy.NONE;
+        return switch (jitter) {
+            case FULL -> new FullJitterBackoffRetry(config);
+            case EQUAL -> new EqualJitterBackoffRetry(config);
+            case DECORRELATED -> new DecorrelatedJitterBackoffRetry(config);
+            case NONE -> new ExponentialBackoffRetry(config);
+        };
+    }
+
     int getMaxAttempts();
 }
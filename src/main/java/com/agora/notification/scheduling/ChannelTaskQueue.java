@@ -0,0 +1,133 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.models.Channel;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Gives every channel on a shared bulkhead its own queue, so an ordering meant for one channel
+ * (e.g. the {@link DomainTaskQueue} for EMAIL) does not swallow the others. Channels with queued
+ * work take turns starting one task each, a channel whose queue holds its tasks back is skipped,
+ * and when the scheduler's queue is full the channel with the longest backlog gives way.
+ */
+public class ChannelTaskQueue implements TaskQueue {
+
+    private final Function<Channel, TaskQueue> queueFactory;
+    private final Map<Channel, TaskQueue> queues = new EnumMap<>(Channel.class);
+    private final Deque<Channel> active = new ArrayDeque<>();
+    private long nanosUntilReady;
+
+    /** @param queueFactory Creates the queue for a channel, once, on its first task */
+    public ChannelTaskQueue(Function<Channel, TaskQueue> queueFactory) {
+        this.queueFactory = queueFactory;
+    }
+
+    @Override
+    public void add(NotificationTask task) {
+        Channel channel = task.getRequest().getChannel();
+        TaskQueue queue = queues.computeIfAbsent(channel, queueFactory);
+        if (queue.size() == 0) {
+            active.addLast(channel);
+        }
+        queue.add(task);
+    }
+
+    @Override
+    public NotificationTask poll() {
+        long wait = Long.MAX_VALUE;
+        for (int visited = 0, n = active.size(); visited < n; visited++) {
+            Channel channel = active.pollFirst();
+            TaskQueue queue = queues.get(channel);
+            NotificationTask task = queue.poll();
+            if (queue.size() > 0) {
+                active.addLast(channel);
+            }
+            if (task != null) {
+                nanosUntilReady = 0;
+                return task;
+            }
+            long queueWait = queue.nanosUntilReady();
+            if (queueWait > 0) {
+                wait = Math.min(wait, queueWait);
+            }
+        }
+        nanosUntilReady = wait == Long.MAX_VALUE ? 0 : wait;
+        return null;
+    }
+
+    @Override
+    public boolean remove(NotificationTask task) {
+        Channel channel = task.getRequest().getChannel();
+        TaskQueue queue = queues.get(channel);
+        if (queue == null || !queue.remove(task)) {
+            return false;
+        }
+        emptied(channel, queue);
+        return true;
+    }
+
+    /** Enforces the arriving task's channel queue's own bounds before the shared one. */
+    @Override
+    public NotificationTask overflow(NotificationTask arriving, int maxQueued) {
+        Channel channel = arriving.getRequest().getChannel();
+        TaskQueue queue = queues.get(channel);
+        NotificationTask victim = queue != null ? queue.overflow(arriving, Integer.MAX_VALUE) : null;
+        if (victim != null) {
+            emptied(channel, queue);
+            return victim;
+        }
+        return TaskQueue.super.overflow(arriving, maxQueued);
+    }
+
+    /** Evicts from the channel with the most queued tasks. */
+    @Override
+    public NotificationTask evict() {
+        Channel longest = null;
+        for (Channel channel : active) {
+            if (longest == null || queues.get(channel).size() > queues.get(longest).size()) {
+                longest = channel;
+            }
+        }
+        if (longest == null) {
+            return null;
+        }
+        TaskQueue queue = queues.get(longest);
+        NotificationTask victim = queue.evict();
+        if (victim != null) {
+            emptied(longest, queue);
+        }
+        return victim;
+    }
+
+    @Override
+    public void completed(NotificationTask task) {
+        TaskQueue queue = queues.get(task.getRequest().getChannel());
+        if (queue != null) {
+            queue.completed(task);
+        }
+    }
+
+    @Override
+    public long nanosUntilReady() {
+        return nanosUntilReady;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (TaskQueue queue : queues.values()) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private void emptied(Channel channel, TaskQueue queue) {
+        if (queue.size() == 0) {
+            active.remove(channel);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.DomainThrottleConfig;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per recipient domain, shared by the {@link DomainTaskQueue}s of one scheduler (e.g.
+ * one per tenant lane), so a domain's rate holds however its sends are split across queues.
+ * 
+ * Like the queues, it is only used under the scheduler's lock. Buckets of idle domains are kept
+ * until they have refilled, so a domain going quiet does not reset its rate.
+ */
+public final class DomainBuckets {
+
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private final Map<String, DomainThrottleConfig> configs;
+    private final DomainThrottleConfig defaults;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    public DomainBuckets(Map<String, DomainThrottleConfig> configs, DomainThrottleConfig defaults,
+                         LongSupplier nanoClock) {
+        Map<String, DomainThrottleConfig> normalized = new HashMap<>();
+        configs.forEach((domain, config) -> normalized.put(domain.toLowerCase(Locale.ROOT), config));
+        this.configs = normalized;
+        this.defaults = defaults;
+        this.nanoClock = nanoClock;
+    }
+
+    long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /** The domain's queue bound, 0 if unbounded. */
+    int maxQueued(String domain) {
+        DomainThrottleConfig config = configs.getOrDefault(domain, defaults);
+        return config == null ? 0 : config.getMaxQueued();
+    }
+
+    /** 0 if the domain may start a send now (refilling first), else the nanoseconds until it may. */
+    long nanosUntilToken(String domain, long now) {
+        return bucket(domain, now).nanosUntilToken(now);
+    }
+
+    void takeToken(String domain) {
+        Bucket bucket = buckets.get(domain);
+        if (bucket != null) {
+            bucket.takeToken();
+        }
+    }
+
+    /** Starts tracking the domain, so its bucket is kept while it has queued work. */
+    void track(String domain) {
+        bucket(domain, nanoClock.getAsLong());
+    }
+
+    /** Domains currently tracked, busy or refilling. */
+    int size() {
+        return buckets.size();
+    }
+
+    private Bucket bucket(String domain, long now) {
+        Bucket bucket = buckets.get(domain);
+        if (bucket == null) {
+            if (buckets.size() >= SWEEP_THRESHOLD) {
+                // A full bucket is the same as a fresh one, so dropping it loses nothing
+                buckets.values().removeIf(idle -> idle.isFull(now));
+            }
+            bucket = new Bucket(configs.getOrDefault(domain, defaults), now);
+            buckets.put(domain, bucket);
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private final double tokensPerNano;
+        private final double burst;
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(DomainThrottleConfig config, long now) {
+            this.tokensPerNano = config == null ? 0 : config.getRatePerSecond() / 1e9;
+            this.burst = config == null ? 0 : config.getBurst();
+            this.tokens = burst;
+            this.refilledAt = now;
+        }
+
+        private long nanosUntilToken(long now) {
+            if (tokensPerNano == 0) {
+                return 0;
+            }
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+
+        private void takeToken() {
+            if (tokensPerNano != 0) {
+                tokens--;
+            }
+        }
+
+        private boolean isFull(long now) {
+            return tokensPerNano == 0 || tokens + (now - refilledAt) * tokensPerNano >= burst;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Paces EMAIL sends per recipient domain: every domain with queued work gets its own lane and token
+ * bucket, and lanes take turns starting one task each, skipping domains whose bucket is empty. A
+ * throttled gmail.com backlog therefore waits on its own rate without holding up outlook.com.
+ * 
+ * The domain is extracted once when a task is added. Non-EMAIL tasks share one unthrottled lane.
+ * When every waiting task is throttled, {@link #nanosUntilReady()} tells the scheduler when to poll
+ * again. The buckets live in {@link DomainBuckets}, which several queues (e.g. one per tenant lane
+ * of a {@link FairTaskQueue}) may share so each domain keeps a single rate.
+ * 
+ * A domain's queued tasks are bounded by its maxQueued, if set, and when the scheduler's queue is
+ * full the domain with the longest backlog gives way; either way a flooded domain sheds its own
+ * tasks and sends to other domains are still accepted.
+ */
+public class DomainTaskQueue implements TaskQueue {
+
+    private static final String UNTHROTTLED = "";
+
+    private final DomainBuckets buckets;
+    private final Supplier<TaskQueue> laneFactory;
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Map<NotificationTask, Lane> laneOf = new IdentityHashMap<>();
+    private final Deque<Lane> active = new ArrayDeque<>();
+    private long nanosUntilReady;
+
+    public DomainTaskQueue(Map<String, DomainThrottleConfig> configs, DomainThrottleConfig defaults) {
+        this(configs, defaults, FifoTaskQueue::new, System::nanoTime);
+    }
+
+    public DomainTaskQueue(Map<String, DomainThrottleConfig> configs, DomainThrottleConfig defaults,
+                           Supplier<TaskQueue> laneFactory, LongSupplier nanoClock) {
+        this(new DomainBuckets(configs, defaults, nanoClock), laneFactory);
+    }
+
+    public DomainTaskQueue(DomainBuckets buckets, Supplier<TaskQueue> laneFactory) {
+        this.buckets = buckets;
+        this.laneFactory = laneFactory;
+    }
+
+    @Override
+    public void add(NotificationTask task) {
+        String domain = domainOf(task.getRequest());
+        Lane lane = lanes.get(domain);
+        if (lane == null) {
+            boolean throttled = !UNTHROTTLED.equals(domain);
+            if (throttled) {
+                buckets.track(domain);
+            }
+            lane = new Lane(domain, throttled ? buckets.maxQueued(domain) : 0, laneFactory.get());
+            lanes.put(domain, lane);
+            active.addLast(lane);
+        }
+        lane.tasks.add(task);
+        laneOf.put(task, lane);
+    }
+
+    @Override
+    public NotificationTask poll() {
+        long now = buckets.now();
+        long wait = Long.MAX_VALUE;
+        for (int visited = 0, n = active.size(); visited < n; visited++) {
+            Lane lane = active.pollFirst();
+            long laneWait = lane.throttled() ? buckets.nanosUntilToken(lane.domain, now) : 0;
+            if (laneWait > 0) {
+                wait = Math.min(wait, laneWait);
+                active.addLast(lane);
+                continue;
+            }
+            if (lane.throttled()) {
+                buckets.takeToken(lane.domain);
+            }
+            NotificationTask task = lane.tasks.poll();
+            laneOf.remove(task);
+            if (lane.tasks.size() > 0) {
+                active.addLast(lane);
+            } else {
+                lanes.remove(lane.domain);
+            }
+            nanosUntilReady = 0;
+            return task;
+        }
+        nanosUntilReady = active.isEmpty() ? 0 : wait;
+        return null;
+    }
+
+    @Override
+    public boolean remove(NotificationTask task) {
+        Lane lane = laneOf.remove(task);
+        if (lane == null || !lane.tasks.remove(task)) {
+            return false;
+        }
+        emptied(lane);
+        return true;
+    }
+
+    @Override
+    public NotificationTask overflow(NotificationTask arriving, int maxQueued) {
+        Lane lane = laneOf.get(arriving);
+        if (lane != null && lane.maxQueued > 0 && lane.tasks.size() > lane.maxQueued) {
+            NotificationTask victim = evictFrom(lane);
+            if (victim != null) {
+                return victim;
+            }
+        }
+        return TaskQueue.super.overflow(arriving, maxQueued);
+    }
+
+    /** Evicts from the domain with the most queued tasks. */
+    @Override
+    public NotificationTask evict() {
+        Lane longest = null;
+        for (Lane lane : active) {
+            if (longest == null || lane.tasks.size() > longest.tasks.size()) {
+                longest = lane;
+            }
+        }
+        return longest != null ? evictFrom(longest) : null;
+    }
+
+    @Override
+    public long nanosUntilReady() {
+        return nanosUntilReady;
+    }
+
+    @Override
+    public int size() {
+        return laneOf.size();
+    }
+
+    /** Domains currently tracked, busy or refilling. */
+    int domainCount() {
+        return buckets.size();
+    }
+
+    private NotificationTask evictFrom(Lane lane) {
+        NotificationTask victim = lane.tasks.evict();
+        if (victim != null) {
+            laneOf.remove(victim);
+            emptied(lane);
+        }
+        return victim;
+    }
+
+    private void emptied(Lane lane) {
+        if (lane.tasks.size() == 0) {
+            active.remove(lane);
+            lanes.remove(lane.domain);
+        }
+    }
+
+    private static String domainOf(NotificationRequest request) {
+        String recipient = request.getRecipient();
+        if (request.getChannel() != Channel.EMAIL || recipient == null) {
+            return UNTHROTTLED;
+        }
+        int at = recipient.lastIndexOf('@');
+        return at < 0 ? UNTHROTTLED : recipient.substring(at + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Lane {
+        private final String domain;
+        private final int maxQueued;
+        private final TaskQueue tasks;
+
+        private Lane(String domain, int maxQueued, TaskQueue tasks) {
+            this.domain = domain;
+            this.maxQueued = maxQueued;
+            this.tasks = tasks;
+        }
+
+        private boolean throttled() {
+            return !UNTHROTTLED.equals(domain);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.TenantConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Deficit round robin across tenants: every tenant with queued work gets its own lane, and lanes
+ * take turns, each starting up to its weight in tasks per turn. A tenant that submits a large batch
+ * therefore only delays others by its share, not by the length of its backlog.
+ * 
+ * A tenant already at its maxConcurrent is skipped until one of its sends completes, leaving the
+ * slot to others. Within a lane, tasks are ordered by the queue the factory creates (FIFO or
+ * {@link PriorityTaskQueue}, or a {@link DomainTaskQueue} that paces the tenant's EMAIL). A lane whose
+ * queue holds its tasks back is skipped like one at its cap. Every task costs one unit of deficit.
+ * When the scheduler's queue is full, the tenant with the longest backlog gives way.
+ */
+public class FairTaskQueue implements TaskQueue {
+
+    private final Map<String, TenantConfig> configs;
+    private final TenantConfig defaults;
+    private final Supplier<TaskQueue> laneFactory;
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Deque<Lane> active = new ArrayDeque<>();
+    private int size;
+    private long nanosUntilReady;
+
+    public FairTaskQueue(Map<String, TenantConfig> configs, TenantConfig defaults) {
+        this(configs, defaults, FifoTaskQueue::new);
+    }
+
+    public FairTaskQueue(Map<String, TenantConfig> configs, TenantConfig defaults,
+                         Supplier<TaskQueue> laneFactory) {
+        this.configs = Map.copyOf(configs);
+        this.defaults = defaults;
+        this.laneFactory = laneFactory;
+    }
+
+    @Override
+    public void add(NotificationTask task) {
+        Lane lane = lanes.computeIfAbsent(task.getRequest().getTenant(), this::newLane);
+        if (lane.tasks.size() == 0) {
+            active.addLast(lane);
+        }
+        lane.tasks.add(task);
+        size++;
+    }
+
+    @Override
+    public NotificationTask poll() {
+        long wait = Long.MAX_VALUE;
+        for (int visited = 0, n = active.size(); visited < n; visited++) {
+            Lane lane = active.peekFirst();
+            if (lane.atCap()) {
+                // Skipping forfeits the rest of the turn, as if the lane were idle
+                lane.deficit = 0;
+                active.addLast(active.pollFirst());
+                continue;
+            }
+            NotificationTask task = lane.tasks.poll();
+            if (task == null) {
+                // The lane's own queue holds its tasks back (e.g. throttled domains); so does the turn
+                long laneWait = lane.tasks.nanosUntilReady();
+                if (laneWait > 0) {
+                    wait = Math.min(wait, laneWait);
+                }
+                lane.deficit = 0;
+                active.addLast(active.pollFirst());
+                continue;
+            }
+            if (lane.deficit <= 0) {
+                lane.deficit += lane.weight;
+            }
+            lane.deficit--;
+            lane.inFlight++;
+            size--;
+            if (lane.tasks.size() == 0) {
+                lane.deficit = 0;
+                active.pollFirst();
+            } else if (lane.deficit <= 0) {
+                active.addLast(active.pollFirst());
+            }
+            nanosUntilReady = 0;
+            return task;
+        }
+        nanosUntilReady = wait == Long.MAX_VALUE ? 0 : wait;
+        return null;
+    }
+
+    @Override
+    public boolean remove(NotificationTask task) {
+        Lane lane = lanes.get(task.getRequest().getTenant());
+        if (lane == null || !lane.tasks.remove(task)) {
+            return false;
+        }
+        removed(lane);
+        return true;
+    }
+
+    /** Enforces the arriving task's tenant lane's own bounds (e.g. per domain) before the shared one. */
+    @Override
+    public NotificationTask overflow(NotificationTask arriving, int maxQueued) {
+        Lane lane = lanes.get(arriving.getRequest().getTenant());
+        NotificationTask victim = lane != null ? lane.tasks.overflow(arriving, Integer.MAX_VALUE) : null;
+        if (victim != null) {
+            removed(lane);
+            return victim;
+        }
+        return TaskQueue.super.overflow(arriving, maxQueued);
+    }
+
+    /** Evicts from the tenant with the most queued tasks. */
+    @Override
+    public NotificationTask evict() {
+        Lane longest = null;
+        for (Lane lane : active) {
+            if (longest == null || lane.tasks.size() > longest.tasks.size()) {
+                longest = lane;
+            }
+        }
+        NotificationTask victim = longest != null ? longest.tasks.evict() : null;
+        if (victim != null) {
+            removed(longest);
+        }
+        return victim;
+    }
+
+    @Override
+    public void completed(NotificationTask task) {
+        Lane lane = lanes.get(task.getRequest().getTenant());
+        if (lane != null) {
+            lane.tasks.completed(task);
+            lane.inFlight--;
+            if (lane.inFlight == 0 && lane.tasks.size() == 0) {
+                lanes.remove(lane.tenant);
+            }
+        }
+    }
+
+    @Override
+    public long nanosUntilReady() {
+        return nanosUntilReady;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void removed(Lane lane) {
+        size--;
+        if (lane.tasks.size() == 0) {
+            lane.deficit = 0;
+            active.remove(lane);
+            if (lane.inFlight == 0) {
+                lanes.remove(lane.tenant);
+            }
+        }
+    }
+
+    private Lane newLane(String tenant) {
+        return new Lane(tenant, configs.getOrDefault(tenant, defaults), laneFactory.get());
+    }
+
+    private static final class Lane {
+        private final String tenant;
+        private final int weight;
+        private final int maxConcurrent;
+        private final TaskQueue tasks;
+        private int deficit;
+        private int inFlight;
+
+        private Lane(String tenant, TenantConfig config, TaskQueue tasks) {
+            this.tenant = tenant;
+            this.weight = config.getWeight();
+            this.maxConcurrent = config.getMaxConcurrent();
+            this.tasks = tasks;
+        }
+
+        private boolean atCap() {
+            return maxConcurrent > 0 && inFlight >= maxConcurrent;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.agora.notification.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/** Starts tasks in submission order, regardless of their priority. */
+public class FifoTaskQueue implements TaskQueue {
+
+    private final Deque<NotificationTask> tasks = new ArrayDeque<>();
+
+    @Override
+    public void add(NotificationTask task) {
+        tasks.add(task);
+    }
+
+    @Override
+    public NotificationTask poll() {
+        return tasks.poll();
+    }
+
+    /** The newest task. */
+    @Override
+    public NotificationTask evict() {
+        return tasks.pollLast();
+    }
+
+    @Override
+    public boolean remove(NotificationTask task) {
+        return tasks.removeLastOccurrence(task);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+}
@@ -0,0 +1,104 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A send waiting for, or holding, a slot in a {@link SendScheduler}. The action starts the send
+ * and returns its future; the task's own future completes with the same outcome.
+ * 
+ * {@link #cancel()} stops the send wherever it is: a task that has not started never runs, a
+ * blocking send has its thread interrupted (ending any retry backoff sleep), and the future of a
+ * non-blocking send is cancelled so no further retry attempts are scheduled.
+ */
+@Getter
+public class NotificationTask {
+    private final String notificationId;
+    private final NotificationRequest request;
+    private final Supplier<CompletableFuture<NotificationResult>> action;
+    private final CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+    private final long submittedNanos = System.nanoTime();
+    
+    // Guarded by this: the thread running the action, while it runs
+    @Getter(AccessLevel.NONE)
+    private Thread worker;
+    @Getter(AccessLevel.NONE)
+    private volatile CompletableFuture<NotificationResult> send;
+
+    public NotificationTask(String notificationId, NotificationRequest request,
+                            Supplier<CompletableFuture<NotificationResult>> action) {
+        this.notificationId = notificationId;
+        this.request = request;
+        this.action = action;
+    }
+
+    /**
+     * Starts the action on the calling thread, unless the task was cancelled, and completes the
+     * task's future with its outcome.
+     */
+    public void run() {
+        synchronized (this) {
+            if (future.isDone()) {
+                return;
+            }
+            worker = Thread.currentThread();
+        }
+        CompletableFuture<NotificationResult> started;
+        try {
+            started = action.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        } finally {
+            synchronized (this) {
+                worker = null;
+                if (future.isCancelled()) {
+                    // Do not leak a late cancel interrupt into the next task on this pool thread
+                    Thread.interrupted();
+                }
+            }
+        }
+        send = started;
+        if (future.isCancelled()) {
+            started.cancel(true);
+        }
+        started.whenComplete((result, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Cancels the task: its future completes with a CancellationException and the send is
+     * stopped as far as possible. A provider call already on the wire is not recalled.
+     * 
+     * @return false if the task had already completed
+     */
+    public boolean cancel() {
+        if (!future.completeExceptionally(new CancellationException("Notification " + notificationId + " cancelled"))) {
+            return false;
+        }
+        synchronized (this) {
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+        CompletableFuture<NotificationResult> started = send;
+        if (started != null) {
+            started.cancel(true);
+        }
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return future.isCancelled();
+    }
+}
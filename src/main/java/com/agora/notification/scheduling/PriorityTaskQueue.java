@@ -0,0 +1,101 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.models.Priority;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Strict-priority queue with aging: one FIFO lane per {@link Priority}, and the next task comes
+ * from the highest lane that has one, so a HIGH send never waits behind queued LOW ones.
+ * 
+ * To keep bulk traffic from starving, a task is promoted one level for every agingInterval it
+ * has waited; between lanes of the same effective level the older task goes first. Since each
+ * lane is FIFO only its head has to be looked at, so add and poll are O(1).
+ * 
+ * When the scheduler's queue is full the newest task of the lowest non-empty level is rejected, so
+ * a HIGH send arriving behind a full backlog of LOW ones displaces one of them rather than failing.
+ */
+public class PriorityTaskQueue implements TaskQueue {
+
+    private static final Priority[] LEVELS = Priority.values();
+
+    private final long agingIntervalNanos;
+    private final Deque<NotificationTask>[] lanes;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public PriorityTaskQueue(Duration agingInterval) {
+        this.agingIntervalNanos = agingInterval.toNanos();
+        this.lanes = (Deque<NotificationTask>[]) new Deque<?>[LEVELS.length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    @Override
+    public void add(NotificationTask task) {
+        lanes[task.getRequest().getPriority().ordinal()].add(task);
+        size++;
+    }
+
+    @Override
+    public NotificationTask poll() {
+        long now = System.nanoTime();
+        Deque<NotificationTask> best = null;
+        long bestLevel = Long.MAX_VALUE;
+        long bestSubmitted = 0;
+        for (int level = 0; level < lanes.length; level++) {
+            NotificationTask head = lanes[level].peek();
+            if (head == null) {
+                continue;
+            }
+            long effective = effectiveLevel(level, now - head.getSubmittedNanos());
+            if (effective < bestLevel 
+                    || (effective == bestLevel && head.getSubmittedNanos() - bestSubmitted < 0)) {
+                best = lanes[level];
+                bestLevel = effective;
+                bestSubmitted = head.getSubmittedNanos();
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+        size--;
+        return best.poll();
+    }
+
+    @Override
+    public NotificationTask evict() {
+        for (int level = lanes.length - 1; level >= 0; level--) {
+            NotificationTask newest = lanes[level].pollLast();
+            if (newest != null) {
+                size--;
+                return newest;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean remove(NotificationTask task) {
+        if (lanes[task.getRequest().getPriority().ordinal()].removeLastOccurrence(task)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private long effectiveLevel(int level, long waitedNanos) {
+        if (agingIntervalNanos <= 0) {
+            return level;
+        }
+        return Math.max(0, level - waitedNanos / agingIntervalNanos);
+    }
+}
@@ -0,0 +1,187 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.BulkheadConfig;
+import com.agora.notification.exceptions.BulkheadFullException;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead for one channel: at most maxConcurrent of its sends are in flight, up to maxQueued
+ * more wait in the {@link TaskQueue} (submission order unless another is given, e.g. a
+ * {@link PriorityTaskQueue}), and anything beyond is rejected with {@link BulkheadFullException}.
+ * The queue picks which task is rejected (see {@link TaskQueue#overflow}): a FIFO queue rejects the
+ * arriving one, a priority queue its lowest-priority task.
+ * 
+ * A slot is held until the send's future completes, not just while a worker thread runs it, so
+ * the limit also holds for non-blocking providers. Tasks run on the given executor; with an
+ * unbounded pool (as the async service uses) a saturated channel cannot take threads from others.
+ * 
+ * If the queue holds tasks back while slots are free (see {@link TaskQueue#nanosUntilReady()}), the
+ * scheduler polls it again once they may start.
+ */
+@Slf4j
+public class SendScheduler {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    @Getter
+    private final int maxQueued;
+    private final Executor executor;
+    private final TaskQueue queue;
+    private int running;
+    private boolean wakeUpScheduled;
+
+    public SendScheduler(String name, BulkheadConfig config, Executor executor) {
+        this(name, config, executor, new FifoTaskQueue());
+    }
+
+    public SendScheduler(String name, BulkheadConfig config, Executor executor, TaskQueue queue) {
+        this.name = name;
+        this.maxConcurrent = config.getMaxConcurrent();
+        this.maxQueued = config.getMaxQueued();
+        this.executor = executor;
+        this.queue = queue;
+    }
+
+    /**
+     * Starts the task now if a slot is free, queues it otherwise. The task queue decides what
+     * starts, so with a free slot a different (e.g. higher-priority) task may start instead.
+     * 
+     * @return The task's future; completed exceptionally with BulkheadFullException if the queue is
+     *         full and rejects this task (it may instead reject an already queued one)
+     */
+    public CompletableFuture<NotificationResult> submit(NotificationTask task) {
+        NotificationTask next;
+        NotificationTask rejected;
+        String reason = null;
+        synchronized (this) {
+            queue.add(task);
+            next = running < maxConcurrent ? queue.poll() : null;
+            if (next != null) {
+                running++;
+            } else if (running < maxConcurrent) {
+                scheduleWakeUp();
+            }
+            rejected = queue.overflow(task, maxQueued);
+            if (rejected != null) {
+                log.warn("Bulkhead {} full ({} running, {} queued), rejecting notification {}",
+                    name, running, queue.size(), rejected.getNotificationId());
+                reason = "Bulkhead " + name + " is full: " + running + " running, " + queue.size() + " queued";
+            }
+        }
+        if (rejected != null) {
+            // Outside the lock: the future's dependents run here
+            rejected.getFuture().completeExceptionally(new BulkheadFullException(reason));
+        }
+        if (next != null && !launch(next)) {
+            releaseAndStartNext(next);
+        }
+        return task.getFuture();
+    }
+
+    /**
+     * Removes a task that is still waiting for a slot and cancels it.
+     * 
+     * @return false if the task is not queued (already started, finished or never submitted)
+     */
+    public boolean cancel(NotificationTask task) {
+        synchronized (this) {
+            if (!queue.remove(task)) {
+                return false;
+            }
+        }
+        task.cancel();
+        return true;
+    }
+
+    /** Sends currently holding a slot. */
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /** Sends waiting for a slot. */
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private boolean launch(NotificationTask task) {
+        try {
+            executor.execute(() -> run(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            task.getFuture().completeExceptionally(e);
+            return false;
+        }
+    }
+
+    private void run(NotificationTask task) {
+        // A task cancelled after it was polled does not start but still hands on its slot
+        task.run();
+        task.getFuture().whenComplete((result, error) -> releaseAndStartNext(task));
+    }
+
+    /** Arranges a later {@link #wakeUp()} if the queue is holding tasks back. Must hold the lock. */
+    private void scheduleWakeUp() {
+        long delay = queue.nanosUntilReady();
+        if (delay <= 0 || wakeUpScheduled) {
+            return;
+        }
+        wakeUpScheduled = true;
+        try {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor).execute(this::wakeUp);
+        } catch (RejectedExecutionException e) {
+            wakeUpScheduled = false;
+            log.warn("Bulkhead {} could not schedule a wake-up: {}", name, e.getMessage());
+        }
+    }
+
+    /** Starts queued tasks that have become ready, while slots are free. */
+    private void wakeUp() {
+        while (true) {
+            NotificationTask next;
+            synchronized (this) {
+                wakeUpScheduled = false;
+                next = running < maxConcurrent ? queue.poll() : null;
+                if (next == null) {
+                    if (running < maxConcurrent) {
+                        scheduleWakeUp();
+                    }
+                    return;
+                }
+                running++;
+            }
+            if (!launch(next)) {
+                releaseAndStartNext(next);
+            }
+        }
+    }
+
+    /** Hands the finished task's slot to the next queued task, or frees it. */
+    private void releaseAndStartNext(NotificationTask finished) {
+        NotificationTask done = finished;
+        while (true) {
+            NotificationTask next;
+            synchronized (this) {
+                queue.completed(done);
+                next = queue.poll();
+                if (next == null) {
+                    running--;
+                    scheduleWakeUp();
+                    return;
+                }
+            }
+            if (launch(next)) {
+                return;
+            }
+            done = next;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.agora.notification.scheduling;
+
+/**
+ * Order in which a {@link SendScheduler} starts its waiting tasks. Implementations need not be
+ * thread-safe: the scheduler only calls them while holding its own lock.
+ */
+public interface TaskQueue {
+
+    void add(NotificationTask task);
+
+    /** Removes and returns the task to start next, or null if none is waiting. */
+    NotificationTask poll();
+
+    /** Removes a task that is still waiting; returns false if it is not in the queue. */
+    boolean remove(NotificationTask task);
+
+    /**
+     * Removes and returns the queued task that should give way first when the queue is full, e.g.
+     * the newest of the lowest priority; null if the implementation has no preference.
+     */
+    default NotificationTask evict() {
+        return null;
+    }
+
+    /**
+     * Called after {@code arriving} was added: if the queue is over its bound, removes and returns
+     * the task to reject. The default evicts by {@link #evict()} once more than maxQueued tasks wait,
+     * rejecting the arriving task if there is no preference.
+     * 
+     * @return The removed task to reject, or null if every task may stay
+     */
+    default NotificationTask overflow(NotificationTask arriving, int maxQueued) {
+        if (size() <= maxQueued) {
+            return null;
+        }
+        NotificationTask victim = evict();
+        if (victim == null && remove(arriving)) {
+            victim = arriving;
+        }
+        return victim;
+    }
+
+    /** Called when a task returned by {@link #poll()} has finished and released its slot. */
+    default void completed(NotificationTask task) {
+    }
+
+    /**
+     * When {@link #poll()} returned null although tasks are waiting (e.g. all rate limited), how long
+     * until one may start; the scheduler polls again then. 0 if nothing is held back.
+     */
+    default long nanosUntilReady() {
+        return 0;
+    }
+
+    int size();
+}
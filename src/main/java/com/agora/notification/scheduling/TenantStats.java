@@ -0,0 +1,64 @@
+package com.agora.notification.scheduling;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Send counters and latency of one tenant, measured from sendAsync() to completion so queueing
+ * behind other tenants is included. Updated without locks; reads are a consistent-enough snapshot
+ * for monitoring, not an atomic one.
+ */
+public class TenantStats {
+
+    @Getter
+    private final String tenant;
+    private final long createdNanos = System.nanoTime();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    public TenantStats(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public void recordSubmitted() {
+        submitted.increment();
+    }
+
+    public void recordCompleted(boolean success, long latencyNanos) {
+        (success ? succeeded : failed).increment();
+        totalLatencyNanos.add(latencyNanos);
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** Sends submitted but not yet completed, queued or in flight. */
+    public long getPending() {
+        return Math.max(0, getSubmitted() - getSucceeded() - getFailed());
+    }
+
+    /** Mean time from submission to completion, or 0 if nothing has completed yet. */
+    public double getAverageLatencyMs() {
+        long completed = getSucceeded() + getFailed();
+        return completed == 0 ? 0 : totalLatencyNanos.sum() / (double) completed / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Completed sends per second since the tenant's first send. */
+    public double getThroughputPerSecond() {
+        long elapsedNanos = Math.max(1, System.nanoTime() - createdNanos);
+        return (getSucceeded() + getFailed()) * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+}
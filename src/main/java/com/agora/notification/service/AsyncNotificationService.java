@@ -2,20 +2,31 @@ package com.agora.notification.service;
 
 import com.agora.notification.core.NotificationChannel;
 import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationIdGenerator;
 import com.agora.notification.core.NotificationService;
 import com.agora.notification.events.NotificationEventPublisher;
 import com.agora.notification.events.NotificationEventListener;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.monitoring.NotificationSendEvent;
+import com.agora.notification.scheduling.NotificationTask;
+import com.agora.notification.scheduling.SendScheduler;
+import com.agora.notification.scheduling.TenantStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -23,6 +34,11 @@ import java.util.stream.Collectors;
 /** 
  * Notification service that runs send() in a thread pool; sendAsync() returns a CompletableFuture. 
  * Publishes PENDING/SENT/FAILED events. Call shutdown() to release the executor. 
+ * The {@link SendPipeline} (e.g. validation) runs in the caller thread before a send is queued. 
+ * Channels with a bulkhead ({@link SendScheduler}) are limited to its concurrency and queue, so a
+ * slow channel cannot delay the others. Per-tenant send counts, latency and throughput are kept
+ * for every async send (see {@link #getTenantStats()}).
+ * Pending sends can be cancelled by ID ({@link #cancel(String)}) or by cancelling the returned future.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -31,100 +47,153 @@ public class AsyncNotificationService implements NotificationService {
     private final NotificationChannelRegistry channelRegistry;
     private final NotificationEventPublisher eventPublisher;
     private final ExecutorService executorService;
+    private final NotificationIdGenerator idGenerator;
+    private final SendPipeline pipeline;
+    private final Map<Channel, SendScheduler> bulkheads;
+    private final Map<String, TenantStats> tenantStats = new ConcurrentHashMap<>();
+    private final Map<String, NotificationTask> pending = new ConcurrentHashMap<>();
+    
+    public AsyncNotificationService(NotificationChannelRegistry channelRegistry, 
+                                   NotificationEventPublisher eventPublisher,
+                                   ExecutorService executorService,
+                                   NotificationIdGenerator idGenerator,
+                                   SendPipeline pipeline) {
+        this(channelRegistry, eventPublisher, executorService, idGenerator, pipeline, Map.of());
+    }
     
     public AsyncNotificationService(NotificationChannelRegistry channelRegistry, 
                                    NotificationEventPublisher eventPublisher) {
-        this.channelRegistry = channelRegistry;
-        this.eventPublisher = eventPublisher;
-        this.executorService = Executors.newCachedThreadPool();
+        this(channelRegistry, eventPublisher, TimeOrderedIdGenerator.getDefault());
+    }
+    
+    public AsyncNotificationService(NotificationChannelRegistry channelRegistry, 
+                                   NotificationEventPublisher eventPublisher,
+                                   NotificationIdGenerator idGenerator) {
+        this(channelRegistry, eventPublisher, idGenerator, SendPipeline.empty());
+    }
+    
+    public AsyncNotificationService(NotificationChannelRegistry channelRegistry, 
+                                   NotificationEventPublisher eventPublisher,
+                                   NotificationIdGenerator idGenerator,
+                                   SendPipeline pipeline) {
+        this(channelRegistry, eventPublisher, Executors.newCachedThreadPool(), idGenerator, pipeline);
     }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
-        String notificationId = generateNotificationId();
+        NotificationSendEvent sendEvent = new NotificationSendEvent();
+        sendEvent.begin();
+        String notificationId = resolveNotificationId(request);
         Channel channel = request.getChannel();
         
         // Publish PENDING event
         publishEvent(NotificationEvent.pending(notificationId, channel.name(), request.getRecipient()));
         
         try {
+            NotificationResult rejected = pipeline.apply(request);
+            if (rejected != null) {
+                publishResult(notificationId, rejected);
+                sendEvent.complete(notificationId, channel.name(), rejected);
+                return rejected;
+            }
+            
             NotificationChannel notificationChannel = channelRegistry.getChannel(channel);
             if (notificationChannel == null) {
                 throw new IllegalStateException("No channel configured for: " + channel);
             }
             
-            NotificationResult result = notificationChannel.send(request);
+            NotificationResult result = request.isExpired()
+                ? NotificationResult.expired(channel.name(), 0)
+                : notificationChannel.send(request);
             
             // Publish result event
-            if (result.isSuccess()) {
-                publishEvent(NotificationEvent.sent(notificationId, result));
-            } else {
-                publishEvent(NotificationEvent.failed(notificationId, result));
-            }
+            publishResult(notificationId, result);
             
+            sendEvent.complete(notificationId, channel.name(), result);
             return result;
         } catch (Exception e) {
             log.error("Error sending notification {}: {}", notificationId, e.getMessage(), e);
+            sendEvent.fail(notificationId, channel.name(), e);
             
             // Publish FAILED event
-            NotificationResult failureResult = NotificationResult.builder()
-                .success(false)
-                .status(com.agora.notification.models.NotificationStatus.FAILED)
-                .message("Error: " + e.getMessage())
-                .providerName(channel.name())
-                .timestamp(java.time.Instant.now())
-                .errorDetails(e.getMessage())
-                .attemptNumber(1)
-                .build();
-            
-            publishEvent(NotificationEvent.failed(notificationId, failureResult));
+            publishEvent(NotificationEvent.failed(notificationId, createFailureResult(channel, e)));
             throw new RuntimeException("Failed to send notification", e);
         }
     }
     
     @Override
     public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
-        String notificationId = generateNotificationId();
+        NotificationSendEvent sendEvent = new NotificationSendEvent();
+        sendEvent.begin();
+        String notificationId = resolveNotificationId(request);
         Channel channel = request.getChannel();
         
         // Publish PENDING event immediately
         publishEvent(NotificationEvent.pending(notificationId, channel.name(), request.getRecipient()));
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                NotificationChannel notificationChannel = channelRegistry.getChannel(channel);
-                if (notificationChannel == null) {
-                    throw new IllegalStateException("No channel configured for: " + channel);
-                }
-                
-                NotificationResult result = notificationChannel.send(request);
-                
-                // Publish result event
-                if (result.isSuccess()) {
-                    publishEvent(NotificationEvent.sent(notificationId, result));
-                } else {
-                    publishEvent(NotificationEvent.failed(notificationId, result));
-                }
-                
-                return result;
-            } catch (Exception e) {
-                log.error("Error sending notification {} asynchronously: {}", notificationId, e.getMessage(), e);
-                
-                // Publish FAILED event
-                NotificationResult failureResult = NotificationResult.builder()
-                    .success(false)
-                    .status(com.agora.notification.models.NotificationStatus.FAILED)
-                    .message("Error: " + e.getMessage())
-                    .providerName(channel.name())
-                    .timestamp(java.time.Instant.now())
-                    .errorDetails(e.getMessage())
-                    .attemptNumber(1)
-                    .build();
-                
-                publishEvent(NotificationEvent.failed(notificationId, failureResult));
-                throw new RuntimeException("Failed to send notification asynchronously", e);
+        // Run the pipeline in the caller thread so rejected requests never take a worker
+        try {
+            NotificationResult rejected = pipeline.apply(request);
+            if (rejected != null) {
+                publishResult(notificationId, rejected);
+                sendEvent.complete(notificationId, channel.name(), rejected);
+                return CompletableFuture.completedFuture(rejected);
             }
-        }, executorService);
+        } catch (Exception e) {
+            log.warn("Notification {} rejected before queueing: {}", notificationId, e.getMessage());
+            sendEvent.fail(notificationId, channel.name(), e);
+            publishEvent(NotificationEvent.failed(notificationId, createFailureResult(channel, e)));
+            return CompletableFuture.failedFuture(
+                new RuntimeException("Failed to send notification asynchronously", e));
+        }
+        
+        TenantStats stats = tenantStats.computeIfAbsent(request.getTenant(), TenantStats::new);
+        stats.recordSubmitted();
+        long submittedNanos = System.nanoTime();
+        
+        NotificationTask task = new NotificationTask(notificationId, request, () -> startSend(notificationId, request));
+        pending.put(notificationId, task);
+        task.getFuture().whenComplete((result, error) -> pending.remove(notificationId, task));
+        
+        // The worker only starts the send: a non-blocking provider releases it immediately,
+        // a blocking one runs to completion on it as before
+        CompletableFuture<NotificationResult> outcome = dispatch(task)
+                .handle((result, error) -> {
+                    stats.recordCompleted(error == null && result.isSuccess(), System.nanoTime() - submittedNanos);
+                    if (error == null) {
+                        // Publish result event
+                        publishResult(notificationId, result);
+                        sendEvent.complete(notificationId, channel.name(), result);
+                        return result;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    if (cause instanceof CancellationException cancelled) {
+                        log.info("Notification {} cancelled", notificationId);
+                        sendEvent.fail(notificationId, channel.name(), cause);
+                        publishEvent(NotificationEvent.cancelled(notificationId, channel.name(), request.getRecipient()));
+                        throw cancelled;
+                    }
+                    log.error("Error sending notification {} asynchronously: {}", notificationId, cause.getMessage(), cause);
+                    sendEvent.fail(notificationId, channel.name(), cause);
+                    
+                    // Publish FAILED event
+                    publishEvent(NotificationEvent.failed(notificationId, createFailureResult(channel, cause)));
+                    throw new RuntimeException("Failed to send notification asynchronously", cause);
+                });
+        // Cancelling the returned future cancels the send itself
+        outcome.whenComplete((result, error) -> {
+            if (outcome.isCancelled()) {
+                cancel(task);
+            }
+        });
+        return outcome;
+    }
+    
+    @Override
+    public boolean cancel(String notificationId) {
+        NotificationTask task = notificationId != null ? pending.get(notificationId) : null;
+        return task != null && cancel(task);
     }
 
     @Override
@@ -157,6 +226,8 @@ public class AsyncNotificationService implements NotificationService {
     
     @Override
     public void shutdown() {
+        // Before the executor stops, so that requests held back by stages are still sent
+        pipeline.shutdown();
         if (executorService != null && !executorService.isShutdown()) {
             executorService.shutdown();
             try {
@@ -173,6 +244,84 @@ public class AsyncNotificationService implements NotificationService {
             }
             log.debug("AsyncNotificationService executor shutdown");
         }
+        // After the executor, so that sends still running do not lease again
+        pipeline.release();
+    }
+    
+    /** Runs the task in the channel's bulkhead if it has one, straight on the executor otherwise. */
+    private CompletableFuture<NotificationResult> dispatch(NotificationTask task) {
+        SendScheduler bulkhead = bulkheads.get(task.getRequest().getChannel());
+        if (bulkhead != null) {
+            return bulkhead.submit(task);
+        }
+        try {
+            executorService.execute(task::run);
+        } catch (RejectedExecutionException e) {
+            task.getFuture().completeExceptionally(e);
+        }
+        return task.getFuture();
+    }
+    
+    /** Starts the send on a worker; a request whose deadline passed while it was queued expires here. */
+    private CompletableFuture<NotificationResult> startSend(String notificationId, NotificationRequest request) {
+        NotificationChannel notificationChannel = channelRegistry.getChannel(request.getChannel());
+        if (notificationChannel == null) {
+            throw new IllegalStateException("No channel configured for: " + request.getChannel());
+        }
+        if (request.isExpired()) {
+            log.info("Notification {} expired while queued", notificationId);
+            return CompletableFuture.completedFuture(NotificationResult.expired(request.getChannel().name(), 0));
+        }
+        return notificationChannel.sendAsync(request);
+    }
+    
+    private boolean cancel(NotificationTask task) {
+        SendScheduler bulkhead = bulkheads.get(task.getRequest().getChannel());
+        if (bulkhead != null && bulkhead.cancel(task)) {
+            return true;
+        }
+        return task.cancel();
+    }
+    
+    /** Returns the bulkhead of the channel, or null if the channel has none. */
+    public SendScheduler getBulkhead(Channel channel) {
+        return bulkheads.get(channel);
+    }
+    
+    /** Returns the stats of the tenant, or null if it has not sent anything yet. */
+    public TenantStats getTenantStats(String tenant) {
+        return tenantStats.get(tenant);
+    }
+    
+    /** Returns the stats of every tenant that has sent, keyed by tenant. */
+    public Map<String, TenantStats> getTenantStats() {
+        return Map.copyOf(tenantStats);
+    }
+    
+    private NotificationResult createFailureResult(Channel channel, Throwable e) {
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.FAILED)
+            .message("Error: " + e.getMessage())
+            .providerName(channel.name())
+            .timestamp(Instant.now())
+            .errorDetails(e.getMessage())
+            .attemptNumber(1)
+            .build();
+    }
+    
+    private void publishResult(String notificationId, NotificationResult result) {
+        if (result.getStatus() == NotificationStatus.DIGESTED) {
+            // Not sent yet: the merged notification publishes its own events
+            return;
+        }
+        if (result.isSuccess()) {
+            publishEvent(NotificationEvent.sent(notificationId, result));
+        } else if (result.getStatus() == NotificationStatus.EXPIRED) {
+            publishEvent(NotificationEvent.expired(notificationId, result));
+        } else {
+            publishEvent(NotificationEvent.failed(notificationId, result));
+        }
     }
     
     private void publishEvent(NotificationEvent event) {
@@ -181,7 +330,11 @@ public class AsyncNotificationService implements NotificationService {
         }
     }
     
-    private String generateNotificationId() {
-        return UUID.randomUUID().toString();
+    private String resolveNotificationId(NotificationRequest request) {
+        String requestedId = request.getNotificationId();
+        if (requestedId != null && !requestedId.isBlank()) {
+            return requestedId;
+        }
+        return idGenerator.nextId();
     }
 }
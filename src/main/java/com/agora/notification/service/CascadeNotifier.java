@@ -0,0 +1,112 @@
+package com.agora.notification.service;
+
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.models.CascadeRequest;
+import com.agora.notification.models.CascadeResult;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Reach the user" on top of a {@link NotificationService}: sends the first step of a
+ * {@link CascadeRequest} and only moves on to the next channel when that step fails or has not
+ * succeeded within its timeout, in which case it is cancelled so the user is not reached twice.
+ * 
+ * Steps are chained on the futures of {@code sendAsync} with a timer per step, so no thread waits
+ * between steps. Each step is an ordinary send: it runs through the service's pipeline, bulkheads,
+ * retries and events. With a SYNC service each step runs on the thread that starts it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CascadeNotifier {
+
+    private final NotificationService service;
+
+    /**
+     * Starts the cascade.
+     * 
+     * @return Completes with the first successful step, or with all attempts if none succeeded
+     */
+    public CompletableFuture<CascadeResult> send(CascadeRequest cascade) {
+        return attempt(cascade, 0, new ArrayList<>());
+    }
+
+    private CompletableFuture<CascadeResult> attempt(CascadeRequest cascade, int index, List<NotificationResult> attempts) {
+        CascadeRequest.Step step = cascade.getSteps().get(index);
+        Channel channel = step.getRequest().getChannel();
+        return sendStep(step).thenCompose(result -> {
+            attempts.add(result);
+            if (result.isSuccess()) {
+                return CompletableFuture.completedFuture(CascadeResult.builder()
+                    .success(true)
+                    .deliveredVia(channel)
+                    .attempts(List.copyOf(attempts))
+                    .build());
+            }
+            if (index + 1 == cascade.getSteps().size()) {
+                return CompletableFuture.completedFuture(CascadeResult.builder()
+                    .success(false)
+                    .attempts(List.copyOf(attempts))
+                    .build());
+            }
+            log.debug("Cascade step {} via {} did not succeed ({}), falling back to {}", index + 1, channel,
+                result.getStatus(), cascade.getSteps().get(index + 1).getRequest().getChannel());
+            return attempt(cascade, index + 1, attempts);
+        });
+    }
+
+    /**
+     * The step's result, a FAILED result if it throws, or a FAILED result (and cancellation) on timeout.
+     * The timer only cancels the step, so the step's own future decides: a confirmation that lands
+     * first makes the cancel a no-op, and the next step only starts once this one is cancelled.
+     */
+    private CompletableFuture<NotificationResult> sendStep(CascadeRequest.Step step) {
+        Channel channel = step.getRequest().getChannel();
+        CompletableFuture<NotificationResult> send;
+        try {
+            send = service.sendAsync(step.getRequest());
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        if (step.getTimeout() != null) {
+            CompletableFuture<NotificationResult> pending = send;
+            CompletableFuture.delayedExecutor(step.getTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> pending.cancel(true));
+        }
+        return send.handle((result, error) -> {
+            if (error == null) {
+                return result;
+            }
+            Throwable cause = unwrap(error);
+            return failed(channel, cause instanceof CancellationException && step.getTimeout() != null
+                ? "No confirmation within " + step.getTimeout()
+                : cause.getMessage());
+        });
+    }
+
+    private static NotificationResult failed(Channel channel, String reason) {
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.FAILED)
+            .message("Cascade step via " + channel + " failed")
+            .providerName(channel != null ? channel.name() : null)
+            .timestamp(Instant.now())
+            .errorDetails(reason)
+            .attemptNumber(0)
+            .build();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
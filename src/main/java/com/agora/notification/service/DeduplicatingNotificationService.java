@@ -0,0 +1,142 @@
+package com.agora.notification.service;
+
+import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator that drops duplicate submissions of the same notification ID.
+ * Requests carrying a caller-supplied notificationId are looked up in an {@link IdempotencyCache}:
+ * the first one is sent through the delegate, later ones get the original in-flight future or its
+ * cached result and never reach a provider. Requests without a notificationId pass through unchanged.
+ * 
+ * Only successful sends stay cached; when a send fails or throws, the ID is forgotten so that an
+ * upstream retry is sent again. DIGESTED results are not cached either: the notification has not
+ * been delivered yet, only buffered.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DeduplicatingNotificationService implements NotificationService {
+
+    private final NotificationService delegate;
+    private final IdempotencyCache cache;
+
+    @Override
+    public NotificationResult send(NotificationRequest request) {
+        String key = idempotencyKey(request);
+        if (key == null) {
+            return delegate.send(request);
+        }
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        CompletableFuture<NotificationResult> original = cache.putIfAbsent(key, future);
+        if (original != null) {
+            log.debug("Duplicate notification {} suppressed", key);
+            return join(original);
+        }
+        try {
+            NotificationResult result = delegate.send(request);
+            complete(key, future, result, null);
+            return result;
+        } catch (RuntimeException e) {
+            complete(key, future, null, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        String key = idempotencyKey(request);
+        if (key == null) {
+            return delegate.sendAsync(request);
+        }
+        CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+        CompletableFuture<NotificationResult> original = cache.putIfAbsent(key, future);
+        if (original != null) {
+            log.debug("Duplicate notification {} suppressed", key);
+            return original.copy();
+        }
+        CompletableFuture<NotificationResult> sent;
+        try {
+            sent = delegate.sendAsync(request);
+        } catch (RuntimeException e) {
+            complete(key, future, null, e);
+            throw e;
+        }
+        sent.whenComplete((result, error) -> complete(key, future, result, error));
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                sent.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<NotificationResult>> sendAsyncBatch(List<NotificationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<CompletableFuture<NotificationResult>> futures = requests.stream()
+                .map(this::sendAsync)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public boolean cancel(String notificationId) {
+        return delegate.cancel(notificationId);
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationEvent> eventConsumer) {
+        delegate.subscribe(eventConsumer);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+        cache.close();
+    }
+
+    private void complete(String key, CompletableFuture<NotificationResult> future,
+                          NotificationResult result, Throwable error) {
+        if (error != null || result == null || !result.isSuccess() || result.getStatus() == NotificationStatus.DIGESTED) {
+            cache.invalidate(key, future);
+        }
+        if (error != null) {
+            future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private static String idempotencyKey(NotificationRequest request) {
+        String id = request != null ? request.getNotificationId() : null;
+        return id != null && !id.isBlank() ? id : null;
+    }
+
+    private static NotificationResult join(CompletableFuture<NotificationResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.agora.notification.service;
+
+import com.agora.notification.config.DeduplicationConfig;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-expiring cache of recently accepted notification IDs, mapping each ID to the future
+ * of its send. Used by {@link DeduplicatingNotificationService}.
+ * 
+ * The cache is split into lock stripes selected by key hash; each stripe is an insertion-ordered map,
+ * which is also expiry order because every entry gets the same TTL. Expired entries are dropped from the
+ * head on access and the oldest entry is evicted when a stripe is full. Evicted entries that completed
+ * successfully and have not expired are written to the optional {@link IdempotencySpillFile}.
+ */
+@Slf4j
+public class IdempotencyCache implements AutoCloseable {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final long ttlMs;
+    private final LongSupplier clock;
+    private final IdempotencySpillFile spillFile;
+
+    public IdempotencyCache(DeduplicationConfig config) {
+        this(config, System::currentTimeMillis);
+    }
+
+    IdempotencyCache(DeduplicationConfig config, LongSupplier clock) {
+        if (config == null || !config.isValid()) {
+            throw new IllegalArgumentException("Invalid deduplication configuration");
+        }
+        this.ttlMs = config.getTtl().toMillis();
+        this.clock = clock;
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, config.getMaxEntries() / 16)));
+        int perStripe = Math.max(1, config.getMaxEntries() / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.spillFile = config.getSpillFile() != null
+            ? new IdempotencySpillFile(config.getSpillFile(), config.getSpillSlots())
+            : null;
+    }
+
+    /**
+     * Registers the future for the key unless the key is already known.
+     * 
+     * @param key The notification ID
+     * @param future The future of the send about to start
+     * @return The future of the earlier send (in flight or completed) if the key is a duplicate, or null
+     *         if the key was registered and the caller should send
+     */
+    public CompletableFuture<NotificationResult> putIfAbsent(String key, CompletableFuture<NotificationResult> future) {
+        long now = clock.getAsLong();
+        Stripe stripe = stripeFor(key);
+        Map.Entry<String, Entry> evicted = null;
+        synchronized (stripe) {
+            stripe.expire(now);
+            Entry existing = stripe.entries.get(key);
+            if (existing != null) {
+                return existing.future;
+            }
+            if (spillFile != null && spillFile.contains(key, now)) {
+                return CompletableFuture.completedFuture(spilledDuplicate(key));
+            }
+            if (stripe.entries.size() >= stripe.capacity) {
+                Iterator<Map.Entry<String, Entry>> it = stripe.entries.entrySet().iterator();
+                evicted = it.next();
+                it.remove();
+            }
+            stripe.entries.put(key, new Entry(future, now + ttlMs));
+        }
+        if (evicted != null) {
+            spill(evicted.getKey(), evicted.getValue(), now);
+        }
+        return null;
+    }
+
+    /** Forgets the key if it is still mapped to the given future, so a later resubmission is sent again. */
+    public void invalidate(String key, CompletableFuture<NotificationResult> future) {
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry current = stripe.entries.get(key);
+            if (current != null && current.future == future) {
+                stripe.entries.remove(key);
+            }
+        }
+    }
+
+    /** Number of IDs currently held in memory (expired entries may be counted until the next access). */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (spillFile != null) {
+            spillFile.close();
+        }
+    }
+
+    private void spill(String key, Entry entry, long now) {
+        if (spillFile == null || entry.expiresAtMs <= now || !entry.future.isDone()
+                || entry.future.isCompletedExceptionally()) {
+            return;
+        }
+        NotificationResult result = entry.future.getNow(null);
+        if (result != null && result.isSuccess()) {
+            spillFile.put(key, entry.expiresAtMs, now);
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private static NotificationResult spilledDuplicate(String key) {
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .message("Duplicate of already sent notification " + key)
+            .timestamp(Instant.now())
+            .attemptNumber(0)
+            .build();
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void expire(long now) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAtMs > now) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+    }
+
+    private record Entry(CompletableFuture<NotificationResult> future, long expiresAtMs) {
+    }
+}
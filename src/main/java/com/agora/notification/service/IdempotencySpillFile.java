@@ -0,0 +1,129 @@
+package com.agora.notification.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Fixed-size, memory-mapped table of (64-bit key hash, expiry) pairs used by {@link IdempotencyCache}
+ * for keys evicted from memory before they expire. Open addressing with a short linear probe; when the
+ * probe window is full the entry with the earliest expiry is overwritten, so the file never grows.
+ * 
+ * Only hashes are stored, so a hit means "this key was accepted and has not expired" with a false
+ * positive probability of roughly n / 2^64. Thread-safe; intended for the cold path only.
+ */
+@Slf4j
+class IdempotencySpillFile implements Closeable {
+
+    private static final long MAGIC = 0x4E4F544944454D31L; // "NOTIDEM1"
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 16;
+    private static final int MAX_PROBE = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int slots;
+
+    IdempotencySpillFile(Path file, int slots) {
+        if (slots <= 0 || slots > (Integer.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES) {
+            throw new IllegalArgumentException("slots must be between 1 and "
+                + (Integer.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES + ": " + slots);
+        }
+        this.slots = slots;
+        long size = HEADER_BYTES + (long) slots * SLOT_BYTES;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            boolean compatible = channel.size() == size;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (!compatible || buffer.getLong(0) != MAGIC || buffer.getLong(8) != slots) {
+                log.debug("Initializing idempotency spill file {} with {} slots", file, slots);
+                for (long offset = 0; offset < size; offset += 8) {
+                    buffer.putLong((int) offset, 0L);
+                }
+                buffer.putLong(0, MAGIC);
+                buffer.putLong(8, slots);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open idempotency spill file " + file, e);
+        }
+    }
+
+    /** Records that the key was accepted and stays a duplicate until expiresAtMs. */
+    synchronized void put(String key, long expiresAtMs, long nowMs) {
+        long hash = hash(key);
+        int start = indexFor(hash);
+        int victim = -1;
+        long victimExpiry = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_PROBE; i++) {
+            int slot = (start + i) % slots;
+            long slotHash = buffer.getLong(offset(slot));
+            long slotExpiry = buffer.getLong(offset(slot) + 8);
+            if (slotHash == 0 || slotHash == hash || slotExpiry <= nowMs) {
+                victim = slot;
+                break;
+            }
+            if (slotExpiry < victimExpiry) {
+                victim = slot;
+                victimExpiry = slotExpiry;
+            }
+        }
+        buffer.putLong(offset(victim), hash);
+        buffer.putLong(offset(victim) + 8, expiresAtMs);
+    }
+
+    /** Returns true if the key was recorded and has not expired at nowMs. */
+    synchronized boolean contains(String key, long nowMs) {
+        long hash = hash(key);
+        int start = indexFor(hash);
+        for (int i = 0; i < MAX_PROBE; i++) {
+            int slot = (start + i) % slots;
+            long slotHash = buffer.getLong(offset(slot));
+            if (slotHash == 0) {
+                return false;
+            }
+            if (slotHash == hash) {
+                return buffer.getLong(offset(slot) + 8) > nowMs;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing idempotency spill file: {}", e.getMessage());
+        }
+    }
+
+    private int indexFor(long hash) {
+        return (int) Long.remainderUnsigned(hash, slots);
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    /** FNV-1a over the UTF-8 bytes with a final avalanche; never returns 0 (the empty-slot marker). */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return h == 0 ? 1 : h;
+    }
+}
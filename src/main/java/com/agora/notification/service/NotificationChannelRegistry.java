@@ -1,25 +1,48 @@
 package com.agora.notification.service;
 
 import com.agora.notification.core.NotificationChannel;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.ProviderDecorator;
 import com.agora.notification.models.Channel;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /** 
  * Holds one NotificationChannel per Channel type; used by the service to resolve channel by request. 
+ * 
+ * Copy-on-write: the channels live in an immutable snapshot behind a volatile reference, so lookups
+ * never lock. Every write copies the snapshot and publishes it with a CAS, which makes registering,
+ * replacing and unregistering channels safe while sends are in flight.
  */
 @Slf4j
-@Getter
 public class NotificationChannelRegistry {
 
-    private final Map<Channel, NotificationChannel> channels = new EnumMap<>(Channel.class);
+    private static final VarHandle CHANNELS;
 
+    static {
+        try {
+            CHANNELS = MethodHandles.lookup()
+                .findVarHandle(NotificationChannelRegistry.class, "channels", Map.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Map<Channel, NotificationChannel> channels = 
+        Collections.unmodifiableMap(new EnumMap<>(Channel.class));
+
+    private final Object swapLock = new Object();
+
+    /** Registers the channel, atomically replacing any channel of the same type. */
     public void register(NotificationChannel channel) {
         if (channel != null) {
-            channels.put(channel.getChannelType(), channel);
+            update(map -> map.put(channel.getChannelType(), channel));
             log.debug("Registered channel: {}", channel.getChannelType());
         }
     }
@@ -29,13 +52,70 @@ public class NotificationChannelRegistry {
         return channels.get(channelType);
     }
 
+    /** @return Immutable snapshot of the registered channels */
+    public Map<Channel, NotificationChannel> getChannels() {
+        return channels;
+    }
+
+    /**
+     * Replaces the provider of a registered channel, e.g. to rotate credentials under load.
+     * Sends already in flight finish on the previous provider; later sends use the new one.
+     * 
+     * The new provider takes the place of the innermost one: decorators the builder added
+     * (dead-token tracking, SMS encoding, shared quota, adaptive limit) stay in front of it with
+     * their state. Swaps are serialized, so each caller gets back the provider it replaced.
+     * 
+     * @return The previous provider, or null if no channel is registered for the type
+     */
+    public NotificationProvider swapProvider(Channel channelType, NotificationProvider provider) {
+        NotificationChannel channel = channels.get(channelType);
+        if (channel == null) {
+            return null;
+        }
+        NotificationProvider previous;
+        synchronized (swapLock) {
+            NotificationProvider current = channel.getProvider();
+            previous = innermost(current);
+            channel.setProvider(provider != null ? replaceInnermost(current, provider) : null);
+        }
+        log.debug("Swapped provider for channel {}: {} -> {}", channelType,
+            previous != null ? previous.getName() : null, provider != null ? provider.getName() : null);
+        return previous;
+    }
+
     public void unregister(Channel channelType) {
-        channels.remove(channelType);
+        update(map -> map.remove(channelType));
         log.debug("Unregistered channel: {}", channelType);
     }
 
     public void clear() {
-        channels.clear();
+        update(Map::clear);
         log.debug("Cleared all channels");
     }
+
+    private static NotificationProvider innermost(NotificationProvider provider) {
+        while (provider instanceof ProviderDecorator decorator) {
+            provider = decorator.getDelegate();
+        }
+        return provider;
+    }
+
+    private static NotificationProvider replaceInnermost(NotificationProvider current, NotificationProvider replacement) {
+        if (current instanceof ProviderDecorator decorator) {
+            return decorator.withDelegate(replaceInnermost(decorator.getDelegate(), replacement));
+        }
+        return replacement;
+    }
+
+    private void update(Consumer<Map<Channel, NotificationChannel>> mutation) {
+        while (true) {
+            Map<Channel, NotificationChannel> current = channels;
+            Map<Channel, NotificationChannel> copy = new EnumMap<>(Channel.class);
+            copy.putAll(current);
+            mutation.accept(copy);
+            if (CHANNELS.compareAndSet(this, current, Collections.unmodifiableMap(copy))) {
+                return;
+            }
+        }
+    }
 }
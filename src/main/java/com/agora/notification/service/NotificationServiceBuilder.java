@@ -1,16 +1,67 @@
 package com.agora.notification.service;
 
+import com.agora.notification.cluster.ConsistentHashRing;
+import com.agora.notification.cluster.ForwardingTransport;
+import com.agora.notification.cluster.PartitionedNotificationService;
+import com.agora.notification.config.AdaptiveLimitConfig;
+import com.agora.notification.config.BulkheadConfig;
+import com.agora.notification.config.DeduplicationConfig;
+import com.agora.notification.config.DigestConfig;
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.config.FrequencyCapConfig;
+import com.agora.notification.config.QuotaConfig;
+import com.agora.notification.config.TenantConfig;
 import com.agora.notification.core.NotificationChannel;
+import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationIdGenerator;
+import com.agora.notification.core.NotificationProvider;
 import com.agora.notification.core.NotificationService;
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.core.NotificationValidator;
 import com.agora.notification.core.RetryableChannel;
+import com.agora.notification.digest.DigestMerger;
+import com.agora.notification.digest.DigestStage;
 import com.agora.notification.events.NotificationEventPublisher;
-import com.agora.notification.retry.ExponentialBackoffRetry;
+import com.agora.notification.limiting.AdaptiveConcurrencyLimiter;
+import com.agora.notification.limiting.ConcurrencyLimitedProvider;
+import com.agora.notification.limiting.FrequencyCapStage;
+import com.agora.notification.limiting.QuotaLimitedProvider;
+import com.agora.notification.limiting.QuotaStore;
+import com.agora.notification.limiting.SharedRateLimiter;
+import com.agora.notification.models.Channel;
+import com.agora.notification.providers.sms.SmsEncodingProvider;
+import com.agora.notification.retry.RetryBudget;
 import com.agora.notification.retry.RetryConfig;
 import com.agora.notification.retry.RetryExecutor;
+import com.agora.notification.retry.RetryPolicy;
+import com.agora.notification.scheduling.ChannelTaskQueue;
+import com.agora.notification.scheduling.DomainBuckets;
+import com.agora.notification.scheduling.DomainTaskQueue;
+import com.agora.notification.scheduling.FairTaskQueue;
+import com.agora.notification.scheduling.FifoTaskQueue;
+import com.agora.notification.scheduling.PriorityTaskQueue;
+import com.agora.notification.scheduling.SendScheduler;
+import com.agora.notification.scheduling.TaskQueue;
+import com.agora.notification.suppression.DeadTokenRegistry;
+import com.agora.notification.suppression.DeadTokenStage;
+import com.agora.notification.suppression.DeadTokenTrackingProvider;
+import com.agora.notification.suppression.SuppressionList;
+import com.agora.notification.suppression.SuppressionStage;
+import com.agora.notification.validation.EmailValidator;
+import com.agora.notification.validation.PhoneValidator;
+import com.agora.notification.validation.ValidationStage;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * Builder for creating NotificationService instances.
@@ -27,9 +78,67 @@ public class NotificationServiceBuilder {
     // Retry configuration (applied to all channels that support retry)
     private RetryConfig retryConfig;
     
+    // Retry budget shared by all channels of the service (unlimited when null)
+    private RetryBudget retryBudget;
+    
+    // Adaptive concurrency limit per provider (disabled when null)
+    private AdaptiveLimitConfig adaptiveLimitConfig;
+    
+    // Per-channel bulkheads (async mode only)
+    private final Map<Channel, BulkheadConfig> bulkheadConfigs = new EnumMap<>(Channel.class);
+    
+    // Bulkhead shared by the channels without their own (async mode only, unlimited when null)
+    private BulkheadConfig defaultBulkheadConfig;
+    
+    // Fair scheduling across tenants (bulkhead queues are not tenant-aware when null)
+    private TenantConfig defaultTenantConfig;
+    private final Map<String, TenantConfig> tenantConfigs = new HashMap<>();
+    
+    // Aging interval of priority scheduling (bulkhead queues are FIFO when null)
+    private Duration priorityAgingInterval;
+    
+    // SMS encoding optimization: null leaves SMS providers unwrapped, else whether to transliterate
+    private Boolean smsTransliteration;
+    
+    // Per-domain pacing of EMAIL sends in bulkhead queues (disabled when both are unset)
+    private DomainThrottleConfig defaultDomainThrottle;
+    private final Map<String, DomainThrottleConfig> domainThrottles = new HashMap<>();
+    
+    // Per-channel rate limits shared with other instances through a quota store
+    private final Map<Channel, QuotaConfig> sharedQuotas = new EnumMap<>(Channel.class);
+    private final Map<Channel, QuotaStore> quotaStores = new EnumMap<>(Channel.class);
+    
     // Service execution mode (default: ASYNC for backward compatibility)
     private ExecutionMode executionMode = ExecutionMode.ASYNC;
     
+    // Generates IDs for requests that do not carry their own
+    private NotificationIdGenerator idGenerator = TimeOrderedIdGenerator.getDefault();
+    
+    // Deduplication by caller-supplied notification ID (disabled when null)
+    private DeduplicationConfig deduplicationConfig;
+    
+    // Routing of recipients to the nodes of a multi-node deployment (disabled when null)
+    private String partitionNodeId;
+    private ConsistentHashRing partitionRing;
+    private ForwardingTransport partitionTransport;
+    
+    // Suppression stage, run before validation (disabled when null)
+    private SuppressionList suppressionList;
+    
+    // Dead push tokens: skipped before sending and fed by the PUSH provider (disabled when null)
+    private DeadTokenRegistry deadTokens;
+    
+    // Digesting of requests with a digestKey, run after validation (disabled when null)
+    private DigestConfig digestConfig;
+    private DigestMerger digestMerger;
+    
+    // Per-recipient frequency caps, run after validation (disabled when empty)
+    private final Map<Channel, FrequencyCapConfig> frequencyCaps = new EnumMap<>(Channel.class);
+    
+    // Validation stage: built-in validators plus any custom ones (disabled by default)
+    private boolean validationEnabled;
+    private final List<NotificationValidator> validators = new ArrayList<>();
+    
     /**
      * Execution mode for the notification service.
      */
@@ -70,6 +179,194 @@ public class NotificationServiceBuilder {
         return this;
     }
 
+    /**
+     * Caps retries across all channels of the service with a shared token bucket.
+     * Only takes effect together with {@link #retryConfig(RetryConfig)}.
+     * 
+     * @param budget The retry budget, e.g. {@link RetryBudget#defaultBudget()}
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder retryBudget(RetryBudget budget) {
+        this.retryBudget = budget;
+        return this;
+    }
+
+    /**
+     * Wraps the provider of every registered channel in a {@link ConcurrencyLimitedProvider} with its
+     * own {@link AdaptiveConcurrencyLimiter}, so each provider's in-flight limit follows its latency.
+     * Sends above the limit fail as RATE_LIMITED and are retried if a retry configuration is set.
+     * 
+     * @param config Initial, minimum and maximum limit, e.g. {@link AdaptiveLimitConfig#defaultConfig()}
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder adaptiveConcurrency(AdaptiveLimitConfig config) {
+        if (config != null && config.isValid()) {
+            this.adaptiveLimitConfig = config;
+        } else {
+            log.warn("Ignoring invalid adaptive concurrency configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Isolates a channel in the async service: at most maxConcurrent of its sends in flight and
+     * maxQueued waiting, further sends fail with BulkheadFullException. Channels without a
+     * bulkhead are not limited. Ignored in SYNC mode, where sends run on the caller's thread.
+     * 
+     * @param channel The channel to isolate
+     * @param config  Its concurrency and queue limits
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder bulkhead(Channel channel, BulkheadConfig config) {
+        if (channel != null && config != null && config.isValid()) {
+            bulkheadConfigs.put(channel, config);
+        } else {
+            log.warn("Ignoring invalid bulkhead configuration for channel {}", channel);
+        }
+        return this;
+    }
+
+    /**
+     * Limits all channels without a {@link #bulkhead(Channel, BulkheadConfig) bulkhead} of their own
+     * with one shared bulkhead, so their sends queue (and can be prioritised) instead of each
+     * taking a worker thread. Ignored in SYNC mode.
+     * 
+     * @param config The shared concurrency and queue limits
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder defaultBulkhead(BulkheadConfig config) {
+        if (config != null && config.isValid()) {
+            this.defaultBulkheadConfig = config;
+        } else {
+            log.warn("Ignoring invalid default bulkhead configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Starts queued sends by {@link com.agora.notification.models.Priority}: a HIGH request overtakes
+     * every queued NORMAL or LOW one, and a waiting request is promoted one level per agingInterval
+     * so bulk traffic is delayed but never starved. Applies to the queues of all bulkheads.
+     * 
+     * @param agingInterval How long a queued request waits before it is promoted one level
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder priorityScheduling(Duration agingInterval) {
+        if (agingInterval != null && !agingInterval.isNegative()) {
+            this.priorityAgingInterval = agingInterval;
+        } else {
+            log.warn("Ignoring invalid priority aging interval {}", agingInterval);
+        }
+        return this;
+    }
+
+    /**
+     * Shares every bulkhead fairly across tenants (deficit round robin by
+     * {@link com.agora.notification.models.NotificationRequest#getTenant() tenant}), so one tenant's
+     * backlog only delays others by its weight. Tenants without their own configuration use these defaults.
+     * Combined with {@link #priorityScheduling(Duration)}, each tenant's sends are ordered by priority.
+     * 
+     * @param defaults Weight and concurrency cap of tenants not configured with {@link #tenant}
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder fairScheduling(TenantConfig defaults) {
+        if (defaults != null && defaults.isValid()) {
+            this.defaultTenantConfig = defaults;
+        } else {
+            log.warn("Ignoring invalid default tenant configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Sets the weight and concurrency cap of one tenant and enables fair scheduling
+     * (with {@link TenantConfig#defaultConfig()} for other tenants unless set).
+     * 
+     * @param tenant The tenant key
+     * @param config Its scheduling share
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder tenant(String tenant, TenantConfig config) {
+        if (tenant != null && config != null && config.isValid()) {
+            tenantConfigs.put(tenant, config);
+            if (defaultTenantConfig == null) {
+                defaultTenantConfig = TenantConfig.defaultConfig();
+            }
+        } else {
+            log.warn("Ignoring invalid configuration for tenant {}", tenant);
+        }
+        return this;
+    }
+
+    /**
+     * Paces EMAIL sends per recipient domain in bulkhead queues: each domain gets a token bucket and
+     * domains take turns, so a throttled gmail.com backlog waits without blocking other domains.
+     * Domains without their own configuration use these defaults. With fair scheduling, each tenant's
+     * EMAIL is paced inside its lane and tenants share one rate per domain; priority ordering still
+     * applies within a domain. On the shared default bulkhead only EMAIL is paced.
+     * 
+     * @param defaults Rate and burst of domains not configured with {@link #domainThrottle}
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder domainThrottling(DomainThrottleConfig defaults) {
+        if (defaults != null && defaults.isValid()) {
+            this.defaultDomainThrottle = defaults;
+        } else {
+            log.warn("Ignoring invalid default domain throttle configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Sets the send rate towards one recipient domain and enables domain throttling. Other domains
+     * are not throttled unless {@link #domainThrottling(DomainThrottleConfig)} is also set.
+     * 
+     * @param domain The recipient domain, e.g. "gmail.com"
+     * @param config Its rate and burst
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder domainThrottle(String domain, DomainThrottleConfig config) {
+        if (domain != null && config != null && config.isValid()) {
+            domainThrottles.put(domain, config);
+        } else {
+            log.warn("Ignoring invalid throttle configuration for domain {}", domain);
+        }
+        return this;
+    }
+
+    /**
+     * Wraps SMS providers in an {@link SmsEncodingProvider}: results report the number of SMS
+     * segments sent, and with transliteration a message that is UCS-2 only because of look-alike
+     * characters (curly quotes, dashes, accents) is sent as GSM-7, which can cut its segments by up to 3x.
+     * 
+     * @param transliterate Whether to replace look-alike characters to keep messages GSM-7
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder smsEncoding(boolean transliterate) {
+        this.smsTransliteration = transliterate;
+        return this;
+    }
+
+    /**
+     * Limits a channel's sends to a provider quota shared by all instances, instead of giving each
+     * instance a fixed share of it. Instances lease tokens from the store in chunks and hand back what
+     * they have not used when the lease expires or the service shuts down; sends over the quota fail as RATE_LIMITED, so retries back off.
+     * 
+     * @param channel The channel whose provider the quota belongs to
+     * @param store   The store shared by all instances, e.g. {@link com.agora.notification.limiting.FileQuotaStore} on one host
+     * @param config  Quota name, rate and burst for the whole deployment, and the lease chunk size and duration
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder sharedQuota(Channel channel, QuotaStore store, QuotaConfig config) {
+        if (channel != null && store != null && config != null && config.isValid()) {
+            sharedQuotas.put(channel, config);
+            quotaStores.put(channel, store);
+        } else {
+            log.warn("Ignoring invalid shared quota configuration for {}", channel);
+        }
+        return this;
+    }
+
     public NotificationServiceBuilder executionMode(ExecutionMode mode) {
         if (mode != null) {
             this.executionMode = mode;
@@ -78,6 +375,146 @@ public class NotificationServiceBuilder {
         return this;
     }
 
+    /**
+     * Sets the generator used for requests without a caller-supplied notificationId.
+     * Defaults to the shared {@link TimeOrderedIdGenerator}.
+     * 
+     * @param generator The ID generator
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder idGenerator(NotificationIdGenerator generator) {
+        if (generator != null) {
+            this.idGenerator = generator;
+        }
+        return this;
+    }
+
+    /**
+     * Enables deduplication: requests carrying a notificationId already accepted within the TTL
+     * get the original result or in-flight future instead of being sent again.
+     * 
+     * @param config The deduplication configuration
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder deduplication(DeduplicationConfig config) {
+        if (config != null && config.isValid()) {
+            this.deduplicationConfig = config;
+        } else {
+            log.warn("Ignoring invalid deduplication configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Routes each request to the node that owns its recipient on a consistent-hash ring, so that
+     * per-recipient state (frequency caps, digests, deduplication) is kept by one node. This node is
+     * added to the ring and bound to the transport; add the other nodes with
+     * {@link ConsistentHashRing#addNode} or {@link PartitionedNotificationService#join} as they come up.
+     * 
+     * @param nodeId    This node's ID on the ring
+     * @param ring      The ring shared by the nodes' routing
+     * @param transport Carries requests to other nodes, e.g. {@link com.agora.notification.cluster.LoopbackTransport} in tests
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder partitioning(String nodeId, ConsistentHashRing ring, ForwardingTransport transport) {
+        if (nodeId != null && ring != null && transport != null) {
+            this.partitionNodeId = nodeId;
+            this.partitionRing = ring;
+            this.partitionTransport = transport;
+        } else {
+            log.warn("Ignoring incomplete partitioning configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Skips sends to recipients on the suppression list with a SUPPRESSED result. The check runs
+     * before validation and before the request is queued, so suppressed sends never reach a provider.
+     * 
+     * @param list The suppression list, e.g. {@link SuppressionList#inMemory(long)} loaded from a file
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder suppressionList(SuppressionList list) {
+        this.suppressionList = list;
+        return this;
+    }
+
+    /**
+     * Caps how many notifications one recipient gets on a channel within a sliding window; sends over
+     * the cap complete with a THROTTLED result without reaching a provider. Counted in memory, per service.
+     * 
+     * @param channel The channel to cap
+     * @param config  Max sends per window, and whether to count approximately in fixed memory
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder frequencyCap(Channel channel, FrequencyCapConfig config) {
+        if (channel != null && config != null && config.isValid()) {
+            frequencyCaps.put(channel, config);
+        } else {
+            log.warn("Ignoring invalid frequency cap configuration for {}", channel);
+        }
+        return this;
+    }
+
+    /**
+     * Skips PUSH sends to device tokens the provider has reported unregistered or invalid, with a
+     * SUPPRESSED result. The PUSH provider is wrapped so that every INVALID_RECIPIENT failure adds its
+     * token to the registry and publishes an INVALIDATED event, e.g. to delete the token from your database.
+     * 
+     * @param registry The dead tokens, e.g. {@link DeadTokenRegistry#persistent} to keep them across restarts
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder deadTokens(DeadTokenRegistry registry) {
+        this.deadTokens = registry;
+        return this;
+    }
+
+    /**
+     * Coalesces requests that carry a digestKey: those for the same channel, recipient and digestKey
+     * within the window complete at once with a DIGESTED result and are sent as one notification built
+     * by the merger when the window closes. The merged notification is sent with sendAsync and goes
+     * through suppression, validation and frequency caps like any other request.
+     * 
+     * @param config Window and memory bounds
+     * @param merger Builds the request to send from a digest, e.g. {@link DigestMerger#joinMessages(String)}
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder digest(DigestConfig config, DigestMerger merger) {
+        if (config != null && config.isValid() && merger != null) {
+            this.digestConfig = config;
+            this.digestMerger = merger;
+        } else {
+            log.warn("Ignoring invalid digest configuration");
+        }
+        return this;
+    }
+
+    /**
+     * Enables the validation stage with the built-in {@link EmailValidator} and {@link PhoneValidator}.
+     * Invalid requests are rejected with a ValidationException before they are queued or reach a provider.
+     * 
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder validation() {
+        this.validationEnabled = true;
+        return this;
+    }
+
+    /**
+     * Adds a custom validator and enables the validation stage. It runs for every channel it supports,
+     * after the built-in validators.
+     * 
+     * @param validator The validator to add
+     * @return This builder for method chaining
+     */
+    public NotificationServiceBuilder validator(NotificationValidator validator) {
+        if (validator != null) {
+            validators.add(validator);
+            this.validationEnabled = true;
+        }
+        return this;
+    }
+
     /** send() blocks until done; no thread pool. */
     public NotificationServiceBuilder sync() {
         this.executionMode = ExecutionMode.SYNC;
@@ -95,32 +532,170 @@ public class NotificationServiceBuilder {
         NotificationChannelRegistry registry = new NotificationChannelRegistry();
         NotificationEventPublisher publisher = new NotificationEventPublisher();
         
+        DigestStage digestStage = digestConfig != null ? new DigestStage(digestConfig, digestMerger) : null;
+        Map<Channel, SharedRateLimiter> quotaLimiters = new EnumMap<>(Channel.class);
+        sharedQuotas.forEach((channel, config) -> 
+            quotaLimiters.put(channel, new SharedRateLimiter(quotaStores.get(channel), config)));
+        SendPipeline pipeline = buildPipeline(digestStage, quotaLimiters.values());
+        
         // Create the appropriate service based on execution mode
         NotificationService service;
         if (executionMode == ExecutionMode.SYNC) {
-            service = new SyncNotificationService(registry, publisher);
+            service = new SyncNotificationService(registry, publisher, idGenerator, pipeline);
             log.debug("Building SyncNotificationService");
+            if (!bulkheadConfigs.isEmpty() || defaultBulkheadConfig != null) {
+                log.warn("Bulkheads are only applied in ASYNC mode; ignoring {}", bulkheadConfigs.keySet());
+            }
         } else {
-            service = new AsyncNotificationService(registry, publisher);
+            if ((priorityAgingInterval != null || defaultTenantConfig != null) 
+                    && bulkheadConfigs.isEmpty() && defaultBulkheadConfig == null) {
+                log.warn("Priority and fair scheduling have no effect without a bulkhead: sends never queue");
+            }
+            if ((defaultDomainThrottle != null || !domainThrottles.isEmpty()) 
+                    && !bulkheadConfigs.containsKey(Channel.EMAIL) && defaultBulkheadConfig == null) {
+                log.warn("Domain throttling has no effect without a bulkhead for EMAIL");
+            }
+            ExecutorService executor = Executors.newCachedThreadPool();
+            service = new AsyncNotificationService(registry, publisher, executor, idGenerator, pipeline, 
+                buildBulkheads(executor));
             log.debug("Building AsyncNotificationService");
         }
         
         // Create retry executor if configured
         RetryExecutor retryExecutor = null;
         if (retryConfig != null && retryConfig.isValid()) {
-            ExponentialBackoffRetry retryPolicy = new ExponentialBackoffRetry(retryConfig);
-            retryExecutor = new RetryExecutor(retryPolicy);
+            retryExecutor = new RetryExecutor(RetryPolicy.from(retryConfig), retryBudget);
         }
         
         // Register all channels and apply retry configuration
+        if (deadTokens != null) {
+            deadTokens.addListener(token -> publisher.publish(NotificationEvent.invalidated(Channel.PUSH.name(), token)));
+        }
         for (NotificationChannel channel : registeredChannels) {
+            applyDeadTokenTracking(channel);
+            applySmsEncoding(channel);
+            // Quota inside the adaptive limit: sends the limit refuses must not spend shared tokens
+            applySharedQuota(channel, quotaLimiters);
+            applyAdaptiveLimit(channel);
             applyRetryExecutor(channel, retryExecutor);
             registry.register(channel);
         }
         
+        if (deduplicationConfig != null) {
+            service = new DeduplicatingNotificationService(service, new IdempotencyCache(deduplicationConfig));
+            log.debug("Enabled deduplication with TTL {}", deduplicationConfig.getTtl());
+        }
+        if (digestStage != null) {
+            digestStage.setSink(service::sendAsync);
+        }
+        if (partitionNodeId != null) {
+            service = new PartitionedNotificationService(partitionNodeId, partitionRing, partitionTransport, service);
+            log.debug("Enabled partitioning as node {} of {}", partitionNodeId, partitionRing.getNodes());
+        }
+        
         return service;
     }
 
+    private Map<Channel, SendScheduler> buildBulkheads(ExecutorService executor) {
+        Map<Channel, SendScheduler> bulkheads = new EnumMap<>(Channel.class);
+        bulkheadConfigs.forEach((channel, config) -> bulkheads.put(channel, 
+            new SendScheduler(channel.name(), config, executor, newTaskQueue(channel == Channel.EMAIL, false))));
+        if (defaultBulkheadConfig != null) {
+            SendScheduler shared = new SendScheduler("DEFAULT", defaultBulkheadConfig, executor, 
+                newTaskQueue(!bulkheadConfigs.containsKey(Channel.EMAIL), true));
+            for (Channel channel : Channel.values()) {
+                bulkheads.putIfAbsent(channel, shared);
+            }
+        }
+        return bulkheads;
+    }
+
+    /**
+     * Queue for a bulkhead: tenant lanes if configured, each pacing its EMAIL by domain if the bulkhead
+     * carries EMAIL and throttling is configured. All lanes of a bulkhead share the domain buckets; on
+     * the shared bulkhead only EMAIL goes through the domain queue.
+     */
+    private TaskQueue newTaskQueue(boolean carriesEmail, boolean shared) {
+        Supplier<TaskQueue> lanes = this::newLaneQueue;
+        if (carriesEmail && (defaultDomainThrottle != null || !domainThrottles.isEmpty())) {
+            DomainBuckets buckets = new DomainBuckets(domainThrottles, defaultDomainThrottle, System::nanoTime);
+            Supplier<TaskQueue> domainQueue = () -> new DomainTaskQueue(buckets, this::newLaneQueue);
+            lanes = shared
+                ? () -> new ChannelTaskQueue(channel -> channel == Channel.EMAIL ? domainQueue.get() : newLaneQueue())
+                : domainQueue;
+        }
+        if (defaultTenantConfig != null) {
+            return new FairTaskQueue(tenantConfigs, defaultTenantConfig, lanes);
+        }
+        return lanes.get();
+    }
+
+    private TaskQueue newLaneQueue() {
+        return priorityAgingInterval != null 
+            ? new PriorityTaskQueue(priorityAgingInterval) 
+            : new FifoTaskQueue();
+    }
+
+    private SendPipeline buildPipeline(DigestStage digestStage, Collection<SharedRateLimiter> quotaLimiters) {
+        List<NotificationStage> stages = new ArrayList<>();
+        if (suppressionList != null) {
+            stages.add(new SuppressionStage(suppressionList));
+        }
+        if (deadTokens != null) {
+            stages.add(new DeadTokenStage(deadTokens));
+        }
+        if (validationEnabled) {
+            List<NotificationValidator> all = new ArrayList<>();
+            all.add(new EmailValidator());
+            all.add(new PhoneValidator());
+            all.addAll(validators);
+            stages.add(new ValidationStage(all));
+        }
+        if (digestStage != null) {
+            stages.add(digestStage);
+        }
+        if (!frequencyCaps.isEmpty()) {
+            stages.add(new FrequencyCapStage(frequencyCaps));
+        }
+        // Unspent quota tokens go back to the store on shutdown instead of waiting for their lease to expire
+        List<Runnable> releaseHooks = new ArrayList<>();
+        for (SharedRateLimiter limiter : quotaLimiters) {
+            releaseHooks.add(limiter::releaseUnused);
+        }
+        return new SendPipeline(stages, releaseHooks);
+    }
+
+    private void applyDeadTokenTracking(NotificationChannel channel) {
+        NotificationProvider provider = channel.getProvider();
+        if (deadTokens != null && channel.getChannelType() == Channel.PUSH && provider != null 
+                && !(provider instanceof DeadTokenTrackingProvider)) {
+            channel.setProvider(new DeadTokenTrackingProvider(provider, deadTokens));
+        }
+    }
+
+    private void applySmsEncoding(NotificationChannel channel) {
+        NotificationProvider provider = channel.getProvider();
+        if (smsTransliteration != null && channel.getChannelType() == Channel.SMS && provider != null 
+                && !(provider instanceof SmsEncodingProvider)) {
+            channel.setProvider(new SmsEncodingProvider(provider, smsTransliteration));
+        }
+    }
+
+    private void applyAdaptiveLimit(NotificationChannel channel) {
+        NotificationProvider provider = channel.getProvider();
+        if (adaptiveLimitConfig != null && provider != null && !(provider instanceof ConcurrencyLimitedProvider)) {
+            channel.setProvider(new ConcurrencyLimitedProvider(provider, new AdaptiveConcurrencyLimiter(adaptiveLimitConfig)));
+        }
+    }
+
+    private void applySharedQuota(NotificationChannel channel, Map<Channel, SharedRateLimiter> quotaLimiters) {
+        NotificationProvider provider = channel.getProvider();
+        SharedRateLimiter limiter = quotaLimiters.get(channel.getChannelType());
+        if (limiter != null && provider != null && !(provider instanceof QuotaLimitedProvider)) {
+            channel.setProvider(new QuotaLimitedProvider(provider, limiter));
+        }
+    }
+
     private void applyRetryExecutor(NotificationChannel channel, RetryExecutor retryExecutor) {
         if (retryExecutor != null && channel instanceof RetryableChannel) {
             ((RetryableChannel) channel).setRetryExecutor(retryExecutor);
@@ -0,0 +1,81 @@
+package com.agora.notification.service;
+
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/** 
+ * Ordered list of {@link NotificationStage}s run by the services before a request is queued. 
+ * Stops at the first stage that returns a result or throws. Immutable and thread-safe. 
+ * 
+ * Release hooks hand back what the service's providers still hold, such as leased shared-quota
+ * tokens; the services run them once they have stopped sending.
+ */
+@Slf4j
+public class SendPipeline {
+
+    private static final SendPipeline EMPTY = new SendPipeline(List.of());
+
+    private final List<NotificationStage> stages;
+    private final List<Runnable> releaseHooks;
+
+    public SendPipeline(List<NotificationStage> stages) {
+        this(stages, List.of());
+    }
+
+    public SendPipeline(List<NotificationStage> stages, List<Runnable> releaseHooks) {
+        this.stages = stages != null ? List.copyOf(stages) : List.of();
+        this.releaseHooks = releaseHooks != null ? List.copyOf(releaseHooks) : List.of();
+    }
+
+    /** Pipeline without stages; every request goes straight to the channel. */
+    public static SendPipeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Runs all stages in order.
+     * 
+     * @return null if the request should be sent, or the result of the stage that short-circuited it
+     * @throws com.agora.notification.exceptions.NotificationException if a stage rejects the request
+     */
+    public NotificationResult apply(NotificationRequest request) {
+        for (int i = 0; i < stages.size(); i++) {
+            NotificationResult result = stages.get(i).apply(request);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    /** Shuts down every stage in order; a failing stage does not stop the others. */
+    public void shutdown() {
+        for (NotificationStage stage : stages) {
+            try {
+                stage.shutdown();
+            } catch (RuntimeException e) {
+                log.error("Failed to shut down stage {}: {}", stage.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Runs every release hook once no more sends will be made; a failing hook does not stop the others. */
+    public void release() {
+        for (Runnable hook : releaseHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                log.error("Failed to release pipeline resources: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    public List<NotificationStage> getStages() {
+        return stages;
+    }
+}
@@ -2,17 +2,19 @@ package com.agora.notification.service;
 
 import com.agora.notification.core.NotificationChannel;
 import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationIdGenerator;
 import com.agora.notification.core.NotificationService;
 import com.agora.notification.events.NotificationEventPublisher;
 import com.agora.notification.events.NotificationEventListener;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.monitoring.NotificationSendEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -21,6 +23,7 @@ import java.util.stream.Collectors;
  * Notification service that runs send() in the calling thread; 
  * no thread pool. sendAsync() completes in the same thread and returns an already-completed future. 
  * For async execution use AsyncNotificationService. 
+ * Requests go through the {@link SendPipeline} (e.g. validation) before the channel is called. 
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -28,38 +31,60 @@ public class SyncNotificationService implements NotificationService {
     
     private final NotificationChannelRegistry channelRegistry;
     private final NotificationEventPublisher eventPublisher;
+    private final NotificationIdGenerator idGenerator;
+    private final SendPipeline pipeline;
+    
+    public SyncNotificationService(NotificationChannelRegistry channelRegistry, 
+                                  NotificationEventPublisher eventPublisher) {
+        this(channelRegistry, eventPublisher, TimeOrderedIdGenerator.getDefault());
+    }
+    
+    public SyncNotificationService(NotificationChannelRegistry channelRegistry, 
+                                  NotificationEventPublisher eventPublisher,
+                                  NotificationIdGenerator idGenerator) {
+        this(channelRegistry, eventPublisher, idGenerator, SendPipeline.empty());
+    }
     
     @Override
     public NotificationResult send(NotificationRequest request) {
-        String notificationId = generateNotificationId();
+        NotificationSendEvent sendEvent = new NotificationSendEvent();
+        sendEvent.begin();
+        String notificationId = resolveNotificationId(request);
         Channel channel = request.getChannel();
         
         // Publish PENDING event
         publishEvent(NotificationEvent.pending(notificationId, channel.name(), request.getRecipient()));
         
         try {
+            NotificationResult rejected = pipeline.apply(request);
+            if (rejected != null) {
+                publishResult(notificationId, rejected);
+                sendEvent.complete(notificationId, channel.name(), rejected);
+                return rejected;
+            }
+            
             NotificationChannel notificationChannel = channelRegistry.getChannel(channel);
             if (notificationChannel == null) {
                 throw new IllegalStateException("No channel configured for: " + channel);
             }
             
-            NotificationResult result = notificationChannel.send(request);
+            NotificationResult result = request.isExpired()
+                ? NotificationResult.expired(channel.name(), 0)
+                : notificationChannel.send(request);
             
             // Publish result event
-            if (result.isSuccess()) {
-                publishEvent(NotificationEvent.sent(notificationId, result));
-            } else {
-                publishEvent(NotificationEvent.failed(notificationId, result));
-            }
+            publishResult(notificationId, result);
             
+            sendEvent.complete(notificationId, channel.name(), result);
             return result;
         } catch (Exception e) {
             log.error("Error sending notification {}: {}", notificationId, e.getMessage(), e);
+            sendEvent.fail(notificationId, channel.name(), e);
             
             // Publish FAILED event
             NotificationResult failureResult = NotificationResult.builder()
                 .success(false)
-                .status(com.agora.notification.models.NotificationStatus.FAILED)
+                .status(NotificationStatus.FAILED)
                 .message("Error: " + e.getMessage())
                 .providerName(channel.name())
                 .timestamp(java.time.Instant.now())
@@ -116,8 +141,24 @@ public class SyncNotificationService implements NotificationService {
     
     @Override
     public void shutdown() {
-        // No resources to clean up (no thread pool)
-        log.debug("SyncNotificationService shutdown (no resources to clean)");
+        // No thread pool to stop; stages may still hold requests to send
+        pipeline.shutdown();
+        pipeline.release();
+        log.debug("SyncNotificationService shutdown");
+    }
+    
+    private void publishResult(String notificationId, NotificationResult result) {
+        if (result.getStatus() == NotificationStatus.DIGESTED) {
+            // Not sent yet: the merged notification publishes its own events
+            return;
+        }
+        if (result.isSuccess()) {
+            publishEvent(NotificationEvent.sent(notificationId, result));
+        } else if (result.getStatus() == NotificationStatus.EXPIRED) {
+            publishEvent(NotificationEvent.expired(notificationId, result));
+        } else {
+            publishEvent(NotificationEvent.failed(notificationId, result));
+        }
     }
     
     private void publishEvent(NotificationEvent event) {
@@ -126,7 +167,11 @@ public class SyncNotificationService implements NotificationService {
         }
     }
     
-    private String generateNotificationId() {
-        return UUID.randomUUID().toString();
+    private String resolveNotificationId(NotificationRequest request) {
+        String requestedId = request.getNotificationId();
+        if (requestedId != null && !requestedId.isBlank()) {
+            return requestedId;
+        }
+        return idGenerator.nextId();
     }
 }
@@ -0,0 +1,124 @@
+package com.agora.notification.service;
+
+import com.agora.notification.core.NotificationIdGenerator;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style {@link NotificationIdGenerator}: 42 bits of milliseconds since 2024-01-01T00:00Z,
+ * 10 bits of node ID and 12 bits of sequence, rendered as 13 Crockford base32 characters.
+ * IDs are monotonic per generator and sort lexicographically by creation time.
+ * 
+ * Lock-free: the last timestamp/sequence pair is advanced with a CAS. When more than 4096 IDs are
+ * requested within one millisecond the sequence carries into the timestamp, so the generator runs
+ * slightly ahead of the wall clock instead of blocking; it also never goes backwards if the clock does.
+ * 
+ * Two generators with the same node ID can produce the same IDs; use {@link #getDefault()} within a JVM
+ * and give each process its own node ID (0-1023) when several share an event store.
+ */
+public class TimeOrderedIdGenerator implements NotificationIdGenerator {
+
+    /** 2024-01-01T00:00:00Z in epoch milliseconds. */
+    static final long EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ID_LENGTH = 13;
+
+    private static final TimeOrderedIdGenerator DEFAULT = new TimeOrderedIdGenerator(defaultNodeId());
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (milliseconds since EPOCH_MS << SEQUENCE_BITS) | sequence of the last issued ID
+    private final AtomicLong lastState = new AtomicLong();
+
+    /** Creates a generator for the given node (0-1023) using the system clock. */
+    public TimeOrderedIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    TimeOrderedIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /** Shared generator for this JVM; node ID derived from host name and process ID. */
+    public static TimeOrderedIdGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    /** Returns the next ID as a raw 64-bit value (timestamp | node | sequence). */
+    public long nextLong() {
+        long now = clock.getAsLong() - EPOCH_MS;
+        long prev;
+        long next;
+        do {
+            prev = lastState.get();
+            long candidate = now << SEQUENCE_BITS;
+            next = candidate > prev ? candidate : prev + 1;
+        } while (!lastState.compareAndSet(prev, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    /** Extracts the creation time from an ID produced by this class. */
+    public static Instant timestampOf(String id) {
+        return Instant.ofEpochMilli((decode(id) >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MS);
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = ID_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (value & 0x1F)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    static long decode(String id) {
+        if (id == null || id.length() != ID_LENGTH) {
+            throw new IllegalArgumentException("Not a time-ordered notification ID: " + id);
+        }
+        long value = 0;
+        for (int i = 0; i < ID_LENGTH; i++) {
+            int digit = indexOf(id.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a time-ordered notification ID: " + id);
+            }
+            value = (value << 5) | digit;
+        }
+        return value;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < CROCKFORD.length; i++) {
+            if (CROCKFORD[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int defaultNodeId() {
+        String host = System.getenv("HOSTNAME");
+        if (host == null) {
+            host = System.getenv("COMPUTERNAME");
+        }
+        int hash = (host != null ? host.hashCode() : 0) * 31 + Long.hashCode(ProcessHandle.current().pid());
+        return (hash ^ (hash >>> 10) ^ (hash >>> 20)) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,96 @@
+package com.agora.notification.suppression;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache-friendly Bloom filter: every key maps to one 512-bit block (one cache line) and sets its
+ * k bits inside it, so a lookup costs a single memory access instead of k random ones. The price
+ * is a slightly higher false positive rate than a classic Bloom filter of the same size.
+ * 
+ * Keys are hashed once to 64 bits; the block comes from the high half and the k in-block
+ * positions from double hashing. Adds and lookups are lock-free and can run concurrently; a key
+ * can never be removed, so a false negative is impossible.
+ */
+public class BlockedBloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int LONGS_PER_BLOCK = BLOCK_BITS / Long.SIZE;
+
+    private final AtomicLongArray bits;
+    private final int blocks;
+    @Getter
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions Number of keys the filter is sized for
+     * @param falsePositiveRate  Target false positive probability at that size, e.g. 0.01
+     */
+    public BlockedBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be > 0 and falsePositiveRate in (0, 1)");
+        }
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long totalBlocks = (long) Math.ceil(expectedInsertions * bitsPerKey / BLOCK_BITS);
+        if (totalBlocks > Integer.MAX_VALUE / LONGS_PER_BLOCK) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " keys");
+        }
+        this.blocks = (int) Math.max(1, totalBlocks);
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round(bitsPerKey * Math.log(2))));
+        this.bits = new AtomicLongArray(blocks * LONGS_PER_BLOCK);
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        int base = blockOf(hash) * LONGS_PER_BLOCK;
+        int h1 = (int) hash;
+        int h2 = (int) ((hash * 0x9E3779B97F4A7C15L) >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            int index = base + (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits.get(index) & mask) == 0) {
+                bits.getAndAccumulate(index, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    /** false means definitely absent; true means present or a false positive. */
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        int base = blockOf(hash) * LONGS_PER_BLOCK;
+        int h1 = (int) hash;
+        int h2 = (int) ((hash * 0x9E3779B97F4A7C15L) >>> 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = (h1 + i * h2) & (BLOCK_BITS - 1);
+            if ((bits.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Memory used by the bit array. */
+    public long sizeInBytes() {
+        return (long) bits.length() * Long.BYTES;
+    }
+
+    private int blockOf(long hash) {
+        return (int) (((hash >>> 32) * blocks) >>> 32);
+    }
+
+    /** 64-bit hash over the UTF-16 chars (no byte[] copy), finished with the MurmurHash3 mixer. */
+    static long hash(String key) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= (h >>> 33);
+        return h;
+    }
+}
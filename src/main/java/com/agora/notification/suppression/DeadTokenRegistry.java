@@ -0,0 +1,184 @@
+package com.agora.notification.suppression;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Push device tokens that the provider reported as unregistered or invalid, so they are skipped
+ * instead of being sent (and retried) forever. Holds at most capacity tokens, evicting the oldest;
+ * lookups are a lock-free set probe.
+ * 
+ * With a file, every new token is appended to it (one per line) and the file is loaded again on
+ * start, so the set survives restarts. The file is compacted to the live tokens once it holds twice
+ * the capacity. Listeners are told about every newly dead token, e.g. to delete it from the app's
+ * database.
+ */
+@Slf4j
+public class DeadTokenRegistry {
+
+    private final int capacity;
+    private final Path file;
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    // Guarded by this
+    private int linesInFile;
+
+    private DeadTokenRegistry(int capacity, Path file) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Dead token capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.file = file;
+    }
+
+    /** Registry kept in memory only. */
+    public static DeadTokenRegistry inMemory(int capacity) {
+        return new DeadTokenRegistry(capacity, null);
+    }
+
+    /**
+     * Registry persisted to the file, loading the tokens it already holds.
+     * 
+     * @throws UncheckedIOException if the file exists but cannot be read
+     */
+    public static DeadTokenRegistry persistent(Path file, int capacity) {
+        DeadTokenRegistry registry = new DeadTokenRegistry(capacity, file);
+        registry.load();
+        return registry;
+    }
+
+    /** Whether the token was reported dead. */
+    public boolean isDead(String token) {
+        return token != null && tokens.contains(token);
+    }
+
+    /**
+     * Marks a token dead and notifies the listeners.
+     * 
+     * @return false if it was already dead
+     */
+    public boolean add(String token) {
+        if (token == null || token.isBlank() || !tokens.add(token)) {
+            return false;
+        }
+        insertionOrder.add(token);
+        evictOverCapacity();
+        append(token);
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(token);
+            } catch (RuntimeException e) {
+                log.error("Error in dead token listener: {}", e.getMessage(), e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Makes a token usable again, e.g. after the device registered it anew.
+     * 
+     * @return false if it was not dead
+     */
+    public boolean remove(String token) {
+        if (token == null || !tokens.remove(token)) {
+            return false;
+        }
+        insertionOrder.remove(token);
+        compact();
+        return true;
+    }
+
+    /** Adds a listener called with every newly dead token. */
+    public void addListener(Consumer<String> listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private void evictOverCapacity() {
+        while (tokens.size() > capacity) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            tokens.remove(oldest);
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read dead token file " + file, e);
+        }
+        for (String line : lines) {
+            String token = line.strip();
+            if (!token.isEmpty() && tokens.add(token)) {
+                insertionOrder.add(token);
+                evictOverCapacity();
+            }
+        }
+        synchronized (this) {
+            linesInFile = lines.size();
+        }
+        if (lines.size() > tokens.size()) {
+            compact();
+        }
+    }
+
+    private synchronized void append(String token) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.writeString(file, token + "\n", StandardCharsets.UTF_8, 
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            linesInFile++;
+        } catch (IOException e) {
+            log.warn("Cannot persist dead token to {}: {}", file, e.getMessage());
+            return;
+        }
+        if (linesInFile > 2 * capacity) {
+            compact();
+        }
+    }
+
+    /** Rewrites the file with the live tokens, replacing it atomically. */
+    private synchronized void compact() {
+        if (file == null) {
+            return;
+        }
+        List<String> live = new ArrayList<>(insertionOrder);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.write(temp, live, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            linesInFile = live.size();
+        } catch (IOException e) {
+            log.warn("Cannot compact dead token file {}: {}", file, e.getMessage());
+        }
+    }
+}
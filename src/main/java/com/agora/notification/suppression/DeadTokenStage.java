@@ -0,0 +1,38 @@
+package com.agora.notification.suppression;
+
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+
+/** Stage that short-circuits PUSH sends to dead device tokens with a SUPPRESSED result. */
+@Slf4j
+@RequiredArgsConstructor
+public class DeadTokenStage implements NotificationStage {
+
+    private final DeadTokenRegistry registry;
+
+    @Override
+    public NotificationResult apply(NotificationRequest request) {
+        if (request == null || request.getChannel() != Channel.PUSH || !registry.isDead(request.getRecipient())) {
+            return null;
+        }
+        log.debug("Device token is dead, not sending push notification");
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.SUPPRESSED)
+            .message("Device token was reported invalid by the push provider")
+            .providerName(Channel.PUSH.name())
+            .timestamp(Instant.now())
+            .errorDetails("Dead device token")
+            .attemptNumber(0)
+            .errorCategory(ErrorCategory.INVALID_RECIPIENT)
+            .build();
+    }
+}
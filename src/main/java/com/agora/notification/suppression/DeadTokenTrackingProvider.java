@@ -0,0 +1,70 @@
+package com.agora.notification.suppression;
+
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.core.ProviderDecorator;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Push provider decorator that feeds the {@link DeadTokenRegistry}: when the provider reports the
+ * device token as invalid (an INVALID_RECIPIENT failure), the token is added to the registry so
+ * later sends to it are skipped. The failure itself is passed on unchanged; it is not retryable.
+ */
+@RequiredArgsConstructor
+public class DeadTokenTrackingProvider implements AsyncNotificationProvider, ProviderDecorator {
+
+    @Getter
+    private final NotificationProvider delegate;
+    private final DeadTokenRegistry registry;
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(NotificationRequest request) {
+        CompletableFuture<NotificationResult> send;
+        try {
+            send = delegate.sendAsync(request);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, error) -> {
+            ErrorCategory category = error != null ? categoryOf(error) 
+                : result == null || result.isSuccess() ? null : result.getErrorCategory();
+            if (category == ErrorCategory.INVALID_RECIPIENT) {
+                registry.add(request.getRecipient());
+            }
+        });
+    }
+
+    /** Follows the delegate. */
+    @Override
+    public boolean isBlocking() {
+        return !AsyncNotificationProvider.isNonBlocking(delegate);
+    }
+
+    @Override
+    public DeadTokenTrackingProvider withDelegate(NotificationProvider delegate) {
+        return new DeadTokenTrackingProvider(delegate, registry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return delegate.isConfigured();
+    }
+
+    private static ErrorCategory categoryOf(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof ProviderException e ? e.getCategory() : ErrorCategory.UNKNOWN;
+    }
+}
@@ -0,0 +1,29 @@
+package com.agora.notification.suppression;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** {@link SuppressionStore} backed by a concurrent hash set, for lists that fit in memory and tests. */
+public class InMemorySuppressionStore implements SuppressionStore {
+
+    private final Set<String> recipients = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public boolean contains(String recipient) {
+        return recipients.contains(recipient);
+    }
+
+    @Override
+    public void add(String recipient) {
+        recipients.add(recipient);
+    }
+
+    @Override
+    public boolean remove(String recipient) {
+        return recipients.remove(recipient);
+    }
+
+    public int size() {
+        return recipients.size();
+    }
+}
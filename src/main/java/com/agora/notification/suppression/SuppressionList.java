@@ -0,0 +1,145 @@
+package com.agora.notification.suppression;
+
+import com.agora.notification.core.Recipients;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Suppressed recipients behind a {@link BlockedBloomFilter}: the filter answers "not suppressed"
+ * for almost every send from memory, and only a filter hit is confirmed against the exact
+ * {@link SuppressionStore}. With a 1% false positive rate, 99% of sends to clean recipients never
+ * touch the store.
+ * 
+ * Recipients are normalised by {@link Recipients#key} (emails lower-cased, phone separators removed)
+ * before hashing, so "User@Example.com" and "user@example.com" match. Removing a recipient only updates the store
+ * (Bloom filters cannot delete); its filter bits stay set, which costs an extra store lookup but
+ * never a wrong answer. Thread-safe.
+ */
+@Slf4j
+public class SuppressionList {
+
+    private static final int LOAD_BATCH = 10_000;
+
+    private final BlockedBloomFilter filter;
+    private final SuppressionStore store;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * @param store              Exact store; existing entries must also be added here (e.g. with {@link #load})
+     * @param expectedRecipients Size the filter is built for; more entries raise its false positive rate
+     * @param falsePositiveRate  Target share of clean recipients that still need a store lookup
+     */
+    public SuppressionList(SuppressionStore store, long expectedRecipients, double falsePositiveRate) {
+        this.store = store;
+        this.filter = new BlockedBloomFilter(expectedRecipients, falsePositiveRate);
+    }
+
+    /** In-memory list sized for the given number of recipients at a 1% false positive rate. */
+    public static SuppressionList inMemory(long expectedRecipients) {
+        return new SuppressionList(new InMemorySuppressionStore(), expectedRecipients, 0.01);
+    }
+
+    public boolean isSuppressed(String recipient) {
+        if (recipient == null) {
+            return false;
+        }
+        lookups.increment();
+        String key = Recipients.key(recipient);
+        if (!filter.mightContain(key)) {
+            return false;
+        }
+        filterHits.increment();
+        if (store.contains(key)) {
+            suppressed.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /** Suppresses a recipient, e.g. after a bounce or unsubscribe. */
+    public void add(String recipient) {
+        String key = Recipients.key(recipient);
+        store.add(key);
+        filter.add(key);
+    }
+
+    /**
+     * Lifts the suppression of a recipient, e.g. after a re-subscribe.
+     * 
+     * @return true if the recipient was suppressed
+     */
+    public boolean remove(String recipient) {
+        return store.remove(Recipients.key(recipient));
+    }
+
+    /**
+     * Bulk-loads recipients from a UTF-8 file with one recipient per line; blank lines and lines
+     * starting with # are skipped. Entries go to the store in batches.
+     * 
+     * @param file The file to load
+     * @return Number of recipients loaded
+     * @throws IOException if the file cannot be read
+     */
+    public long load(Path file) throws IOException {
+        long loaded = 0;
+        List<String> batch = new ArrayList<>(LOAD_BATCH);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                batch.add(Recipients.key(trimmed));
+                if (batch.size() == LOAD_BATCH) {
+                    loaded += flush(batch);
+                }
+            }
+        }
+        loaded += flush(batch);
+        log.info("Loaded {} suppressed recipients from {}", loaded, file);
+        return loaded;
+    }
+
+    /** Lookups made since creation. */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /** Lookups that passed the filter and had to consult the store. */
+    public long getFilterHitCount() {
+        return filterHits.sum();
+    }
+
+    /** Lookups that found the recipient suppressed. */
+    public long getSuppressedCount() {
+        return suppressed.sum();
+    }
+
+    public BlockedBloomFilter getFilter() {
+        return filter;
+    }
+
+    private long flush(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        store.addAll(batch);
+        for (String key : batch) {
+            filter.add(key);
+        }
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+}
@@ -0,0 +1,38 @@
+package com.agora.notification.suppression;
+
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+
+/** 
+ * Stage that short-circuits sends to suppressed recipients with a SUPPRESSED result. 
+ * Runs before validation, so a suppressed request costs one filter probe and nothing else. 
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SuppressionStage implements NotificationStage {
+
+    private final SuppressionList suppressionList;
+
+    @Override
+    public NotificationResult apply(NotificationRequest request) {
+        if (request == null || !suppressionList.isSuppressed(request.getRecipient())) {
+            return null;
+        }
+        log.debug("Recipient of {} notification is suppressed, not sending", request.getChannel());
+        return NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.SUPPRESSED)
+            .message("Recipient is on the suppression list")
+            .providerName(request.getChannel() != null ? request.getChannel().name() : null)
+            .timestamp(Instant.now())
+            .errorDetails("Recipient suppressed")
+            .attemptNumber(0)
+            .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.agora.notification.suppression;
+
+import java.util.Collection;
+
+/**
+ * Exact record of suppressed recipients (unsubscribed, bounced, complained), e.g. a database table.
+ * {@link SuppressionList} only consults it when its Bloom filter reports a possible match, so it
+ * may be slow. Recipients are passed already normalised. Implementations must be thread-safe.
+ */
+public interface SuppressionStore {
+
+    boolean contains(String recipient);
+
+    void add(String recipient);
+
+    /** @return true if the recipient was suppressed */
+    boolean remove(String recipient);
+
+    /** Adds many recipients at once; override to batch writes. */
+    default void addAll(Collection<String> recipients) {
+        for (String recipient : recipients) {
+            add(recipient);
+        }
+    }
+}
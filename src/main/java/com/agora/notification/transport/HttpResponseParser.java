@@ -0,0 +1,86 @@
+package com.agora.notification.transport;
+
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Maps provider HTTP responses to results: 2xx is SENT, anything else is a ProviderException
+ * carrying the status code and (truncated) response body, like the simulated providers report.
+ * The status code classifies the error and a Retry-After header (seconds or HTTP date) is kept
+ * as the retry hint.
+ */
+public final class HttpResponseParser {
+    
+    private static final int MAX_ERROR_BODY_CHARS = 500;
+    
+    private HttpResponseParser() {
+    }
+    
+    /**
+     * @param providerName   Name used in the result and in errors
+     * @param response       Raw provider response
+     * @param successMessage Result message on success
+     * @return SENT result on a 2xx status
+     * @throws ProviderException on any other status
+     */
+    public static NotificationResult toResult(String providerName, HttpResponse<String> response, 
+                                              String successMessage) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return NotificationResult.builder()
+                .success(true)
+                .status(NotificationStatus.SENT)
+                .message(successMessage)
+                .providerName(providerName)
+                .timestamp(Instant.now())
+                .attemptNumber(1)
+                .build();
+        }
+        throw new ProviderException(providerName, 
+            providerName + " API returned error: " + status + describe(response.body()),
+            status,
+            response.headers().firstValue("Retry-After").map(HttpResponseParser::parseRetryAfter).orElse(null));
+    }
+    
+    /**
+     * Parses a Retry-After header value: delay in seconds or an HTTP date.
+     * 
+     * @return the delay (zero for dates in the past), or null when the value is malformed
+     */
+    public static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            long seconds = Long.parseLong(trimmed);
+            return seconds >= 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(Instant.now(), at.toInstant());
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    private static String describe(String body) {
+        if (body == null || body.isBlank()) {
+            return "";
+        }
+        String trimmed = body.strip();
+        return " - " + (trimmed.length() > MAX_ERROR_BODY_CHARS 
+            ? trimmed.substring(0, MAX_ERROR_BODY_CHARS) + "..." : trimmed);
+    }
+}
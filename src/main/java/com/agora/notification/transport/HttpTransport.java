@@ -0,0 +1,162 @@
+package com.agora.notification.transport;
+
+import com.agora.notification.exceptions.DeadlineExceededException;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shared HTTP transport for providers, built on {@link HttpClient}.
+ * 
+ * Keeps one client per provider origin (scheme, host and port of the configured apiUrl), so every
+ * send to the same provider reuses its keep-alive connections. Clients prefer HTTP/2, which
+ * multiplexes concurrent sends over a single connection; servers that only speak HTTP/1.1 fall
+ * back to a pool of persistent connections. Sends are non-blocking and transport failures
+ * (connection errors, timeouts) complete the future with a TRANSIENT {@link ProviderException};
+ * a notification deadline that passes first or cuts the timeout short gives a
+ * {@link DeadlineExceededException} instead.
+ * 
+ * Use {@link #getDefault()} to share pools across providers; call close() on private instances.
+ */
+@Slf4j
+public class HttpTransport implements AutoCloseable {
+    
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final HttpTransport DEFAULT = new HttpTransport();
+    
+    private final Duration connectTimeout;
+    private final ConcurrentMap<String, HttpClient> clients = new ConcurrentHashMap<>();
+    
+    public HttpTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT);
+    }
+    
+    public HttpTransport(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+    
+    /** Returns the process-wide transport shared by providers that do not bring their own. */
+    public static HttpTransport getDefault() {
+        return DEFAULT;
+    }
+    
+    /**
+     * Sends the request without blocking.
+     * 
+     * @param request The provider API call
+     * @return Future completed with the raw response (any status code), or exceptionally with a
+     *         ProviderException when no response was received
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(TransportRequest request) {
+        long timeoutMs = request.effectiveTimeoutMs();
+        if (timeoutMs < 0) {
+            return CompletableFuture.failedFuture(new DeadlineExceededException(request.getProviderName(), 
+                "Notification deadline passed before the request was sent"));
+        }
+        HttpRequest httpRequest;
+        HttpClient client;
+        try {
+            URI uri = URI.create(join(request.getBaseUrl(), request.getPath()));
+            client = clientFor(uri);
+            httpRequest = toHttpRequest(uri, request, timeoutMs);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(new ProviderException(request.getProviderName(), 
+                "Invalid API URL: " + request.getBaseUrl(), ErrorCategory.CONFIGURATION, e));
+        }
+        
+        log.debug("[{}] POST {}", request.getProviderName(), httpRequest.uri());
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .exceptionallyCompose(error -> CompletableFuture.failedFuture(toProviderException(request, timeoutMs, error)));
+    }
+    
+    /** Number of pooled clients, i.e. distinct provider origins seen so far. */
+    public int poolCount() {
+        return clients.size();
+    }
+    
+    /** Closes every pooled client, waiting for in-flight exchanges to finish. */
+    @Override
+    public void close() {
+        clients.values().forEach(HttpClient::close);
+        clients.clear();
+    }
+    
+    private HttpClient clientFor(URI uri) {
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalArgumentException("Absolute URL required: " + uri);
+        }
+        String origin = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+        return clients.computeIfAbsent(origin, key -> {
+            log.debug("Creating HTTP client for {}", key);
+            return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        });
+    }
+    
+    private HttpRequest toHttpRequest(URI uri, TransportRequest request, long timeoutMs) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .POST(request.getBody() != null 
+                ? HttpRequest.BodyPublishers.ofString(request.getBody()) 
+                : HttpRequest.BodyPublishers.noBody());
+        if (timeoutMs > 0) {
+            builder.timeout(Duration.ofMillis(timeoutMs));
+        }
+        if (request.getContentType() != null) {
+            builder.header("Content-Type", request.getContentType());
+        }
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder.build();
+    }
+    
+    private static ProviderException toProviderException(TransportRequest request, long timeoutMs, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null 
+            ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException && shortenedByDeadline(request, timeoutMs)) {
+            return new DeadlineExceededException(request.getProviderName(), 
+                "Notification deadline reached after " + timeoutMs + "ms", cause);
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return new ProviderException(request.getProviderName(), 
+                "Request timed out after " + timeoutMs + "ms", ErrorCategory.TRANSIENT, cause);
+        }
+        return new ProviderException(request.getProviderName(), 
+            "HTTP request failed: " + cause.getMessage(), ErrorCategory.TRANSIENT, cause);
+    }
+    
+    /** Whether the timeout was the time left until the deadline rather than the configured one. */
+    private static boolean shortenedByDeadline(TransportRequest request, long timeoutMs) {
+        return request.getDeadline() != null && (request.getTimeoutMs() <= 0 || timeoutMs < request.getTimeoutMs());
+    }
+    
+    private static String join(String baseUrl, String path) {
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("API URL is required");
+        }
+        if (path == null || path.isEmpty()) {
+            return baseUrl;
+        }
+        boolean slashEnd = baseUrl.endsWith("/");
+        boolean slashStart = path.startsWith("/");
+        if (slashEnd && slashStart) {
+            return baseUrl + path.substring(1);
+        }
+        return slashEnd || slashStart ? baseUrl + path : baseUrl + "/" + path;
+    }
+}
@@ -0,0 +1,79 @@
+package com.agora.notification.transport;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * A provider API call to be sent by {@link HttpTransport}.
+ * Uses Builder pattern for fluent configuration.
+ * 
+ * baseUrl is the provider's configured apiUrl and selects the connection pool; path is appended to it.
+ * timeoutMs bounds the whole exchange; 0 or less means no per-request timeout. deadline, if set
+ * (the notification's deadline), shortens the timeout so the call never outlives the notification.
+ */
+@Getter
+@Builder
+public class TransportRequest {
+    private final String providerName;
+    private final String baseUrl;
+    private final String path;
+    private final String contentType;
+    private final String body;
+    private final int timeoutMs;
+    private final Instant deadline;
+    @Singular
+    private final Map<String, String> headers;
+    
+    /**
+     * Timeout to apply to the exchange: timeoutMs, cut to the time left until the deadline.
+     * 
+     * @return The timeout in milliseconds; 0 for none, negative if the deadline has already passed
+     */
+    public long effectiveTimeoutMs() {
+        if (deadline == null) {
+            return Math.max(0, timeoutMs);
+        }
+        long remainingMs = Duration.between(Instant.now(), deadline).toMillis();
+        if (remainingMs <= 0) {
+            return -1;
+        }
+        return timeoutMs > 0 ? Math.min(timeoutMs, remainingMs) : remainingMs;
+    }
+    
+    /** Value for an Authorization header using HTTP basic auth. */
+    public static String basicAuth(String user, String password) {
+        String credentials = user + ":" + (password != null ? password : "");
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Builds an application/x-www-form-urlencoded body from alternating names and values;
+     * null values are skipped.
+     */
+    public static String form(String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected name/value pairs");
+        }
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (namesAndValues[i + 1] == null) {
+                continue;
+            }
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(namesAndValues[i], StandardCharsets.UTF_8))
+                .append('=')
+                .append(URLEncoder.encode(namesAndValues[i + 1], StandardCharsets.UTF_8));
+        }
+        return body.toString();
+    }
+}
@@ -35,11 +35,28 @@ public class EmailValidator implements NotificationValidator {
             throw new ValidationException("Email recipient is required");
         }
         
-        if (!EMAIL_VALIDATOR.isValid(recipient)) {
+        if (!hasPlausibleSyntax(recipient) || !EMAIL_VALIDATOR.isValid(recipient)) {
             throw new ValidationException("Invalid email format: " + recipient);
         }
     }
     
+    /**
+     * Cheap pre-check run before commons-validator: a non-empty local part, an '@', and a domain that is
+     * an address literal or contains a dot that is neither first nor last. Only rejects addresses
+     * commons-validator would reject too, so typos fail fast without its regex work.
+     */
+    static boolean hasPlausibleSyntax(String address) {
+        int at = address.lastIndexOf('@');
+        if (at <= 0 || at == address.length() - 1) {
+            return false;
+        }
+        if (address.charAt(at + 1) == '[') {
+            return true;
+        }
+        int dot = address.indexOf('.', at + 1);
+        return dot > at + 1 && address.charAt(address.length() - 1) != '.';
+    }
+    
     private void validateSubject(String subject) {
         if (subject == null || subject.isBlank()) {
             throw new ValidationException("Email subject is required");
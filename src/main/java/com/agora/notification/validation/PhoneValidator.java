@@ -6,15 +6,14 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.regex.Pattern;
-
 /** Validates SMS requests: recipient (E.164-like, 7–15 digits), message (required, max 1600 chars). Throws ValidationException on failure. */
 @Slf4j
 public class PhoneValidator implements NotificationValidator {
     
     // E.164 format: +[country code][number] (e.g., +1234567890)
     // Also accept numbers without + (for flexibility)
-    private static final Pattern PHONE_PATTERN = Pattern.compile("^[+]?[1-9]\\d{6,14}$");
+    private static final int MIN_DIGITS = 7;
+    private static final int MAX_DIGITS = 15;
     private static final int MAX_MESSAGE_LENGTH = 1600; // SMS character limit
     
     @Override
@@ -36,15 +35,46 @@ public class PhoneValidator implements NotificationValidator {
             throw new ValidationException("SMS recipient phone number is required");
         }
         
-        // Remove common formatting characters for validation
-        String cleaned = recipient.replaceAll("[\\s\\-\\(\\)]", "");
-        
-        if (!PHONE_PATTERN.matcher(cleaned).matches()) {
+        if (!isE164(recipient)) {
             throw new ValidationException("Invalid phone number format: " + recipient + 
                 ". Expected format: +[country code][number] or [country code][number]");
         }
     }
     
+    /**
+     * Single-pass equivalent of matching {@code ^[+]?[1-9]\d{6,14}$} after removing whitespace,
+     * '-', '(' and ')': no intermediate string and no regex engine on the send path.
+     */
+    static boolean isE164(String recipient) {
+        int digits = 0;
+        boolean plusSeen = false;
+        for (int i = 0, n = recipient.length(); i < n; i++) {
+            char c = recipient.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == 0 && c == '0') {
+                    return false;
+                }
+                if (++digits > MAX_DIGITS) {
+                    return false;
+                }
+            } else if (c == '+') {
+                if (plusSeen || digits > 0) {
+                    return false;
+                }
+                plusSeen = true;
+            } else if (!isFormattingChar(c)) {
+                return false;
+            }
+        }
+        return digits >= MIN_DIGITS;
+    }
+    
+    private static boolean isFormattingChar(char c) {
+        // Same set as the regex class [\s\-\(\)]
+        return c == ' ' || c == '-' || c == '(' || c == ')'
+            || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+    
     private void validateMessage(String message) {
         if (message == null || message.isBlank()) {
             throw new ValidationException("SMS message is required");
@@ -0,0 +1,59 @@
+package com.agora.notification.validation;
+
+import com.agora.notification.core.NotificationStage;
+import com.agora.notification.core.NotificationValidator;
+import com.agora.notification.exceptions.ValidationException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/** 
+ * Stage that runs every {@link NotificationValidator} supporting the request's channel. 
+ * Validators are grouped by channel once at construction, so the send path does a single EnumMap lookup. 
+ * Throws ValidationException on the first failure; never short-circuits valid requests. 
+ */
+public class ValidationStage implements NotificationStage {
+
+    private final Map<Channel, NotificationValidator[]> validatorsByChannel = new EnumMap<>(Channel.class);
+
+    public ValidationStage(List<NotificationValidator> validators) {
+        for (Channel channel : Channel.values()) {
+            List<NotificationValidator> matching = new ArrayList<>();
+            for (NotificationValidator validator : validators) {
+                if (validator != null && validator.supports(channel)) {
+                    matching.add(validator);
+                }
+            }
+            if (!matching.isEmpty()) {
+                validatorsByChannel.put(channel, matching.toArray(new NotificationValidator[0]));
+            }
+        }
+    }
+
+    /** Stage with the built-in {@link EmailValidator} and {@link PhoneValidator}. */
+    public static ValidationStage withDefaults() {
+        return new ValidationStage(List.of(new EmailValidator(), new PhoneValidator()));
+    }
+
+    @Override
+    public NotificationResult apply(NotificationRequest request) {
+        if (request == null) {
+            throw new ValidationException("Notification request cannot be null");
+        }
+        if (request.getChannel() == null) {
+            throw new ValidationException("Notification channel is required");
+        }
+        NotificationValidator[] validators = validatorsByChannel.get(request.getChannel());
+        if (validators != null) {
+            for (NotificationValidator validator : validators) {
+                validator.validate(request);
+            }
+        }
+        return null;
+    }
+}
@@ -1,8 +1,13 @@
 package com.agora.notification.channels;
 
+import com.agora.notification.config.AdaptiveLimitConfig;
 import com.agora.notification.config.EmailConfig;
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.exceptions.DeadlineExceededException;
 import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.limiting.AdaptiveConcurrencyLimiter;
+import com.agora.notification.limiting.ConcurrencyLimitedProvider;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
@@ -18,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -195,4 +201,118 @@ class EmailChannelTest {
         assertEquals(mockProvider, channel.getProvider());
         assertEquals(retryExecutor, channel.getRetryExecutor());
     }
+
+    @Test
+    void sendAsync_withAsyncProvider_returnsBeforeProviderCompletes() {
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        when(asyncProvider.isConfigured()).thenReturn(true);
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        when(asyncProvider.sendAsync(any(NotificationRequest.class))).thenReturn(inFlight);
+        EmailChannel channel = new EmailChannel(asyncProvider);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        CompletableFuture<NotificationResult> future = channel.sendAsync(request);
+        assertFalse(future.isDone());
+
+        inFlight.complete(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("AsyncProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        assertTrue(future.join().isSuccess());
+        verify(asyncProvider, never()).send(any());
+    }
+
+    @Test
+    void sendAsync_withoutRetry_callCutShortByDeadline_expires() {
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        when(asyncProvider.isConfigured()).thenReturn(true);
+        when(asyncProvider.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.failedFuture(
+            new DeadlineExceededException("AsyncProvider", "Notification deadline reached after 150ms")));
+        EmailChannel channel = new EmailChannel(asyncProvider);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        NotificationResult result = channel.sendAsync(request).join();
+
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        assertEquals(1, result.getAttemptNumber());
+    }
+
+    @Test
+    void sendAsync_withBlockingProvider_fallsBackToSend() {
+        when(mockProvider.getName()).thenReturn("Test");
+        when(mockProvider.isConfigured()).thenReturn(true);
+        when(mockProvider.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("Test")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        EmailChannel channel = new EmailChannel(mockProvider);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        assertTrue(channel.sendAsync(request).join().isSuccess());
+        verify(mockProvider).send(request);
+    }
+
+    @Test
+    void sendAsync_withDecoratedBlockingProvider_retriesOnBlockingPath() {
+        when(mockProvider.getName()).thenReturn("Test");
+        when(mockProvider.isConfigured()).thenReturn(true);
+        when(mockProvider.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("Test")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        when(mockProvider.sendAsync(any(NotificationRequest.class))).thenCallRealMethod();
+        RetryExecutor retryExecutor = spy(new RetryExecutor(
+            new ExponentialBackoffRetry(RetryConfig.builder().maxAttempts(2).build())));
+        ConcurrencyLimitedProvider limited = new ConcurrencyLimitedProvider(mockProvider,
+            new AdaptiveConcurrencyLimiter(AdaptiveLimitConfig.defaultConfig()));
+        EmailChannel channel = new EmailChannel(limited, retryExecutor);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        assertTrue(limited.isBlocking());
+        assertTrue(channel.sendAsync(request).join().isSuccess());
+        verify(retryExecutor).executeWithRetry(limited, request);
+        verify(retryExecutor, never()).executeWithRetryAsync(any(), any());
+    }
+
+    @Test
+    void isBlocking_simulatedProviderOnlyWithoutTransport() {
+        SendGridEmailProvider simulated = new SendGridEmailProvider(EmailConfig.builder()
+            .apiKey("SG.test")
+            .fromEmail("from@example.com")
+            .build());
+
+        assertTrue(simulated.isBlocking());
+        assertFalse(AsyncNotificationProvider.isNonBlocking(simulated));
+    }
 }
@@ -0,0 +1,57 @@
+package com.agora.notification.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void nodeFor_spreadsKeysEvenly() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c", "node-d"));
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor("user" + i + "@example.com"), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2,
+            "Unbalanced ring: " + counts));
+    }
+
+    @Test
+    void addNode_movesOnlyKeysToTheNewNode() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of("node-a", "node-b", "node-c"));
+        Map<String, String> before = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            before.put("+1555" + i, ring.nodeFor("+1555" + i));
+        }
+
+        assertTrue(ring.addNode("node-d"));
+        assertFalse(ring.addNode("node-d"));
+
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String now = ring.nodeFor(entry.getKey());
+            if (!now.equals(entry.getValue())) {
+                assertEquals("node-d", now);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "Moved " + moved);
+
+        assertTrue(ring.removeNode("node-d"));
+        before.forEach((key, node) -> assertEquals(node, ring.nodeFor(key)));
+    }
+
+    @Test
+    void nodeFor_emptyRing_throws() {
+        assertThrows(IllegalStateException.class, () -> new ConsistentHashRing().nodeFor("user"));
+    }
+}
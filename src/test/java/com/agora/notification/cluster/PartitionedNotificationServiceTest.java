@@ -0,0 +1,139 @@
+package com.agora.notification.cluster;
+
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.exceptions.BulkheadFullException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PartitionedNotificationServiceTest {
+
+    private final ConsistentHashRing ring = new ConsistentHashRing();
+    private final LoopbackTransport transport = new LoopbackTransport();
+    private final NotificationService localA = mock(NotificationService.class);
+    private final NotificationService localB = mock(NotificationService.class);
+    private PartitionedNotificationService nodeA;
+    private PartitionedNotificationService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        when(localA.sendAsync(any())).thenReturn(CompletableFuture.completedFuture(sent("A")));
+        when(localB.sendAsync(any())).thenReturn(CompletableFuture.completedFuture(sent("B")));
+        nodeA = new PartitionedNotificationService("node-a", ring, transport, localA);
+        nodeB = new PartitionedNotificationService("node-b", ring, transport, localB);
+    }
+
+    @Test
+    void sendAsync_routesEachRecipientToItsOwnerFromAnyNode() {
+        for (int i = 0; i < 50; i++) {
+            NotificationRequest request = sms("+1555000" + i);
+            String owner = ring.nodeFor("+1555000" + i);
+            String expected = owner.equals("node-a") ? "A" : "B";
+
+            assertEquals(expected, nodeA.sendAsync(request).join().getProviderName());
+            assertEquals(expected, nodeB.sendAsync(request).join().getProviderName());
+        }
+        verify(localA, atLeastOnce()).sendAsync(any());
+        verify(localB, atLeastOnce()).sendAsync(any());
+    }
+
+    @Test
+    void sendAsync_ownerUnreachable_sendsLocally() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+        transport.unbind("node-b");
+
+        assertEquals("A", nodeA.sendAsync(request).join().getProviderName());
+    }
+
+    @Test
+    void sendAsync_ownerRejects_passesErrorWithoutSendingLocally() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+        when(localB.sendAsync(any())).thenReturn(CompletableFuture.failedFuture(new BulkheadFullException("SMS bulkhead full")));
+
+        CompletionException thrown = assertThrows(CompletionException.class, () -> nodeA.sendAsync(request).join());
+
+        assertInstanceOf(BulkheadFullException.class, thrown.getCause());
+        verify(localA, never()).sendAsync(any());
+    }
+
+    @Test
+    void sendAsync_ownerThrows_passesErrorWithoutSendingLocally() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+        when(localB.sendAsync(any())).thenThrow(new IllegalStateException("No channel configured for: SMS"));
+
+        CompletionException thrown = assertThrows(CompletionException.class, () -> nodeA.sendAsync(request).join());
+
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        verify(localA, never()).sendAsync(any());
+    }
+
+    @Test
+    void sendAsync_cancelled_cancelsTheForwardedSend() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+        CompletableFuture<NotificationResult> onOwner = new CompletableFuture<>();
+        when(localB.sendAsync(any())).thenReturn(onOwner);
+
+        CompletableFuture<NotificationResult> future = nodeA.sendAsync(request);
+        assertTrue(future.cancel(true));
+
+        assertTrue(onOwner.isCancelled());
+        verify(localA, never()).sendAsync(any());
+    }
+
+    @Test
+    void sendAsync_cancelled_cancelsTheLocalFallback() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+        transport.unbind("node-b");
+        CompletableFuture<NotificationResult> fallback = new CompletableFuture<>();
+        when(localA.sendAsync(any())).thenReturn(fallback);
+
+        nodeA.sendAsync(request).cancel(true);
+
+        assertTrue(fallback.isCancelled());
+    }
+
+    @Test
+    void leave_rebalancesRecipientsToRemainingNodes() {
+        NotificationRequest request = recipientOwnedBy("node-b");
+
+        assertTrue(nodeA.leave("node-b"));
+
+        assertEquals("node-a", nodeA.ownerOf(request));
+        assertEquals("A", nodeA.sendAsync(request).join().getProviderName());
+        verify(localB, never()).sendAsync(any());
+    }
+
+    private NotificationRequest recipientOwnedBy(String node) {
+        for (int i = 0; ; i++) {
+            NotificationRequest request = sms("+1555111" + i);
+            if (nodeA.ownerOf(request).equals(node)) {
+                return request;
+            }
+        }
+    }
+
+    private static NotificationRequest sms(String recipient) {
+        return NotificationRequest.builder().channel(Channel.SMS).recipient(recipient).message("Test").build();
+    }
+
+    private static NotificationResult sent(String node) {
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName(node)
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+}
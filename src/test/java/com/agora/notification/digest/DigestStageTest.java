@@ -0,0 +1,121 @@
+package com.agora.notification.digest;
+
+import com.agora.notification.config.DigestConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigestStageTest {
+
+    private final List<NotificationRequest> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void apply_mergesRequestsPerRecipientAndKeyWhenWindowCloses() throws Exception {
+        DigestStage stage = stage(Duration.ofMillis(100), 10, 100);
+
+        for (int i = 0; i < 3; i++) {
+            NotificationResult result = stage.apply(comment("user-1", "Comment " + i));
+            assertEquals(NotificationStatus.DIGESTED, result.getStatus());
+        }
+        stage.apply(comment("user-2", "Other"));
+        assertEquals(2, stage.getOpenDigests());
+        assertTrue(sent.isEmpty());
+
+        waitUntil(() -> sent.size() == 2);
+        NotificationRequest merged = sent.stream().filter(r -> r.getRecipient().equals("user-1")).findFirst().orElseThrow();
+        assertEquals("Comment 0\nComment 1\nComment 2", merged.getBody());
+        assertNull(merged.getDigestKey(), "merged requests must not be digested again");
+        assertEquals(0, stage.getOpenDigests());
+    }
+
+    @Test
+    void apply_passesThroughRequestsWithoutDigestKey() {
+        DigestStage stage = stage(Duration.ofMinutes(1), 10, 100);
+        NotificationRequest plain = NotificationRequest.builder()
+            .channel(Channel.PUSH).recipient("user-1").title("t").body("b").build();
+
+        assertNull(stage.apply(plain));
+        assertEquals(0, stage.getOpenDigests());
+    }
+
+    @Test
+    void apply_boundsOpenDigestsAndDigestSize() {
+        DigestStage stage = stage(Duration.ofMinutes(1), 2, 3);
+
+        assertNotNull(stage.apply(comment("user-1", "a")));
+        assertNotNull(stage.apply(comment("user-2", "a")));
+        assertNull(stage.apply(comment("user-3", "a")), "beyond maxOpenDigests requests are sent individually");
+
+        stage.apply(comment("user-1", "b"));
+        stage.apply(comment("user-1", "c"));
+        assertEquals(1, sent.size(), "a full digest is sent without waiting for the window");
+        assertEquals("a\nb\nc", sent.get(0).getBody());
+
+        stage.flush();
+        assertEquals(2, sent.size());
+        assertEquals(0, stage.getOpenDigests());
+    }
+
+    @Test
+    void apply_windowClose_sendsOffTheCommonPool() throws Exception {
+        DigestStage stage = stage(Duration.ofMillis(20), 10, 100);
+        List<Thread> senders = new CopyOnWriteArrayList<>();
+        stage.setSink(request -> senders.add(Thread.currentThread()));
+
+        stage.apply(comment("user-1", "a"));
+
+        waitUntil(() -> senders.size() == 1);
+        assertFalse(senders.get(0) instanceof ForkJoinWorkerThread, "a blocking sink must not tie up the common pool");
+        stage.shutdown();
+    }
+
+    @Test
+    void shutdown_sendsOpenDigestsAndLetsLaterRequestsThrough() {
+        DigestStage stage = stage(Duration.ofMinutes(1), 10, 100);
+        stage.apply(comment("user-1", "a"));
+
+        stage.shutdown();
+
+        assertEquals(1, sent.size());
+        assertNull(stage.apply(comment("user-1", "b")));
+    }
+
+    private DigestStage stage(Duration window, int maxOpen, int maxPerDigest) {
+        DigestStage stage = new DigestStage(DigestConfig.builder()
+            .window(window)
+            .maxOpenDigests(maxOpen)
+            .maxPerDigest(maxPerDigest)
+            .build(), DigestMerger.joinMessages("\n"));
+        stage.setSink(sent::add);
+        return stage;
+    }
+
+    private static NotificationRequest comment(String recipient, String body) {
+        return NotificationRequest.builder()
+            .channel(Channel.PUSH)
+            .recipient(recipient)
+            .title("New comments")
+            .body(body)
+            .digestKey("new-comment")
+            .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.agora.notification.exceptions;
 
+import com.agora.notification.models.ErrorCategory;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ExceptionsTest {
@@ -52,6 +55,23 @@ class ExceptionsTest {
         assertSame(cause, e.getCause());
     }
 
+    @Test
+    void providerException_classifiesStatusCodes() {
+        assertEquals(ErrorCategory.UNKNOWN, new ProviderException("P", "m").getCategory());
+        assertEquals(ErrorCategory.INVALID_REQUEST, new ProviderException("P", "m", 400).getCategory());
+        assertEquals(ErrorCategory.AUTHENTICATION, new ProviderException("P", "m", 401).getCategory());
+        assertEquals(ErrorCategory.AUTHENTICATION, new ProviderException("P", "m", 403).getCategory());
+        assertEquals(ErrorCategory.TRANSIENT, new ProviderException("P", "m", 503).getCategory());
+        assertEquals(ErrorCategory.TRANSIENT, new ProviderException("P", "m", 408).getCategory());
+
+        ProviderException throttled = new ProviderException("P", "m", 429, Duration.ofSeconds(3));
+        assertEquals(ErrorCategory.RATE_LIMITED, throttled.getCategory());
+        assertEquals(429, throttled.getStatusCode());
+        assertEquals(Duration.ofSeconds(3), throttled.getRetryAfter());
+        assertTrue(throttled.isRetryable());
+        assertFalse(new ProviderException("P", "m", 400).isRetryable());
+    }
+
     @Test
     void validationException_withMessage() {
         ValidationException e = new ValidationException("invalid email");
@@ -0,0 +1,106 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.AdaptiveLimitConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_refusesAboveLimitUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_withStableLatencyUnderLoad_growsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, FAST);
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() <= 100);
+    }
+
+    @Test
+    void onSuccess_whileMostlyIdle_keepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(FAST, 1);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_withRisingLatency_shrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 5, 100);
+        assertTrue(limiter.tryAcquire());
+        limiter.onSuccess(FAST, 50);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(SLOW, 50);
+        }
+
+        assertTrue(limiter.getLimit() < 50, "limit was " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 5);
+    }
+
+    @Test
+    void onDropped_cutsLimitButNotBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 15, 100);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(18, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertEquals(15, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void constructor_withInvalidConfig_throws() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(5, 10, 100));
+    }
+
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int limit = limiter.getLimit();
+        for (int i = 0; i < limit; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < limit; i++) {
+            limiter.onSuccess(rttNanos, limit);
+        }
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(AdaptiveLimitConfig.builder()
+            .initialLimit(initial)
+            .minLimit(min)
+            .maxLimit(max)
+            .build());
+    }
+}
@@ -0,0 +1,134 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.AdaptiveLimitConfig;
+import com.agora.notification.config.QuotaConfig;
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.exceptions.DeadlineExceededException;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitedProviderTest {
+
+    private final NotificationRequest request = NotificationRequest.builder()
+        .channel(Channel.SMS)
+        .recipient("+1234567890")
+        .message("Test")
+        .build();
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void sendAsync_aboveLimit_failsAsRateLimitedWithoutCallingDelegate() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        CompletableFuture<NotificationResult> pending = new CompletableFuture<>();
+        when(delegate.sendAsync(any(NotificationRequest.class))).thenReturn(pending);
+        ConcurrencyLimitedProvider provider = new ConcurrencyLimitedProvider(delegate, limiter(1));
+
+        provider.sendAsync(request);
+        CompletionException thrown = assertThrows(CompletionException.class, () -> provider.sendAsync(request).join());
+
+        ProviderException cause = assertInstanceOf(ProviderException.class, thrown.getCause());
+        assertEquals(ErrorCategory.RATE_LIMITED, cause.getCategory());
+        assertEquals("Twilio", cause.getProviderName());
+        verify(delegate, times(1)).sendAsync(any(NotificationRequest.class));
+
+        pending.complete(sent());
+        assertEquals(0, provider.getLimiter().getInFlight());
+    }
+
+    @Test
+    void sendAsync_onTransientFailure_shrinksLimit() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        when(delegate.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.failedFuture(
+            new ProviderException("Twilio", "503 Service Unavailable", 503)));
+        ConcurrencyLimitedProvider provider = new ConcurrencyLimitedProvider(delegate, limiter(20));
+
+        assertThrows(CompletionException.class, () -> provider.sendAsync(request).join());
+
+        assertEquals(18, provider.getLimiter().getLimit());
+        assertEquals(0, provider.getLimiter().getInFlight());
+    }
+
+    @Test
+    void sendAsync_cutShortByDeadline_leavesLimitUnchanged() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        when(delegate.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.failedFuture(
+            new DeadlineExceededException("Twilio", "Notification deadline reached after 150ms")));
+        ConcurrencyLimitedProvider provider = new ConcurrencyLimitedProvider(delegate, limiter(20));
+
+        assertThrows(CompletionException.class, () -> provider.sendAsync(request).join());
+
+        assertEquals(20, provider.getLimiter().getLimit());
+        assertEquals(0, provider.getLimiter().getInFlight());
+    }
+
+    @Test
+    void sendAsync_refusedBySharedQuota_leavesLimitUnchanged() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        when(delegate.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.completedFuture(sent()));
+        ConcurrencyLimitedProvider provider = new ConcurrencyLimitedProvider(new QuotaLimitedProvider(delegate,
+            new SharedRateLimiter(new InMemoryQuotaStore(now::get), QuotaConfig.builder()
+                .name("twilio").ratePerSecond(10).burst(1).chunkSize(1).leaseDuration(Duration.ofSeconds(1)).build(), now::get)),
+            limiter(20));
+
+        provider.sendAsync(request).join();
+        CompletionException thrown = assertThrows(CompletionException.class, () -> provider.sendAsync(request).join());
+
+        assertInstanceOf(QuotaExceededException.class, thrown.getCause());
+        assertEquals(20, provider.getLimiter().getLimit());
+        assertEquals(0, provider.getLimiter().getInFlight());
+    }
+
+    @Test
+    void sendAsync_delegateReturnsNoResult_releasesSlot() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        when(delegate.sendAsync(any(NotificationRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(null))
+            .thenReturn(null);
+        ConcurrencyLimitedProvider provider = new ConcurrencyLimitedProvider(delegate, limiter(20));
+
+        assertNull(provider.sendAsync(request).join());
+        assertThrows(CompletionException.class, () -> provider.sendAsync(request).join());
+
+        assertEquals(20, provider.getLimiter().getLimit());
+        assertEquals(0, provider.getLimiter().getInFlight());
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial) {
+        return new AdaptiveConcurrencyLimiter(AdaptiveLimitConfig.builder()
+            .initialLimit(initial)
+            .minLimit(1)
+            .maxLimit(100)
+            .build());
+    }
+
+    private static NotificationResult sent() {
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("Twilio")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.agora.notification.limiting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinWindowCounterTest {
+
+    @Test
+    void tryAcquire_keepsCountingAcrossSubWindowsClearedBySweep() {
+        CountMinWindowCounter counter = new CountMinWindowCounter(2, 8_000, 1 << 10);
+        assertTrue(counter.tryAcquire("+15550100", 0));
+
+        for (long now = 0; now <= 3_000; now += counter.sweepIntervalMs()) {
+            counter.evictExpired(now);
+        }
+        assertTrue(counter.tryAcquire("+15550100", 3_000));
+        assertFalse(counter.tryAcquire("+15550100", 3_500), "both sends are still in the window");
+
+        for (long now = 3_000; now <= 9_000; now += counter.sweepIntervalMs()) {
+            counter.evictExpired(now);
+        }
+        assertTrue(counter.tryAcquire("+15550100", 9_000), "the first send has left the window");
+        assertFalse(counter.tryAcquire("+15550100", 9_500));
+    }
+
+    @Test
+    void tryAcquire_concurrentSendsAtARolloverAreAllCounted() throws Exception {
+        for (int round = 0; round < 50; round++) {
+            CountMinWindowCounter counter = new CountMinWindowCounter(100, 8_000, 1 << 10);
+            // The sweep never ran, so the senders of the new sub-window clear its sketch themselves
+            counter.tryAcquire("other", 0);
+            long rollover = 9_000;
+            AtomicInteger admitted = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                for (int i = 0; i < 400; i++) {
+                    executor.execute(() -> {
+                        if (counter.tryAcquire("+15550100", rollover)) {
+                            admitted.incrementAndGet();
+                        }
+                    });
+                }
+            } finally {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            }
+
+            // Concurrent checks may pass at the edge of the cap, but no send goes uncounted
+            assertTrue(admitted.get() <= 100 + 4, "admitted " + admitted.get());
+            assertFalse(counter.tryAcquire("+15550100", rollover));
+        }
+    }
+
+    @Test
+    void sweepIntervalMs_isHalfASubWindow() {
+        assertEquals(500, new CountMinWindowCounter(3, 8_000, 0).sweepIntervalMs());
+    }
+}
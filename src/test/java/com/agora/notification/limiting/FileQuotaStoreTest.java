@@ -0,0 +1,34 @@
+package com.agora.notification.limiting;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileQuotaStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void lease_sharesBucketBetweenStoresOnSameDirectory() {
+        try (FileQuotaStore a = new FileQuotaStore(tempDir, now::get);
+             FileQuotaStore b = new FileQuotaStore(tempDir, now::get)) {
+            assertEquals(4, a.lease("twilio", 10, 6, 4));
+            assertEquals(2, b.lease("twilio", 10, 6, 4));
+            assertEquals(0, a.lease("twilio", 10, 6, 4));
+
+            b.release("twilio", 6, 1);
+            now.addAndGet(100); // refills 1 token
+            assertEquals(2, a.lease("twilio", 10, 6, 4));
+        }
+        try (FileQuotaStore reopened = new FileQuotaStore(tempDir, now::get)) {
+            assertEquals(0, reopened.lease("twilio", 10, 6, 4));
+        }
+    }
+}
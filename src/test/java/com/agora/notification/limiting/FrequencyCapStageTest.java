@@ -0,0 +1,107 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.FrequencyCapConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencyCapStageTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void apply_capsSendsPerRecipientWithinSlidingWindow() {
+        FrequencyCapStage stage = new FrequencyCapStage(Map.of(Channel.SMS, cap(3, false)), now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(stage.apply(sms("+15551234567")));
+            now.addAndGet(Duration.ofMinutes(10).toMillis());
+        }
+        NotificationResult capped = stage.apply(sms("+15551234567"));
+        assertEquals(NotificationStatus.THROTTLED, capped.getStatus());
+        assertFalse(capped.isSuccess());
+        assertNull(stage.apply(sms("+15559999999")), "other recipients are counted separately");
+
+        now.addAndGet(Duration.ofMinutes(31).toMillis());
+        assertNull(stage.apply(sms("+15551234567")), "the first send left the window");
+        assertNotNull(stage.apply(sms("+15551234567")));
+    }
+
+    @Test
+    void apply_countsDifferentSpellingsOfOneRecipientTogether() {
+        FrequencyCapStage stage = new FrequencyCapStage(Map.of(Channel.SMS, cap(2, false), Channel.PUSH, cap(1, false)), now::get);
+
+        assertNull(stage.apply(sms("+1 555-0100")));
+        assertNull(stage.apply(sms("+1 (555) 0100")));
+        assertEquals(NotificationStatus.THROTTLED, stage.apply(sms(" +15550100")).getStatus());
+
+        // Push tokens are case-sensitive: these are two devices
+        assertNull(stage.apply(push("fcm-Token-A")));
+        assertNull(stage.apply(push("fcm-token-a")));
+        assertNotNull(stage.apply(push("fcm-Token-A")));
+    }
+
+    @Test
+    void sweep_keepsCountsOfRecipientsStillInTheirWindow() {
+        FrequencyCapStage stage = new FrequencyCapStage(Map.of(Channel.SMS, cap(1, false)), now::get);
+        assertNull(stage.apply(sms("+15550100")));
+        assertNotNull(stage.apply(sms("+15550100")));
+
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        stage.sweep();
+        assertNotNull(stage.apply(sms("+15550100")));
+
+        now.addAndGet(Duration.ofMinutes(30).toMillis());
+        stage.sweep();
+        stage.shutdown();
+        assertNull(stage.apply(sms("+15550100")));
+    }
+
+    @Test
+    void apply_ignoresChannelsWithoutCap() {
+        FrequencyCapStage stage = new FrequencyCapStage(Map.of(Channel.SMS, cap(1, false)), now::get);
+        NotificationRequest email = NotificationRequest.builder()
+            .channel(Channel.EMAIL).recipient("user@example.com").subject("s").message("m").build();
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(stage.apply(email));
+        }
+    }
+
+    @Test
+    void approximateMode_neverAdmitsMoreThanCap() {
+        FrequencyCapStage stage = new FrequencyCapStage(Map.of(Channel.SMS, cap(3, true)), now::get);
+
+        for (int recipient = 0; recipient < 1_000; recipient++) {
+            int admitted = 0;
+            for (int i = 0; i < 5; i++) {
+                if (stage.apply(sms("+1555" + recipient)) == null) {
+                    admitted++;
+                }
+            }
+            assertTrue(admitted <= 3);
+        }
+        now.addAndGet(Duration.ofHours(2).toMillis());
+        assertNull(stage.apply(sms("+15550")), "old sub-windows no longer count");
+    }
+
+    private static FrequencyCapConfig cap(int maxSends, boolean approximate) {
+        return FrequencyCapConfig.builder().maxSends(maxSends).window(Duration.ofHours(1)).approximate(approximate).build();
+    }
+
+    private static NotificationRequest push(String token) {
+        return NotificationRequest.builder().channel(Channel.PUSH).recipient(token).title("t").body("b").build();
+    }
+
+    private static NotificationRequest sms(String recipient) {
+        return NotificationRequest.builder().channel(Channel.SMS).recipient(recipient).message("Code: 1234").build();
+    }
+}
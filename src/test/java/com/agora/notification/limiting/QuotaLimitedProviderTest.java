@@ -0,0 +1,86 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.QuotaConfig;
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class QuotaLimitedProviderTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void sendAsync_whenExhausted_failsAsRateLimitedWithoutCallingDelegate() {
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        when(delegate.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.completedFuture(sent()));
+        QuotaLimitedProvider provider = new QuotaLimitedProvider(delegate,
+            new SharedRateLimiter(new InMemoryQuotaStore(now::get), config(1, 1), now::get));
+
+        assertTrue(provider.sendAsync(request()).join().isSuccess());
+        CompletionException thrown = assertThrows(CompletionException.class, () -> provider.sendAsync(request()).join());
+
+        ProviderException cause = assertInstanceOf(ProviderException.class, thrown.getCause());
+        assertEquals(ErrorCategory.RATE_LIMITED, cause.getCategory());
+        verify(delegate, times(1)).sendAsync(any(NotificationRequest.class));
+    }
+
+    @Test
+    void sendAsync_whenStoreFails_failsAsTransient() {
+        QuotaStore store = mock(QuotaStore.class);
+        when(store.lease(anyString(), anyDouble(), anyLong(), anyLong())).thenThrow(new IllegalStateException("down"));
+        AsyncNotificationProvider delegate = mock(AsyncNotificationProvider.class);
+        when(delegate.getName()).thenReturn("Twilio");
+        QuotaLimitedProvider provider = new QuotaLimitedProvider(delegate, new SharedRateLimiter(store, config(10, 5), now::get));
+
+        CompletionException thrown = assertThrows(CompletionException.class, () -> provider.sendAsync(request()).join());
+
+        assertEquals(ErrorCategory.TRANSIENT, assertInstanceOf(ProviderException.class, thrown.getCause()).getCategory());
+        verify(delegate, never()).sendAsync(any(NotificationRequest.class));
+    }
+
+    private static QuotaConfig config(long burst, int chunkSize) {
+        return QuotaConfig.builder()
+            .name("twilio")
+            .ratePerSecond(10)
+            .burst(burst)
+            .chunkSize(chunkSize)
+            .leaseDuration(Duration.ofSeconds(1))
+            .build();
+    }
+
+    private static NotificationRequest request() {
+        return NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Test")
+            .build();
+    }
+
+    private static NotificationResult sent() {
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("Twilio")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.agora.notification.limiting;
+
+import com.agora.notification.config.QuotaConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SharedRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    void tryAcquire_leasesInChunks_andSharesBudgetAcrossInstances() {
+        QuotaStore store = spy(new InMemoryQuotaStore(now::get));
+        SharedRateLimiter first = new SharedRateLimiter(store, config(10, 5), now::get);
+        SharedRateLimiter second = new SharedRateLimiter(store, config(10, 5), now::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(first.tryAcquire());
+        }
+        verify(store, times(1)).lease(eq("twilio"), anyDouble(), anyLong(), eq(5L));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(second.tryAcquire());
+        }
+        assertFalse(first.tryAcquire());
+        assertFalse(second.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_afterRefill_leasesAgain() {
+        SharedRateLimiter limiter = new SharedRateLimiter(new InMemoryQuotaStore(now::get), config(2, 2), now::get);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        now.addAndGet(200); // 10 per second refills 2 tokens
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_afterEmptyGrant_backsOffBeforeAskingStoreAgain() {
+        QuotaStore store = spy(new InMemoryQuotaStore(now::get));
+        SharedRateLimiter limiter = new SharedRateLimiter(store, config(1, 1), now::get);
+        assertTrue(limiter.tryAcquire());
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(limiter.tryAcquire());
+        }
+        verify(store, times(2)).lease(anyString(), anyDouble(), anyLong(), anyLong());
+
+        now.addAndGet(100); // 1/ratePerSecond
+        assertTrue(limiter.tryAcquire());
+        verify(store, times(3)).lease(anyString(), anyDouble(), anyLong(), anyLong());
+    }
+
+    @Test
+    void expiredLease_returnsUnusedTokensToStore() {
+        InMemoryQuotaStore store = new InMemoryQuotaStore(now::get);
+        SharedRateLimiter idle = new SharedRateLimiter(store, config(10, 10), now::get);
+        SharedRateLimiter busy = new SharedRateLimiter(store, config(10, 10), now::get);
+        assertTrue(idle.tryAcquire());
+        assertEquals(9, idle.getLocalTokens());
+        assertFalse(busy.tryAcquire());
+
+        idle.releaseUnused();
+        now.addAndGet(100); // past the busy limiter's backoff, refilling 1 token
+
+        assertEquals(0, idle.getLocalTokens());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(busy.tryAcquire());
+        }
+        assertFalse(busy.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_afterLeaseExpiry_releasesRemainderBeforeLeasing() {
+        QuotaStore store = spy(new InMemoryQuotaStore(now::get));
+        SharedRateLimiter limiter = new SharedRateLimiter(store, config(10, 5), now::get);
+        assertTrue(limiter.tryAcquire());
+
+        now.addAndGet(1_001);
+        assertTrue(limiter.tryAcquire());
+
+        verify(store).release("twilio", 10, 4);
+        verify(store, times(2)).lease(anyString(), anyDouble(), anyLong(), anyLong());
+    }
+
+    private static QuotaConfig config(long burst, int chunkSize) {
+        return QuotaConfig.builder()
+            .name("twilio")
+            .ratePerSecond(10)
+            .burst(burst)
+            .chunkSize(chunkSize)
+            .leaseDuration(Duration.ofSeconds(1))
+            .build();
+    }
+}
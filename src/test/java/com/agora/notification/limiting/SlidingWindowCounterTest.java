@@ -0,0 +1,110 @@
+package com.agora.notification.limiting;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    void tryAcquire_concurrentSendsAdmitExactlyCap() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(50, 60_000);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            executor.execute(() -> {
+                if (counter.tryAcquire("user", 1_000)) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, admitted.get());
+    }
+
+    @Test
+    void tryAcquire_concurrentSendsToOneKeyNeverExceedCap() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            SlidingWindowCounter counter = new SlidingWindowCounter(2, 60_000);
+            AtomicInteger admitted = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                for (int i = 0; i < 16; i++) {
+                    executor.execute(() -> {
+                        if (counter.tryAcquire("+15550100", 1_000)) {
+                            admitted.incrementAndGet();
+                        }
+                    });
+                }
+            } finally {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            }
+            assertEquals(2, admitted.get());
+        }
+    }
+
+    @Test
+    void evictExpired_removesIdleRecipients() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(2, 1_000);
+        counter.tryAcquire("a", 0);
+        counter.tryAcquire("b", 900);
+
+        counter.evictExpired(1_500);
+
+        assertEquals(1, counter.size());
+        assertTrue(counter.tryAcquire("b", 1_500));
+        assertFalse(counter.tryAcquire("b", 1_600));
+    }
+
+    @Test
+    void evictExpired_racingSendsToTheEvictedKey_neverExceedsCap() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (int round = 0; round < 500; round++) {
+                SlidingWindowCounter counter = new SlidingWindowCounter(1, 1_000);
+                assertTrue(counter.tryAcquire("+15550100", 0));
+                AtomicInteger admitted = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                Runnable send = () -> {
+                    await(start);
+                    if (counter.tryAcquire("+15550100", 1_000)) {
+                        admitted.incrementAndGet();
+                    }
+                };
+                Future<?> first = executor.submit(send);
+                Future<?> sweep = executor.submit(() -> {
+                    await(start);
+                    counter.evictExpired(1_000);
+                });
+                Future<?> second = executor.submit(send);
+                start.countDown();
+                first.get(5, TimeUnit.SECONDS);
+                sweep.get(5, TimeUnit.SECONDS);
+                second.get(5, TimeUnit.SECONDS);
+
+                assertEquals(1, admitted.get(), "round " + round);
+                assertFalse(counter.tryAcquire("+15550100", 1_500));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.agora.notification.monitoring;
+
+import com.agora.notification.channels.EmailChannel;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.events.NotificationEventPublisher;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.retry.ExponentialBackoffRetry;
+import com.agora.notification.retry.RetryConfig;
+import com.agora.notification.retry.RetryExecutor;
+import com.agora.notification.service.NotificationChannelRegistry;
+import com.agora.notification.service.SyncNotificationService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationJfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void send_withRetryAndRecordingEnabled_emitsLifecycleEvents() throws Exception {
+        NotificationProvider provider = mock(NotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        when(provider.isConfigured()).thenReturn(true);
+        when(provider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "503 Service Unavailable"))
+            .thenReturn(NotificationResult.builder()
+                .success(true)
+                .status(NotificationStatus.SENT)
+                .providerName("TestProvider")
+                .timestamp(Instant.now())
+                .attemptNumber(1)
+                .build());
+
+        RetryConfig retryConfig = RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(5)
+            .maxDelayMs(10)
+            .backoffMultiplier(1.0)
+            .retryOnFailure(true)
+            .build();
+        NotificationChannelRegistry registry = new NotificationChannelRegistry();
+        registry.register(new EmailChannel(provider, new RetryExecutor(new ExponentialBackoffRetry(retryConfig))));
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        SyncNotificationService service = new SyncNotificationService(registry, publisher);
+        service.subscribe(event -> { });
+
+        Path dump = tempDir.resolve("notification.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(NotificationSendEvent.class);
+            recording.enable(ProviderCallEvent.class);
+            recording.enable(RetryBackoffEvent.class);
+            recording.enable(EventDispatchEvent.class);
+            recording.start();
+
+            service.send(NotificationRequest.builder()
+                .channel(Channel.EMAIL)
+                .recipient("user@example.com")
+                .subject("Test")
+                .message("Test message")
+                .build());
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        List<RecordedEvent> sends = byName(events, "com.agora.notification.NotificationSend");
+        assertEquals(1, sends.size());
+        assertEquals("EMAIL", sends.get(0).getString("channel"));
+        assertEquals("TestProvider", sends.get(0).getString("provider"));
+        assertEquals(2, sends.get(0).getInt("attempt"));
+        assertEquals("SENT", sends.get(0).getString("outcome"));
+
+        List<RecordedEvent> calls = byName(events, "com.agora.notification.ProviderCall");
+        assertEquals(2, calls.size());
+        assertTrue(calls.stream().anyMatch(e -> "ERROR".equals(e.getString("outcome")) && e.getInt("attempt") == 1));
+        assertTrue(calls.stream().anyMatch(e -> "SENT".equals(e.getString("outcome")) && e.getInt("attempt") == 2));
+
+        List<RecordedEvent> backoffs = byName(events, "com.agora.notification.RetryBackoff");
+        assertEquals(1, backoffs.size());
+        assertEquals(2, backoffs.get(0).getInt("attempt"));
+        assertEquals("COMPLETED", backoffs.get(0).getString("outcome"));
+
+        List<RecordedEvent> dispatches = byName(events, "com.agora.notification.EventDispatch");
+        assertEquals(2, dispatches.size());
+        assertTrue(dispatches.stream().allMatch(e -> e.getInt("listeners") == 1));
+    }
+
+    @Test
+    void executeWithRetry_providerThrowsUnexpectedException_commitsTheProviderCall() throws Exception {
+        NotificationProvider provider = mock(NotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        when(provider.send(any(NotificationRequest.class))).thenThrow(new IllegalStateException("client closed"));
+        RetryExecutor retryExecutor = new RetryExecutor(new ExponentialBackoffRetry(RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(5)
+            .retryOnFailure(true)
+            .build()));
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        Path dump = tempDir.resolve("unexpected.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ProviderCallEvent.class);
+            recording.start();
+
+            assertThrows(IllegalStateException.class, () -> retryExecutor.executeWithRetry(provider, request));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> calls = byName(RecordingFile.readAllEvents(dump), "com.agora.notification.ProviderCall");
+        assertEquals(1, calls.size());
+        assertEquals("ERROR", calls.get(0).getString("outcome"));
+        assertEquals("client closed", calls.get(0).getString("error"));
+    }
+
+    @Test
+    void events_withoutRecording_areNotCommittedAndDoNotThrow() {
+        NotificationSendEvent event = new NotificationSendEvent();
+        event.begin();
+        assertDoesNotThrow(() -> event.complete("id", "EMAIL", null));
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+}
@@ -6,6 +6,8 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -160,6 +162,33 @@ class MailgunEmailProviderTest {
         });
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            MailgunEmailProvider httpProvider = new MailgunEmailProvider(EmailConfig.builder()
+                .apiKey("key-valid_api_key_12345678901234567890")
+                .fromEmail("sender@example.com")
+                .fromName("Test Sender")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(5000)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/v3/example.com/messages", received.path());
+            assertTrue(received.header("Authorization").startsWith("Basic "));
+            assertTrue(received.body().contains("to=recipient%40example.com"));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.EMAIL)
@@ -6,6 +6,8 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -117,6 +119,33 @@ class SendGridEmailProviderTest {
         assertThrows(ProviderException.class, () -> providerWithShortKey.send(request));
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            SendGridEmailProvider httpProvider = new SendGridEmailProvider(EmailConfig.builder()
+                .apiKey(VALID_API_KEY)
+                .fromEmail("sender@example.com")
+                .fromName("Test Sender")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(TIMEOUT_MS)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/v3/mail/send", received.path());
+            assertEquals("Bearer " + VALID_API_KEY, received.header("Authorization"));
+            assertTrue(received.body().contains("\"subject\":\"Test Subject\""));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.EMAIL)
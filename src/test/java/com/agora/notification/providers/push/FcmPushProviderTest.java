@@ -3,9 +3,12 @@ package com.agora.notification.providers.push;
 import com.agora.notification.config.PushConfig;
 import com.agora.notification.exceptions.ProviderException;
 import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -89,6 +92,58 @@ class FcmPushProviderTest {
         assertThrows(ProviderException.class, () -> providerWithShortKey.send(request));
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            FcmPushProvider httpProvider = new FcmPushProvider(PushConfig.builder()
+                .serverKey("AAAA1234567890:APA91bH1234567890abcdefghijklmnopqrstuvwxyz1234567890ABCDEFGHIJ")
+                .appId("test-project")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(5000)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/v1/projects/test-project/messages:send", received.path());
+            assertTrue(received.header("Authorization").startsWith("Bearer "));
+            assertTrue(received.body().contains("\"token\""));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
+    @Test
+    void sendAsync_withTransport_unregisteredTokenFailsAsInvalidRecipient() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            FcmPushProvider httpProvider = new FcmPushProvider(PushConfig.builder()
+                .serverKey("AAAA1234567890:APA91bH1234567890abcdefghijklmnopqrstuvwxyz1234567890ABCDEFGHIJ")
+                .appId("test-project")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(5000)
+                .build(), transport);
+            server.respondWith(404, "{\"error\":{\"code\":404,\"status\":\"NOT_FOUND\",\"details\":[{\"errorCode\":\"UNREGISTERED\"}]}}");
+            
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            
+            assertEquals(ErrorCategory.INVALID_RECIPIENT, error.getCategory());
+            assertFalse(error.isRetryable());
+        }
+    }
+    
+    @Test
+    void isInvalidToken_matchesOnlyTokenErrors() {
+        assertTrue(FcmPushProvider.isInvalidToken(400, "{\"error\":{\"message\":\"The registration token is not a valid FCM registration token\"}}"));
+        assertFalse(FcmPushProvider.isInvalidToken(404, "{\"error\":{\"status\":\"NOT_FOUND\"}}"));
+        assertFalse(FcmPushProvider.isInvalidToken(500, "UNREGISTERED"));
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.PUSH)
@@ -3,9 +3,12 @@ package com.agora.notification.providers.push;
 import com.agora.notification.config.PushConfig;
 import com.agora.notification.exceptions.ProviderException;
 import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -91,6 +94,49 @@ class OneSignalProviderTest {
         assertThrows(ProviderException.class, () -> providerWithShortCreds.send(request));
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            OneSignalProvider httpProvider = new OneSignalProvider(PushConfig.builder()
+                .apiKey("12345678-1234-1234-1234-123456789012")
+                .appId("12345678-1234-1234-1234-123456789012")
+                .apiUrl(server.baseUrl() + "/api/v1")
+                .timeoutMs(5000)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/api/v1/notifications", received.path());
+            assertTrue(received.body().contains("\"app_id\""));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
+    @Test
+    void sendAsync_withTransport_invalidPlayerIdFailsAsInvalidRecipientDespite200() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            OneSignalProvider httpProvider = new OneSignalProvider(PushConfig.builder()
+                .apiKey("12345678-1234-1234-1234-123456789012")
+                .appId("12345678-1234-1234-1234-123456789012")
+                .apiUrl(server.baseUrl() + "/api/v1")
+                .timeoutMs(5000)
+                .build(), transport);
+            server.respondWith(200, "{\"id\":\"\",\"errors\":{\"invalid_player_ids\":[\"device_token_1234567890\"]}}");
+            
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            
+            assertEquals(ErrorCategory.INVALID_RECIPIENT, error.getCategory());
+        }
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.PUSH)
@@ -6,6 +6,8 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +95,32 @@ class AwsSnsProviderTest {
         assertThrows(ProviderException.class, () -> providerWithShortCreds.send(request));
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            AwsSnsProvider httpProvider = new AwsSnsProvider(SmsConfig.builder()
+                .apiKey("AKIAIOSFODNN7EXAMPLE12345")
+                .apiSecret("wJalrXUtnFEMI/K7MDENG/bPxRfiCYEXAMPLEKEY12345")
+                .region("us-east-1")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(5000)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/", received.path());
+            assertTrue(received.body().startsWith("Action=Publish"));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.SMS)
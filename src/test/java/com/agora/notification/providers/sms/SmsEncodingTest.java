@@ -0,0 +1,81 @@
+package com.agora.notification.providers.sms;
+
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SmsEncodingTest {
+
+    @Test
+    void charsetOf_singleNonGsmCharacterSwitchesToUcs2() {
+        assertEquals(SmsEncoding.Charset.GSM_7, SmsEncoding.charsetOf("Your code is 1234 @ £5 {ok} €"));
+        assertEquals(SmsEncoding.Charset.UCS_2, SmsEncoding.charsetOf("Your code is 1234 – thanks"));
+        assertEquals(SmsEncoding.Charset.UCS_2, SmsEncoding.charsetOf("Hi 😀"));
+    }
+
+    @Test
+    void segmentCount_followsGsmAndUcs2PartSizes() {
+        assertEquals(0, SmsEncoding.segmentCount(null));
+        assertEquals(1, SmsEncoding.segmentCount(""));
+        assertEquals(1, SmsEncoding.segmentCount("a".repeat(160)));
+        assertEquals(2, SmsEncoding.segmentCount("a".repeat(161)));
+        assertEquals(3, SmsEncoding.segmentCount("a".repeat(307)));
+        // Extension characters take two septets
+        assertEquals(2, SmsEncoding.segmentCount("{".repeat(81)));
+        assertEquals(1, SmsEncoding.segmentCount("á".repeat(70)));
+        assertEquals(2, SmsEncoding.segmentCount("á".repeat(71)));
+        // 160 GSM characters become 3 parts with one en dash
+        assertEquals(3, SmsEncoding.segmentCount("a".repeat(159) + "–"));
+    }
+
+    @Test
+    void segmentCount_neverSplitsEscapesOrSurrogatePairs() {
+        // 152 basic characters leave one septet in the first part, too little for '€'
+        assertEquals(2, SmsEncoding.segmentCount("a".repeat(152) + "€" + "a".repeat(151)));
+        assertEquals(3, SmsEncoding.segmentCount("a".repeat(152) + "€" + "a".repeat(152)));
+        String emoji = "😀";
+        assertEquals(2, SmsEncoding.segmentCount("a".repeat(66) + emoji + "a".repeat(65)));
+        assertEquals(3, SmsEncoding.segmentCount("a".repeat(66) + emoji + "a".repeat(66)));
+    }
+
+    @Test
+    void transliterate_replacesLookAlikesOnlyWhenResultIsGsm7() {
+        assertEquals("It's 5-10 min... \"ok\" Café a las 3", 
+            SmsEncoding.transliterate("It’s 5–10 min… “ok” Café a lás 3"));
+        assertEquals("Ça va", SmsEncoding.transliterate("ça va"));
+        String withEmoji = "It’s done 😀";
+        assertSame(withEmoji, SmsEncoding.transliterate(withEmoji));
+        assertEquals("café", SmsEncoding.transliterate("café"), "é is GSM-7 already");
+    }
+
+    @Test
+    void provider_sendsTransliteratedMessageAndReportsSegments() {
+        NotificationProvider delegate = mock(NotificationProvider.class);
+        when(delegate.sendAsync(any())).thenCallRealMethod();
+        when(delegate.send(any())).thenReturn(NotificationResult.builder()
+            .success(true).status(NotificationStatus.SENT).providerName("Twilio").timestamp(Instant.now()).build());
+        SmsEncodingProvider provider = new SmsEncodingProvider(delegate, true);
+
+        NotificationResult result = provider.send(NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("a".repeat(150) + " — ok")
+            .build());
+
+        ArgumentCaptor<NotificationRequest> sent = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(delegate).send(sent.capture());
+        assertEquals("a".repeat(150) + " - ok", sent.getValue().getMessage());
+        assertEquals(1, result.getSegmentCount());
+        assertTrue(result.isSuccess());
+    }
+}
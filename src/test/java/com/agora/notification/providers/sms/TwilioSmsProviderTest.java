@@ -6,6 +6,8 @@ import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.transport.HttpTransport;
+import com.agora.notification.transport.StubHttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -93,6 +95,33 @@ class TwilioSmsProviderTest {
         assertThrows(ProviderException.class, () -> providerWithShortCreds.send(request));
     }
     
+    @Test
+    void sendAsync_withTransport_postsToProviderApiAndParsesResponse() throws Exception {
+        try (StubHttpServer server = StubHttpServer.start(); HttpTransport transport = new HttpTransport()) {
+            TwilioSmsProvider httpProvider = new TwilioSmsProvider(SmsConfig.builder()
+                .accountSid("test-twilio-account-sid")
+                .authToken("test-auth-token")
+                .fromNumber("+1234567890")
+                .apiUrl(server.baseUrl())
+                .timeoutMs(5000)
+                .build(), transport);
+            
+            NotificationResult result = httpProvider.sendAsync(createValidRequest()).join();
+            
+            assertTrue(result.isSuccess());
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            StubHttpServer.Received received = server.requests().get(0);
+            assertEquals("/2010-04-01/Accounts/test-twilio-account-sid/Messages.json", received.path());
+            assertTrue(received.header("Authorization").startsWith("Basic "));
+            assertTrue(received.body().contains("From=%2B1234567890"));
+            
+            server.respondWith(500, "{\"error\":\"unavailable\"}");
+            ProviderException error = assertThrows(ProviderException.class, 
+                () -> httpProvider.send(createValidRequest()));
+            assertTrue(error.getMessage().contains("500"));
+        }
+    }
+    
     private NotificationRequest createValidRequest() {
         return NotificationRequest.builder()
             .channel(Channel.SMS)
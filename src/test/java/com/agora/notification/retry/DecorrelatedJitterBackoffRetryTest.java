@@ -0,0 +1,47 @@
+package com.agora.notification.retry;
+
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecorrelatedJitterBackoffRetryTest {
+    
+    private final DecorrelatedJitterBackoffRetry retryPolicy = new DecorrelatedJitterBackoffRetry(RetryConfig.builder()
+        .maxAttempts(10)
+        .initialDelayMs(100)
+        .maxDelayMs(5000)
+        .backoffMultiplier(2.0)
+        .retryOnFailure(true)
+        .jitter(JitterStrategy.DECORRELATED)
+        .build());
+    
+    @Test
+    void calculateDelayMs_growsFromPreviousDelayWithinCap() {
+        assertEquals(0, retryPolicy.calculateDelayMs(1, 0, null));
+        
+        long previous = 0;
+        for (int attempt = 2; attempt <= 10; attempt++) {
+            long delay = retryPolicy.calculateDelayMs(attempt, previous, null);
+            long upper = Math.min(5000, Math.max(100, previous) * 3);
+            assertTrue(delay >= 100 && delay <= upper, "Attempt " + attempt + " out of range: " + delay);
+            previous = delay;
+        }
+    }
+    
+    @Test
+    void calculateDelayMs_honoursRetryAfterHint() {
+        NotificationResult throttled = NotificationResult.builder()
+            .success(false)
+            .status(NotificationStatus.FAILED)
+            .timestamp(Instant.now())
+            .retryAfter(Duration.ofMillis(4000))
+            .build();
+        
+        assertTrue(retryPolicy.calculateDelayMs(2, 0, throttled) >= 4000);
+    }
+}
@@ -0,0 +1,32 @@
+package com.agora.notification.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EqualJitterBackoffRetryTest {
+    
+    private final EqualJitterBackoffRetry retryPolicy = new EqualJitterBackoffRetry(RetryConfig.builder()
+        .maxAttempts(5)
+        .initialDelayMs(1000)
+        .maxDelayMs(10000)
+        .backoffMultiplier(2.0)
+        .retryOnFailure(true)
+        .jitter(JitterStrategy.EQUAL)
+        .build());
+    
+    @Test
+    void calculateDelayMs_keepsAtLeastHalfTheExponentialDelay() {
+        assertEquals(0, retryPolicy.calculateDelayMs(1));
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 1_000; i++) {
+            long delay = retryPolicy.calculateDelayMs(4);
+            assertTrue(delay >= 2000 && delay <= 4000, "Out of range: " + delay);
+            delays.add(delay);
+        }
+        assertTrue(delays.size() > 100);
+    }
+}
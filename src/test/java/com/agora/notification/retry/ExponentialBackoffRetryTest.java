@@ -1,10 +1,12 @@
 package com.agora.notification.retry;
 
+import com.agora.notification.models.ErrorCategory;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -127,6 +129,34 @@ class ExponentialBackoffRetryTest {
             .build();
     }
     
+    @Test
+    void shouldRetry_skipsNonRetryableCategories() {
+        NotificationResult base = createFailureResult();
+        
+        assertFalse(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.INVALID_REQUEST).build(), 1));
+        assertFalse(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.AUTHENTICATION).build(), 1));
+        assertFalse(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.CONFIGURATION).build(), 1));
+        assertTrue(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.TRANSIENT).build(), 1));
+        assertTrue(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.RATE_LIMITED).build(), 1));
+        assertTrue(retryPolicy.shouldRetry(base.toBuilder().errorCategory(ErrorCategory.UNKNOWN).build(), 1));
+    }
+    
+    @Test
+    void retryAfter_extendsDelayAndStopsRetriesBeyondMaxDelay() {
+        NotificationResult shortHint = createFailureResult().toBuilder()
+            .errorCategory(ErrorCategory.RATE_LIMITED)
+            .retryAfter(Duration.ofSeconds(5))
+            .build();
+        NotificationResult longHint = shortHint.toBuilder()
+            .retryAfter(Duration.ofSeconds(60))
+            .build();
+        
+        assertEquals(5000, retryPolicy.calculateDelayMs(2, shortHint));
+        assertEquals(4000, retryPolicy.calculateDelayMs(4, createFailureResult()));
+        assertTrue(retryPolicy.shouldRetry(shortHint, 1));
+        assertFalse(retryPolicy.shouldRetry(longHint, 1));
+    }
+    
     private NotificationResult createFailureResult() {
         return NotificationResult.builder()
             .success(false)
@@ -0,0 +1,41 @@
+package com.agora.notification.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FullJitterBackoffRetryTest {
+    
+    private final FullJitterBackoffRetry retryPolicy = new FullJitterBackoffRetry(RetryConfig.builder()
+        .maxAttempts(5)
+        .initialDelayMs(1000)
+        .maxDelayMs(10000)
+        .backoffMultiplier(2.0)
+        .retryOnFailure(true)
+        .jitter(JitterStrategy.FULL)
+        .build());
+    
+    @Test
+    void calculateDelayMs_staysWithinZeroAndExponentialDelay() {
+        assertEquals(0, retryPolicy.calculateDelayMs(1));
+        for (int i = 0; i < 1_000; i++) {
+            long delay = retryPolicy.calculateDelayMs(3);
+            assertTrue(delay >= 0 && delay <= 2000, "Out of range: " + delay);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(retryPolicy.calculateDelayMs(10) <= 10000);
+        }
+    }
+    
+    @Test
+    void calculateDelayMs_spreadsRetriesOfTheSameAttempt() {
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            delays.add(retryPolicy.calculateDelayMs(2));
+        }
+        assertTrue(delays.size() > 50, "Expected spread-out delays, got " + delays.size() + " distinct values");
+    }
+}
@@ -0,0 +1,73 @@
+package com.agora.notification.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+    
+    @Test
+    void tryAcquire_startsFullAndRefusesWhenEmpty() {
+        RetryBudget budget = new RetryBudget(0.1, 3);
+        
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        
+        assertEquals(3, budget.getGrantedCount());
+        assertEquals(1, budget.getExhaustedCount());
+    }
+    
+    @Test
+    void recordFirstAttemptSuccess_refillsByRatioUpToMaxTokens() {
+        RetryBudget budget = new RetryBudget(0.25, 2);
+        budget.tryAcquire();
+        budget.tryAcquire();
+        assertFalse(budget.tryAcquire());
+        
+        for (int i = 0; i < 4; i++) {
+            budget.recordFirstAttemptSuccess();
+        }
+        assertEquals(1.0, budget.getAvailableTokens(), 1e-9);
+        assertTrue(budget.tryAcquire());
+        
+        for (int i = 0; i < 100; i++) {
+            budget.recordFirstAttemptSuccess();
+        }
+        assertEquals(2.0, budget.getAvailableTokens(), 1e-9);
+    }
+    
+    @Test
+    void tryAcquire_concurrently_neverGrantsMoreThanAvailable() throws Exception {
+        RetryBudget budget = new RetryBudget(0.0, 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (budget.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        
+        assertEquals(100, granted.get());
+        assertEquals(100, budget.getGrantedCount());
+        assertEquals(8_000 - 100, budget.getExhaustedCount());
+    }
+    
+    @Test
+    void constructor_rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.1, 0));
+    }
+}
@@ -97,4 +97,21 @@ class RetryConfigTest {
         assertTrue(config.isValid());
         assertFalse(config.isRetryOnFailure());
     }
+    
+    @Test
+    void retryPolicyFrom_selectsImplementationByJitter() {
+        RetryConfig.RetryConfigBuilder builder = RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(100)
+            .maxDelayMs(1000)
+            .backoffMultiplier(2.0)
+            .retryOnFailure(true);
+        
+        assertInstanceOf(ExponentialBackoffRetry.class, RetryPolicy.from(builder.build()));
+        assertEquals(ExponentialBackoffRetry.class, RetryPolicy.from(builder.jitter(JitterStrategy.NONE).build()).getClass());
+        assertInstanceOf(FullJitterBackoffRetry.class, RetryPolicy.from(builder.jitter(JitterStrategy.FULL).build()));
+        assertInstanceOf(EqualJitterBackoffRetry.class, RetryPolicy.from(builder.jitter(JitterStrategy.EQUAL).build()));
+        assertInstanceOf(DecorrelatedJitterBackoffRetry.class, 
+            RetryPolicy.from(builder.jitter(JitterStrategy.DECORRELATED).build()));
+    }
 }
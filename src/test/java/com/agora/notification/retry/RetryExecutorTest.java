@@ -1,6 +1,8 @@
 package com.agora.notification.retry;
 
+import com.agora.notification.core.AsyncNotificationProvider;
 import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.exceptions.DeadlineExceededException;
 import com.agora.notification.exceptions.ProviderException;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
@@ -11,10 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class RetryExecutorTest {
@@ -173,6 +180,262 @@ class RetryExecutorTest {
         verify(mockProvider, times(1)).send(request); // Only one attempt
     }
     
+    @Test
+    void executeWithRetryAsync_retriesFailedFutureWithoutBlockingCaller() throws Exception {
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        NotificationResult successResult = NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .message("Success")
+            .providerName("AsyncProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+        when(asyncProvider.sendAsync(any(NotificationRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(new ProviderException("AsyncProvider", "503")))
+            .thenReturn(CompletableFuture.completedFuture(successResult));
+        
+        NotificationRequest request = createRequest();
+        CompletableFuture<NotificationResult> future = retryExecutor.executeWithRetryAsync(asyncProvider, request);
+        
+        NotificationResult result = future.get(5, TimeUnit.SECONDS);
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttemptNumber());
+        verify(asyncProvider, times(2)).sendAsync(request);
+        verify(asyncProvider, never()).send(any());
+    }
+    
+    @Test
+    void executeWithRetryAsync_allAttemptsFail_completesWithProviderException() {
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        when(asyncProvider.sendAsync(any(NotificationRequest.class)))
+            .thenAnswer(invocation -> CompletableFuture.failedFuture(
+                new ProviderException("AsyncProvider", "503")));
+        
+        CompletableFuture<NotificationResult> future = 
+            retryExecutor.executeWithRetryAsync(asyncProvider, createRequest());
+        
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(ProviderException.class, thrown.getCause());
+        verify(asyncProvider, times(3)).sendAsync(any());
+    }
+    
+    @Test
+    void executeWithRetryAsync_nullResult_completesExceptionallyInsteadOfHanging() {
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        when(asyncProvider.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+        
+        CompletableFuture<NotificationResult> future = 
+            retryExecutor.executeWithRetryAsync(asyncProvider, createRequest());
+        
+        assertTrue(future.isCompletedExceptionally());
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(NullPointerException.class, thrown.getCause());
+    }
+    
+    @Test
+    void executeWithRetryAsync_throwingPolicy_completesExceptionally() {
+        RetryPolicy policy = mock(RetryPolicy.class);
+        when(policy.getMaxAttempts()).thenReturn(3);
+        when(policy.shouldRetry(any(), anyInt())).thenThrow(new IllegalStateException("broken policy"));
+        AsyncNotificationProvider asyncProvider = mock(AsyncNotificationProvider.class);
+        when(asyncProvider.getName()).thenReturn("AsyncProvider");
+        when(asyncProvider.sendAsync(any(NotificationRequest.class)))
+            .thenReturn(CompletableFuture.failedFuture(new ProviderException("AsyncProvider", "503")));
+        
+        CompletableFuture<NotificationResult> future = 
+            new RetryExecutor(policy).executeWithRetryAsync(asyncProvider, createRequest());
+        
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+    }
+    
+    @Test
+    void executeWithRetry_nonRetryableProviderError_failsAfterOneAttempt() {
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "400 Bad Request - Invalid phone number", 400));
+        
+        ProviderException thrown = assertThrows(ProviderException.class, 
+            () -> retryExecutor.executeWithRetry(mockProvider, createRequest()));
+        
+        assertEquals(400, thrown.getStatusCode());
+        verify(mockProvider, times(1)).send(any());
+    }
+    
+    @Test
+    void executeWithRetry_rateLimited_waitsForRetryAfterHint() {
+        NotificationResult successResult = NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "429 Too Many Requests", 429, Duration.ofMillis(80)))
+            .thenReturn(successResult);
+        
+        long start = System.nanoTime();
+        NotificationResult result = retryExecutor.executeWithRetry(mockProvider, createRequest());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getAttemptNumber());
+        assertTrue(elapsedMs >= 80, "Expected to wait for Retry-After, waited " + elapsedMs + "ms");
+    }
+    
+    @Test
+    void executeWithRetry_exhaustedBudget_failsFastWithoutRetrying() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        RetryExecutor budgeted = new RetryExecutor(new ExponentialBackoffRetry(retryConfig), budget);
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "503 Service Unavailable", 503));
+        
+        // First send uses the only token for its single retry, the second gets none
+        assertThrows(ProviderException.class, () -> budgeted.executeWithRetry(mockProvider, createRequest()));
+        verify(mockProvider, times(2)).send(any());
+        assertThrows(ProviderException.class, () -> budgeted.executeWithRetry(mockProvider, createRequest()));
+        verify(mockProvider, times(3)).send(any());
+        assertEquals(2, budget.getExhaustedCount());
+    }
+    
+    @Test
+    void executeWithRetry_firstAttemptSuccesses_refillBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        budget.tryAcquire();
+        RetryExecutor budgeted = new RetryExecutor(new ExponentialBackoffRetry(retryConfig), budget);
+        when(mockProvider.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        
+        budgeted.executeWithRetry(mockProvider, createRequest());
+        budgeted.executeWithRetry(mockProvider, createRequest());
+        
+        assertEquals(1.0, budget.getAvailableTokens(), 1e-9);
+    }
+    
+    @Test
+    void executeWithRetry_backoffEndingAfterDeadline_expiresWithoutWaiting() {
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "503 Service Unavailable", 503));
+        RetryExecutor slowRetry = new RetryExecutor(new ExponentialBackoffRetry(RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(5000)
+            .maxDelayMs(5000)
+            .backoffMultiplier(1.0)
+            .retryOnFailure(true)
+            .build()));
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Your code is 123456")
+            .ttl(Duration.ofSeconds(1))
+            .build();
+        
+        long start = System.nanoTime();
+        NotificationResult result = slowRetry.executeWithRetry(mockProvider, request);
+        
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getAttemptNumber());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        verify(mockProvider, times(1)).send(request);
+    }
+    
+    @Test
+    void executeWithRetry_backoffEndingAfterDeadline_spendsNoRetryBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new ProviderException("TestProvider", "503 Service Unavailable", 503));
+        RetryExecutor slowRetry = new RetryExecutor(new ExponentialBackoffRetry(RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(5000)
+            .maxDelayMs(5000)
+            .backoffMultiplier(1.0)
+            .retryOnFailure(true)
+            .build()), budget);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Your code is 123456")
+            .ttl(Duration.ofSeconds(1))
+            .build();
+        
+        assertEquals(NotificationStatus.EXPIRED, slowRetry.executeWithRetry(mockProvider, request).getStatus());
+        assertEquals(1.0, budget.getAvailableTokens(), 1e-9);
+    }
+    
+    @Test
+    void executeWithRetry_callCutShortByDeadline_expires() {
+        when(mockProvider.send(any(NotificationRequest.class)))
+            .thenThrow(new DeadlineExceededException("TestProvider", "Notification deadline reached after 150ms"));
+        
+        NotificationResult result = retryExecutor.executeWithRetry(mockProvider, createRequest());
+        
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        assertEquals(1, result.getAttemptNumber());
+        verify(mockProvider, times(1)).send(any());
+    }
+    
+    @Test
+    void executeWithRetryAsync_callCutShortByDeadline_expires() throws Exception {
+        AsyncNotificationProvider provider = mock(AsyncNotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        when(provider.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.failedFuture(
+            new DeadlineExceededException("TestProvider", "Notification deadline passed before the request was sent")));
+        
+        NotificationResult result = retryExecutor.executeWithRetryAsync(provider, createRequest()).get(5, TimeUnit.SECONDS);
+        
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        verify(provider, times(1)).sendAsync(any(NotificationRequest.class));
+    }
+    
+    @Test
+    void executeWithRetryAsync_expiredRequest_neverCallsProvider() throws Exception {
+        AsyncNotificationProvider provider = mock(AsyncNotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Your code is 123456")
+            .deadline(Instant.now().minusSeconds(1))
+            .build();
+        
+        NotificationResult result = retryExecutor.executeWithRetryAsync(provider, request).get(5, TimeUnit.SECONDS);
+        
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        assertEquals(0, result.getAttemptNumber());
+        verify(provider, never()).sendAsync(any(NotificationRequest.class));
+    }
+    
+    @Test
+    void executeWithRetryAsync_cancelledDuringBackoff_makesNoFurtherAttempts() throws Exception {
+        AsyncNotificationProvider provider = mock(AsyncNotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        when(provider.sendAsync(any(NotificationRequest.class))).thenReturn(CompletableFuture.failedFuture(
+            new ProviderException("TestProvider", "503 Service Unavailable", 503)));
+        RetryExecutor slowRetry = new RetryExecutor(new ExponentialBackoffRetry(RetryConfig.builder()
+            .maxAttempts(3)
+            .initialDelayMs(200)
+            .maxDelayMs(200)
+            .backoffMultiplier(1.0)
+            .retryOnFailure(true)
+            .build()));
+        
+        CompletableFuture<NotificationResult> future = slowRetry.executeWithRetryAsync(provider, createRequest());
+        assertTrue(future.cancel(true));
+        Thread.sleep(400);
+        
+        verify(provider, times(1)).sendAsync(any(NotificationRequest.class));
+    }
+    
     private NotificationRequest createRequest() {
         return NotificationRequest.builder()
             .channel(Channel.EMAIL)
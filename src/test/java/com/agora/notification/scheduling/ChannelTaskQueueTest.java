@@ -0,0 +1,61 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelTaskQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ChannelTaskQueue queue = new ChannelTaskQueue(channel -> channel == Channel.EMAIL
+        ? new DomainTaskQueue(Map.of(), DomainThrottleConfig.builder().ratePerSecond(1).burst(1).build(),
+            FifoTaskQueue::new, now::get)
+        : new FifoTaskQueue());
+
+    @Test
+    void poll_takesTurnsAcrossChannelsAndSkipsAThrottledOne() {
+        queue.add(task("e0", Channel.EMAIL, "a@gmail.com"));
+        queue.add(task("e1", Channel.EMAIL, "b@gmail.com"));
+        queue.add(task("s0", Channel.SMS, "+1234567890"));
+        queue.add(task("s1", Channel.SMS, "+1234567890"));
+
+        assertEquals("e0", queue.poll().getNotificationId());
+        assertEquals("s0", queue.poll().getNotificationId());
+        assertEquals("s1", queue.poll().getNotificationId());
+        assertNull(queue.poll());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), queue.nanosUntilReady());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("e1", queue.poll().getNotificationId());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void evict_takesFromTheChannelWithTheLongestBacklog() {
+        queue.add(task("s0", Channel.SMS, "+1234567890"));
+        queue.add(task("p0", Channel.PUSH, "token"));
+        NotificationTask newest = task("p1", Channel.PUSH, "token");
+        queue.add(newest);
+
+        assertSame(newest, queue.overflow(newest, 2));
+        assertEquals(2, queue.size());
+        assertEquals("s0", queue.poll().getNotificationId());
+        assertEquals("p0", queue.poll().getNotificationId());
+    }
+
+    private static NotificationTask task(String id, Channel channel, String recipient) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(channel)
+            .recipient(recipient)
+            .message("Test")
+            .build(), CompletableFuture::new);
+    }
+}
@@ -0,0 +1,107 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainTaskQueueTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void poll_interleavesDomainsAndSkipsThrottledOnes() {
+        DomainTaskQueue queue = new DomainTaskQueue(
+            Map.of("Gmail.com", rate(1, 2)), rate(100, 100), FifoTaskQueue::new, now::get);
+        for (int i = 0; i < 5; i++) {
+            queue.add(email("g" + i, "user" + i + "@gmail.com"));
+        }
+        queue.add(email("o0", "a@outlook.com"));
+        queue.add(email("o1", "b@OUTLOOK.com"));
+
+        assertEquals("g0", queue.poll().getNotificationId());
+        assertEquals("o0", queue.poll().getNotificationId());
+        assertEquals("g1", queue.poll().getNotificationId());
+        assertEquals("o1", queue.poll().getNotificationId());
+        // gmail.com used its burst; the backlog waits without blocking anyone else
+        assertNull(queue.poll());
+        assertEquals(3, queue.size());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), queue.nanosUntilReady());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("g2", queue.poll().getNotificationId());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void poll_doesNotThrottleOtherChannelsOrUnconfiguredDomains() {
+        DomainTaskQueue queue = new DomainTaskQueue(
+            Map.of("gmail.com", rate(1, 1)), null, FifoTaskQueue::new, now::get);
+        queue.add(email("g0", "a@gmail.com"));
+        queue.add(email("g1", "b@gmail.com"));
+        for (int i = 0; i < 3; i++) {
+            queue.add(new NotificationTask("s" + i, NotificationRequest.builder()
+                .channel(Channel.SMS).recipient("+1234567890").message("m").build(), CompletableFuture::new));
+            queue.add(email("x" + i, "user@example.com"));
+        }
+
+        int started = 0;
+        while (queue.poll() != null) {
+            started++;
+        }
+        assertEquals(7, started);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void remove_keepsBucketOfEmptiedDomain() {
+        DomainTaskQueue queue = new DomainTaskQueue(
+            Map.of(), rate(1, 1), FifoTaskQueue::new, now::get);
+        NotificationTask first = email("g0", "a@gmail.com");
+        queue.add(first);
+        assertSame(first, queue.poll());
+
+        NotificationTask second = email("g1", "b@gmail.com");
+        queue.add(second);
+        assertNull(queue.poll(), "emptying a lane must not refill its bucket");
+        assertTrue(queue.remove(second));
+        assertFalse(queue.remove(second));
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.domainCount());
+    }
+
+    @Test
+    void overflow_domainOverItsMaxQueued_rejectsFromThatDomainOnly() {
+        DomainThrottleConfig bounded = DomainThrottleConfig.builder().ratePerSecond(1).burst(1).maxQueued(2).build();
+        DomainTaskQueue queue = new DomainTaskQueue(Map.of("gmail.com", bounded), rate(1, 1), FifoTaskQueue::new, now::get);
+        queue.add(email("o0", "a@outlook.com"));
+        queue.add(email("g0", "a@gmail.com"));
+        queue.add(email("g1", "b@gmail.com"));
+        NotificationTask g2 = email("g2", "c@gmail.com");
+        queue.add(g2);
+
+        assertSame(g2, queue.overflow(g2, 100));
+        assertEquals(3, queue.size());
+        assertNull(queue.overflow(email("o1", "b@outlook.com"), 100));
+    }
+
+    private static DomainThrottleConfig rate(double perSecond, int burst) {
+        return DomainThrottleConfig.builder().ratePerSecond(perSecond).burst(burst).build();
+    }
+
+    private static NotificationTask email(String id, String recipient) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient(recipient)
+            .subject("Campaign")
+            .message("Hello")
+            .build(), CompletableFuture::new);
+    }
+}
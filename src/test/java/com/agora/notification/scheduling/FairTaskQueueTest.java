@@ -0,0 +1,135 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.config.TenantConfig;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FairTaskQueueTest {
+
+    @Test
+    void poll_interleavesTenantsByWeightInsteadOfArrivalOrder() {
+        FairTaskQueue queue = new FairTaskQueue(
+            Map.of("payments", TenantConfig.builder().weight(2).build()), TenantConfig.defaultConfig());
+        for (int i = 0; i < 6; i++) {
+            queue.add(task("marketing", "m" + i, null));
+        }
+        for (int i = 0; i < 4; i++) {
+            queue.add(task("payments", "p" + i, null));
+        }
+
+        List<String> order = new ArrayList<>();
+        for (NotificationTask task = queue.poll(); task != null; task = queue.poll()) {
+            order.add(task.getNotificationId());
+        }
+
+        assertEquals(List.of("m0", "p0", "p1", "m1", "p2", "p3", "m2", "m3", "m4", "m5"), order);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void poll_skipsTenantAtItsConcurrencyCapUntilASendCompletes() {
+        FairTaskQueue queue = new FairTaskQueue(
+            Map.of("bulk", TenantConfig.builder().weight(1).maxConcurrent(1).build()), TenantConfig.defaultConfig());
+        queue.add(task("bulk", "b0", null));
+        queue.add(task("bulk", "b1", null));
+
+        NotificationTask first = queue.poll();
+        assertEquals("b0", first.getNotificationId());
+        assertNull(queue.poll());
+        assertEquals(1, queue.size());
+
+        queue.add(task("otp", "o0", null));
+        assertEquals("o0", queue.poll().getNotificationId());
+
+        queue.completed(first);
+        assertEquals("b1", queue.poll().getNotificationId());
+    }
+
+    @Test
+    void poll_ordersEachTenantLaneWithTheGivenQueue() {
+        FairTaskQueue queue = new FairTaskQueue(Map.of(), TenantConfig.defaultConfig(),
+            () -> new PriorityTaskQueue(Duration.ofMinutes(1)));
+        queue.add(task("shop", "campaign", Priority.LOW));
+        queue.add(task("shop", "otp", Priority.HIGH));
+
+        assertEquals("otp", queue.poll().getNotificationId());
+        assertEquals("campaign", queue.poll().getNotificationId());
+    }
+
+    @Test
+    void poll_tenantLanesWithDomainQueues_shareEachDomainsRate() {
+        AtomicLong now = new AtomicLong();
+        DomainBuckets buckets = new DomainBuckets(
+            Map.of("gmail.com", DomainThrottleConfig.builder().ratePerSecond(1).burst(1).build()), null, now::get);
+        FairTaskQueue queue = new FairTaskQueue(Map.of(), TenantConfig.defaultConfig(),
+            () -> new DomainTaskQueue(buckets, FifoTaskQueue::new));
+        queue.add(task("shop", "s0", null, "a@gmail.com"));
+        queue.add(task("news", "n0", null, "b@gmail.com"));
+        queue.add(task("news", "n1", null, "c@outlook.com"));
+
+        assertEquals("s0", queue.poll().getNotificationId());
+        // gmail.com's single token is spent for every tenant; "news" still starts its other domain
+        assertEquals("n1", queue.poll().getNotificationId());
+        assertNull(queue.poll());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), queue.nanosUntilReady());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals("n0", queue.poll().getNotificationId());
+    }
+
+    @Test
+    void overflow_enforcesTheTenantLanesDomainBound() {
+        DomainBuckets buckets = new DomainBuckets(Map.of(), 
+            DomainThrottleConfig.builder().ratePerSecond(1).burst(1).maxQueued(1).build(), System::nanoTime);
+        FairTaskQueue queue = new FairTaskQueue(Map.of(), TenantConfig.defaultConfig(),
+            () -> new DomainTaskQueue(buckets, FifoTaskQueue::new));
+        queue.add(task("shop", "s0", null, "a@gmail.com"));
+        NotificationTask second = task("shop", "s1", null, "b@gmail.com");
+        queue.add(second);
+
+        assertSame(second, queue.overflow(second, 100));
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void remove_dropsQueuedTaskOnly() {
+        FairTaskQueue queue = new FairTaskQueue(Map.of(), TenantConfig.defaultConfig());
+        NotificationTask kept = task("a", "kept", null);
+        NotificationTask removed = task("b", "removed", null);
+        queue.add(kept);
+        queue.add(removed);
+
+        assertTrue(queue.remove(removed));
+        assertFalse(queue.remove(removed));
+        assertEquals(1, queue.size());
+        assertSame(kept, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    private static NotificationTask task(String tenant, String id, Priority priority) {
+        return task(tenant, id, priority, "user@example.com");
+    }
+
+    private static NotificationTask task(String tenant, String id, Priority priority, String recipient) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient(recipient)
+            .message("Test")
+            .tenant(tenant)
+            .priority(priority)
+            .build(), CompletableFuture::new);
+    }
+}
@@ -0,0 +1,54 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityTaskQueueTest {
+
+    @Test
+    void poll_returnsHigherPriorityFirstAndFifoWithinALevel() {
+        PriorityTaskQueue queue = new PriorityTaskQueue(Duration.ofHours(1));
+        queue.add(task("bulk-1", Priority.LOW));
+        queue.add(task("normal-1", null));
+        queue.add(task("bulk-2", Priority.LOW));
+        queue.add(task("otp-1", Priority.HIGH));
+        queue.add(task("otp-2", Priority.HIGH));
+
+        assertEquals(5, queue.size());
+        assertEquals("otp-1", queue.poll().getNotificationId());
+        assertEquals("otp-2", queue.poll().getNotificationId());
+        assertEquals("normal-1", queue.poll().getNotificationId());
+        assertEquals("bulk-1", queue.poll().getNotificationId());
+        assertEquals("bulk-2", queue.poll().getNotificationId());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void poll_promotesTasksThatWaitedLongerThanTheAgingInterval() throws InterruptedException {
+        PriorityTaskQueue queue = new PriorityTaskQueue(Duration.ofMillis(20));
+        queue.add(task("bulk", Priority.LOW));
+        Thread.sleep(60);
+        queue.add(task("otp", Priority.HIGH));
+
+        // Two intervals lift LOW to HIGH; the older task then goes first
+        assertEquals("bulk", queue.poll().getNotificationId());
+        assertEquals("otp", queue.poll().getNotificationId());
+    }
+
+    private static NotificationTask task(String id, Priority priority) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Test")
+            .priority(priority)
+            .build(), CompletableFuture::new);
+    }
+}
@@ -0,0 +1,257 @@
+package com.agora.notification.scheduling;
+
+import com.agora.notification.config.BulkheadConfig;
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.exceptions.BulkheadFullException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.models.Priority;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SendSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void submit_limitsInFlightSendsAndQueuesTheRest() throws Exception {
+        SendScheduler scheduler = new SendScheduler("SMS", 
+            BulkheadConfig.builder().maxConcurrent(2).maxQueued(10).build(), executor);
+        List<CompletableFuture<NotificationResult>> inFlight = new ArrayList<>();
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<NotificationResult> send = new CompletableFuture<>();
+            inFlight.add(send);
+            results.add(scheduler.submit(task("n" + i, () -> send)));
+        }
+
+        waitUntil(() -> scheduler.getRunning() == 2);
+        assertEquals(3, scheduler.getQueued());
+
+        // Completing one send hands its slot to the oldest queued task
+        inFlight.get(0).complete(sent());
+        assertTrue(results.get(0).get(5, TimeUnit.SECONDS).isSuccess());
+        waitUntil(() -> scheduler.getQueued() == 2);
+        assertEquals(2, scheduler.getRunning());
+
+        inFlight.forEach(send -> send.complete(sent()));
+        for (CompletableFuture<NotificationResult> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        waitUntil(() -> scheduler.getRunning() == 0);
+    }
+
+    @Test
+    void submit_queueFull_rejectsWithoutRunning() {
+        SendScheduler scheduler = new SendScheduler("SMS", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(1).build(), executor);
+        scheduler.submit(task("running", CompletableFuture::new));
+        scheduler.submit(task("queued", CompletableFuture::new));
+
+        CompletableFuture<NotificationResult> rejected = scheduler.submit(task("rejected", () -> {
+            fail("Rejected task must not run");
+            return null;
+        }));
+
+        CompletionException thrown = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(BulkheadFullException.class, thrown.getCause());
+    }
+
+    @Test
+    void submit_failingAction_releasesSlot() throws Exception {
+        SendScheduler scheduler = new SendScheduler("EMAIL", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(5).build(), executor);
+
+        CompletableFuture<NotificationResult> failed = scheduler.submit(task("boom", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        CompletableFuture<NotificationResult> next = scheduler.submit(task("next", 
+            () -> CompletableFuture.completedFuture(sent())));
+
+        assertThrows(Exception.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(next.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void submit_withPriorityQueue_startsHighPriorityBeforeQueuedBulk() throws Exception {
+        SendScheduler scheduler = new SendScheduler("SMS", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(10).build(), executor,
+            new PriorityTaskQueue(Duration.ofMinutes(1)));
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        scheduler.submit(task("running", () -> blocker));
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String id = "bulk-" + i;
+            results.add(scheduler.submit(task(id, Priority.LOW, () -> start(started, id))));
+        }
+        results.add(scheduler.submit(task("otp", Priority.HIGH, () -> start(started, "otp"))));
+
+        blocker.complete(sent());
+        for (CompletableFuture<NotificationResult> result : results) {
+            assertTrue(result.get(5, TimeUnit.SECONDS).isSuccess());
+        }
+        assertEquals(List.of("otp", "bulk-0", "bulk-1", "bulk-2"), started);
+    }
+
+    @Test
+    void submit_priorityQueueFull_highPriorityDisplacesNewestLowTask() throws Exception {
+        SendScheduler scheduler = new SendScheduler("SMS", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(2).build(), executor,
+            new PriorityTaskQueue(Duration.ofMinutes(1)));
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        scheduler.submit(task("running", () -> blocker));
+        CompletableFuture<NotificationResult> bulk0 = scheduler.submit(task("bulk-0", Priority.LOW, () -> blocker));
+        CompletableFuture<NotificationResult> bulk1 = scheduler.submit(task("bulk-1", Priority.LOW, () -> blocker));
+
+        CompletableFuture<NotificationResult> otp = scheduler.submit(task("otp", Priority.HIGH, () -> blocker));
+
+        assertFalse(otp.isDone());
+        assertFalse(bulk0.isDone());
+        CompletionException thrown = assertThrows(CompletionException.class, bulk1::join);
+        assertInstanceOf(BulkheadFullException.class, thrown.getCause());
+        assertEquals(2, scheduler.getQueued());
+
+        // A LOW task arriving at a full queue of equal or higher priority is the one rejected
+        CompletableFuture<NotificationResult> late = scheduler.submit(task("bulk-2", Priority.LOW, () -> blocker));
+        assertInstanceOf(BulkheadFullException.class, assertThrows(CompletionException.class, late::join).getCause());
+        assertFalse(bulk0.isDone());
+    }
+
+    @Test
+    void submit_floodedDomain_shedsItsOwnTasksAndAcceptsOtherDomains() throws Exception {
+        DomainTaskQueue queue = new DomainTaskQueue(Map.of(), 
+            DomainThrottleConfig.builder().ratePerSecond(0.001).burst(1).build());
+        SendScheduler scheduler = new SendScheduler("EMAIL", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(5).build(), executor, queue);
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        scheduler.submit(email("running", "user@example.com", () -> blocker));
+        List<CompletableFuture<NotificationResult>> gmail = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            gmail.add(scheduler.submit(email("g" + i, "user" + i + "@gmail.com", () -> blocker)));
+        }
+
+        CompletableFuture<NotificationResult> outlook = scheduler.submit(
+            email("o0", "user@outlook.com", () -> CompletableFuture.completedFuture(sent())));
+
+        assertFalse(outlook.isDone());
+        assertEquals(5, scheduler.getQueued());
+        assertEquals(16, gmail.stream().filter(CompletableFuture::isCompletedExceptionally).count());
+        blocker.complete(sent());
+        assertTrue(outlook.get(5, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    void cancel_queuedTask_removesItWithoutRunning() throws Exception {
+        SendScheduler scheduler = new SendScheduler("SMS", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(5).build(), executor);
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        NotificationTask running = task("running", () -> blocker);
+        NotificationTask obsolete = task("obsolete", () -> {
+            fail("Cancelled task must not run");
+            return null;
+        });
+        scheduler.submit(running);
+        scheduler.submit(obsolete);
+
+        assertTrue(scheduler.cancel(obsolete));
+        assertFalse(scheduler.cancel(running));
+        assertTrue(obsolete.getFuture().isCancelled());
+        assertEquals(0, scheduler.getQueued());
+
+        blocker.complete(sent());
+        assertTrue(running.getFuture().get(5, TimeUnit.SECONDS).isSuccess());
+        waitUntil(() -> scheduler.getRunning() == 0);
+    }
+
+    @Test
+    void submit_throttledQueue_startsHeldBackTaskOnceReady() throws Exception {
+        DomainTaskQueue queue = new DomainTaskQueue(Map.of(), 
+            DomainThrottleConfig.builder().ratePerSecond(20).burst(1).build());
+        SendScheduler scheduler = new SendScheduler("EMAIL", 
+            BulkheadConfig.builder().maxConcurrent(4).maxQueued(10).build(), executor, queue);
+
+        CompletableFuture<NotificationResult> first = scheduler.submit(email("n0"));
+        CompletableFuture<NotificationResult> second = scheduler.submit(email("n1"));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).isSuccess());
+        // Nothing completes in between: only the wake-up can start the second send
+        assertTrue(second.get(5, TimeUnit.SECONDS).isSuccess());
+        assertEquals(0, scheduler.getQueued());
+    }
+
+    private static NotificationTask email(String id) {
+        return email(id, "user@gmail.com", () -> CompletableFuture.completedFuture(sent()));
+    }
+
+    private static NotificationTask email(String id, String recipient,
+                                          Supplier<CompletableFuture<NotificationResult>> action) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient(recipient)
+            .subject("Test")
+            .message("Test")
+            .build(), action);
+    }
+
+    private static CompletableFuture<NotificationResult> start(List<String> started, String id) {
+        started.add(id);
+        return CompletableFuture.completedFuture(sent());
+    }
+
+    private static NotificationTask task(String id, 
+                                         Supplier<CompletableFuture<NotificationResult>> action) {
+        return task(id, null, action);
+    }
+
+    private static NotificationTask task(String id, Priority priority,
+                                         Supplier<CompletableFuture<NotificationResult>> action) {
+        return new NotificationTask(id, NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Test")
+            .priority(priority)
+            .build(), action);
+    }
+
+    private static NotificationResult sent() {
+        return NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("Test")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
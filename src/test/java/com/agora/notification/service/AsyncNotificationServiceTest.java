@@ -1,21 +1,40 @@
 package com.agora.notification.service;
 
+import com.agora.notification.channels.EmailChannel;
+import com.agora.notification.config.BulkheadConfig;
 import com.agora.notification.core.NotificationChannel;
 import com.agora.notification.core.NotificationEvent;
+import com.agora.notification.core.NotificationProvider;
 import com.agora.notification.events.NotificationEventPublisher;
+import com.agora.notification.exceptions.BulkheadFullException;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.exceptions.ValidationException;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
 import com.agora.notification.models.NotificationStatus;
+import com.agora.notification.retry.ExponentialBackoffRetry;
+import com.agora.notification.retry.RetryConfig;
+import com.agora.notification.retry.RetryExecutor;
+import com.agora.notification.scheduling.SendScheduler;
+import com.agora.notification.scheduling.TenantStats;
+import com.agora.notification.validation.ValidationStage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +65,7 @@ class AsyncNotificationServiceTest {
         
         // Setup mock channel
         when(mockChannel.getChannelType()).thenReturn(Channel.EMAIL);
+        when(mockChannel.sendAsync(any(NotificationRequest.class))).thenCallRealMethod();
         channelRegistry.register(mockChannel);
     }
     
@@ -303,4 +323,192 @@ class AsyncNotificationServiceTest {
         assertDoesNotThrow(() -> service.close());
         assertDoesNotThrow(() -> service.close());
     }
+
+    @Test
+    void sendAsync_withValidationStageAndInvalidRecipient_failsWithoutTakingAWorker() {
+        AsyncNotificationService validating = new AsyncNotificationService(channelRegistry, eventPublisher,
+            TimeOrderedIdGenerator.getDefault(),
+            new SendPipeline(List.of(ValidationStage.withDefaults())));
+
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("not-an-email")
+            .subject("Test")
+            .message("Test message")
+            .build();
+
+        CompletableFuture<NotificationResult> future = validating.sendAsync(request);
+
+        assertTrue(future.isCompletedExceptionally());
+        Exception e = assertThrows(Exception.class, future::join);
+        assertInstanceOf(ValidationException.class, e.getCause().getCause());
+        verify(mockChannel, never()).send(any());
+        assertEquals(NotificationStatus.FAILED, receivedEvents.get(receivedEvents.size() - 1).getStatus());
+        validating.shutdown();
+    }
+
+    @Test
+    void sendAsync_withSaturatedSmsBulkhead_stillSendsEmailAndRejectsOverflow() throws Exception {
+        NotificationChannel slowSms = mock(NotificationChannel.class);
+        when(slowSms.getChannelType()).thenReturn(Channel.SMS);
+        when(slowSms.sendAsync(any(NotificationRequest.class))).thenAnswer(invocation -> new CompletableFuture<>());
+        channelRegistry.register(slowSms);
+        when(mockChannel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AsyncNotificationService isolated = new AsyncNotificationService(channelRegistry, eventPublisher, executor,
+            TimeOrderedIdGenerator.getDefault(), SendPipeline.empty(),
+            Map.of(Channel.SMS, new SendScheduler("SMS", 
+                BulkheadConfig.builder().maxConcurrent(2).maxQueued(1).build(), executor)));
+        NotificationRequest sms = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+1234567890")
+            .message("Test message")
+            .build();
+        
+        isolated.sendAsync(sms);
+        isolated.sendAsync(sms);
+        isolated.sendAsync(sms);
+        CompletableFuture<NotificationResult> overflow = isolated.sendAsync(sms);
+        NotificationResult email = isolated.sendAsync(NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("test@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build()).get(5, TimeUnit.SECONDS);
+        
+        assertTrue(email.isSuccess());
+        Exception e = assertThrows(Exception.class, () -> overflow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFullException.class, e.getCause().getCause());
+        assertEquals(1, isolated.getBulkhead(Channel.SMS).getQueued());
+        assertNull(isolated.getBulkhead(Channel.EMAIL));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sendAsync_recordsStatsPerTenant() throws Exception {
+        when(mockChannel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        NotificationRequest.NotificationRequestBuilder request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("test@example.com")
+            .subject("Test")
+            .message("Test message");
+        
+        service.sendAsync(request.tenant("payments").build()).get(5, TimeUnit.SECONDS);
+        service.sendAsync(request.tenant("payments").build()).get(5, TimeUnit.SECONDS);
+        service.sendAsync(request.tenant(null).build()).get(5, TimeUnit.SECONDS);
+        
+        TenantStats payments = service.getTenantStats("payments");
+        assertEquals(2, payments.getSubmitted());
+        assertEquals(2, payments.getSucceeded());
+        assertEquals(0, payments.getPending());
+        assertTrue(payments.getThroughputPerSecond() > 0);
+        assertEquals(1, service.getTenantStats(NotificationRequest.DEFAULT_TENANT).getSucceeded());
+        assertEquals(2, service.getTenantStats().size());
+    }
+
+    @Test
+    void sendAsync_requestExpiredInBulkheadQueue_completesExpiredWithoutProviderCall() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        SendScheduler bulkhead = new SendScheduler("EMAIL", 
+            BulkheadConfig.builder().maxConcurrent(1).maxQueued(10).build(), executor);
+        AsyncNotificationService limited = new AsyncNotificationService(channelRegistry, eventPublisher, executor,
+            TimeOrderedIdGenerator.getDefault(), SendPipeline.empty(), Map.of(Channel.EMAIL, bulkhead));
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        when(mockChannel.sendAsync(any(NotificationRequest.class))).thenReturn(blocker);
+        NotificationRequest.NotificationRequestBuilder request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("test@example.com")
+            .subject("Test")
+            .message("Test message");
+        
+        limited.sendAsync(request.build());
+        CompletableFuture<NotificationResult> otp = limited.sendAsync(request.ttl(Duration.ofMillis(50)).build());
+        Thread.sleep(100);
+        blocker.complete(NotificationResult.builder()
+            .success(true)
+            .status(NotificationStatus.SENT)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build());
+        
+        NotificationResult result = otp.get(5, TimeUnit.SECONDS);
+        assertEquals(NotificationStatus.EXPIRED, result.getStatus());
+        verify(mockChannel, times(1)).sendAsync(any(NotificationRequest.class));
+        assertTrue(receivedEvents.stream().anyMatch(e -> e.getStatus() == NotificationStatus.EXPIRED));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void cancel_queuedNotification_removesItAndPublishesCancelled() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AsyncNotificationService limited = new AsyncNotificationService(channelRegistry, eventPublisher, executor,
+            TimeOrderedIdGenerator.getDefault(), SendPipeline.empty(), Map.of(Channel.EMAIL, new SendScheduler("EMAIL", 
+                BulkheadConfig.builder().maxConcurrent(1).maxQueued(10).build(), executor)));
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        when(mockChannel.sendAsync(any(NotificationRequest.class))).thenReturn(blocker);
+        NotificationRequest.NotificationRequestBuilder request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("test@example.com")
+            .subject("Test")
+            .message("Test message");
+        
+        limited.sendAsync(request.notificationId("running").build());
+        CompletableFuture<NotificationResult> obsolete = limited.sendAsync(request.notificationId("obsolete").build());
+        
+        assertTrue(limited.cancel("obsolete"));
+        assertFalse(limited.cancel("obsolete"));
+        assertFalse(limited.cancel("unknown"));
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> obsolete.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, thrown.getCause());
+        assertEquals(0, limited.getBulkhead(Channel.EMAIL).getQueued());
+        assertTrue(receivedEvents.stream().anyMatch(e -> e.getStatus() == NotificationStatus.CANCELLED
+            && "obsolete".equals(e.getNotificationId())));
+        verify(mockChannel, timeout(5000).times(1)).sendAsync(any(NotificationRequest.class));
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void sendAsync_futureCancelledDuringBlockingRetryBackoff_interruptsBackoff() throws Exception {
+        NotificationProvider provider = mock(NotificationProvider.class);
+        when(provider.getName()).thenReturn("TestProvider");
+        when(provider.isConfigured()).thenReturn(true);
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        when(provider.send(any(NotificationRequest.class))).thenAnswer(invocation -> {
+            firstAttempt.countDown();
+            throw new ProviderException("TestProvider", "503 Service Unavailable", 503);
+        });
+        channelRegistry.register(new EmailChannel(provider, new RetryExecutor(new ExponentialBackoffRetry(
+            RetryConfig.builder()
+                .maxAttempts(3)
+                .initialDelayMs(300)
+                .maxDelayMs(300)
+                .backoffMultiplier(1.0)
+                .retryOnFailure(true)
+                .build()))));
+        
+        CompletableFuture<NotificationResult> future = service.sendAsync(NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("test@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build());
+        assertTrue(firstAttempt.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        Thread.sleep(600);
+        
+        verify(provider, times(1)).send(any(NotificationRequest.class));
+    }
 }
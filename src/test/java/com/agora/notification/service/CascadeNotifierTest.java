@@ -0,0 +1,133 @@
+package com.agora.notification.service;
+
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.models.CascadeRequest;
+import com.agora.notification.models.CascadeResult;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class CascadeNotifierTest {
+
+    private final NotificationService service = mock(NotificationService.class);
+    private final CascadeNotifier notifier = new CascadeNotifier(service);
+
+    @Test
+    void send_firstStepSucceeds_doesNotTouchFallbacks() throws Exception {
+        when(service.sendAsync(channel(Channel.PUSH)))
+            .thenReturn(CompletableFuture.completedFuture(result(true)));
+
+        CascadeResult result = notifier.send(cascade()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isSuccess());
+        assertEquals(Channel.PUSH, result.getDeliveredVia());
+        assertEquals(1, result.getAttempts().size());
+        verify(service, times(1)).sendAsync(any(NotificationRequest.class));
+    }
+
+    @Test
+    void send_failedAndThrowingSteps_fallBackInOrder() throws Exception {
+        when(service.sendAsync(channel(Channel.PUSH)))
+            .thenReturn(CompletableFuture.completedFuture(result(false)));
+        when(service.sendAsync(channel(Channel.SMS)))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("No channel configured for: SMS")));
+        when(service.sendAsync(channel(Channel.EMAIL)))
+            .thenReturn(CompletableFuture.completedFuture(result(true)));
+
+        CascadeResult result = notifier.send(cascade()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isSuccess());
+        assertEquals(Channel.EMAIL, result.getDeliveredVia());
+        assertEquals(3, result.getAttempts().size());
+        assertEquals("No channel configured for: SMS", result.getAttempts().get(1).getErrorDetails());
+    }
+
+    @Test
+    void send_stepWithoutConfirmation_isCancelledAfterTimeout() throws Exception {
+        CompletableFuture<NotificationResult> unconfirmedPush = new CompletableFuture<>();
+        when(service.sendAsync(channel(Channel.PUSH))).thenReturn(unconfirmedPush);
+        when(service.sendAsync(channel(Channel.SMS)))
+            .thenReturn(CompletableFuture.completedFuture(result(true)));
+
+        CascadeResult result = notifier.send(cascade()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Channel.SMS, result.getDeliveredVia());
+        assertTrue(unconfirmedPush.isCancelled());
+        assertEquals(NotificationStatus.FAILED, result.getAttempts().get(0).getStatus());
+    }
+
+    @Test
+    void send_confirmationRacingTheTimeout_neverReachesTheUserTwice() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            NotificationService racing = mock(NotificationService.class);
+            CompletableFuture<NotificationResult> push = new CompletableFuture<>();
+            when(racing.sendAsync(channel(Channel.PUSH))).thenReturn(push);
+            when(racing.sendAsync(channel(Channel.SMS)))
+                .thenReturn(CompletableFuture.completedFuture(result(true)));
+            CascadeRequest cascade = CascadeRequest.builder()
+                .step(NotificationRequest.builder().channel(Channel.PUSH).recipient("device-token")
+                    .title("Login").body("New sign-in").build(), Duration.ofMillis(1))
+                .step(NotificationRequest.builder().channel(Channel.SMS).recipient("+1234567890")
+                    .message("New sign-in").build())
+                .build();
+
+            CompletableFuture<CascadeResult> pending = new CascadeNotifier(racing).send(cascade);
+            CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS).execute(() -> push.complete(result(true)));
+            CascadeResult result = pending.get(5, TimeUnit.SECONDS);
+
+            if (result.getDeliveredVia() == Channel.PUSH) {
+                verify(racing, never()).sendAsync(channel(Channel.SMS));
+            } else {
+                assertTrue(push.isCancelled(), "fell back although the push step was confirmed");
+            }
+        }
+    }
+
+    @Test
+    void send_allStepsFail_reportsEveryAttempt() throws Exception {
+        when(service.sendAsync(any(NotificationRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(result(false)));
+
+        CascadeResult result = notifier.send(cascade()).get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        assertNull(result.getDeliveredVia());
+        assertEquals(3, result.getAttempts().size());
+    }
+
+    private static NotificationRequest channel(Channel channel) {
+        return argThat(request -> request != null && request.getChannel() == channel);
+    }
+
+    private static CascadeRequest cascade() {
+        return CascadeRequest.builder()
+            .step(NotificationRequest.builder().channel(Channel.PUSH).recipient("device-token")
+                .title("Login").body("New sign-in").build(), Duration.ofMillis(100))
+            .step(NotificationRequest.builder().channel(Channel.SMS).recipient("+1234567890")
+                .message("New sign-in").build(), Duration.ofSeconds(2))
+            .step(NotificationRequest.builder().channel(Channel.EMAIL).recipient("user@example.com")
+                .subject("Login").message("New sign-in").build())
+            .build();
+    }
+
+    private static NotificationResult result(boolean success) {
+        return NotificationResult.builder()
+            .success(success)
+            .status(success ? NotificationStatus.SENT : NotificationStatus.FAILED)
+            .providerName("Test")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.agora.notification.service;
+
+import com.agora.notification.config.DeduplicationConfig;
+import com.agora.notification.core.NotificationService;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeduplicatingNotificationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private NotificationService delegate;
+    private AtomicLong clock;
+    private DeduplicatingNotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(NotificationService.class);
+        clock = new AtomicLong(1_000_000L);
+        DeduplicationConfig config = DeduplicationConfig.builder()
+            .ttl(Duration.ofMinutes(1))
+            .maxEntries(100)
+            .build();
+        service = new DeduplicatingNotificationService(delegate, new IdempotencyCache(config, clock::get));
+    }
+
+    @Test
+    void send_withSameIdTwice_callsDelegateOnceAndReturnsOriginalResult() {
+        NotificationResult sent = result(true);
+        when(delegate.send(any())).thenReturn(sent);
+
+        NotificationResult first = service.send(request("order-1"));
+        NotificationResult second = service.send(request("order-1"));
+
+        assertSame(sent, first);
+        assertSame(sent, second);
+        verify(delegate, times(1)).send(any());
+    }
+
+    @Test
+    void sendAsync_withDuplicateWhileInFlight_returnsOriginalFuture() {
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        when(delegate.sendAsync(any())).thenReturn(inFlight);
+
+        CompletableFuture<NotificationResult> first = service.sendAsync(request("order-2"));
+        CompletableFuture<NotificationResult> duplicate = service.sendAsync(request("order-2"));
+        assertFalse(duplicate.isDone());
+
+        NotificationResult sent = result(true);
+        inFlight.complete(sent);
+
+        assertSame(sent, first.join());
+        assertSame(sent, duplicate.join());
+        verify(delegate, times(1)).sendAsync(any());
+    }
+
+    @Test
+    void send_afterTtlExpired_sendsAgain() {
+        when(delegate.send(any())).thenReturn(result(true));
+
+        service.send(request("order-3"));
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+        service.send(request("order-3"));
+
+        verify(delegate, times(2)).send(any());
+    }
+
+    @Test
+    void send_afterFailure_allowsResubmission() {
+        when(delegate.send(any()))
+            .thenThrow(new RuntimeException("provider down"))
+            .thenReturn(result(false))
+            .thenReturn(result(true));
+
+        assertThrows(RuntimeException.class, () -> service.send(request("order-4")));
+        assertFalse(service.send(request("order-4")).isSuccess());
+        assertTrue(service.send(request("order-4")).isSuccess());
+
+        verify(delegate, times(3)).send(any());
+    }
+
+    @Test
+    void send_withoutNotificationId_isNeverDeduplicated() {
+        when(delegate.send(any())).thenReturn(result(true));
+
+        service.send(request(null));
+        service.send(request(null));
+
+        verify(delegate, times(2)).send(any());
+    }
+
+    @Test
+    void putIfAbsent_whenEvictedFromMemory_isStillDetectedThroughSpillFile() {
+        DeduplicationConfig config = DeduplicationConfig.builder()
+            .ttl(Duration.ofMinutes(1))
+            .maxEntries(1)
+            .spillFile(tempDir.resolve("dedup.bin"))
+            .spillSlots(1024)
+            .build();
+        try (IdempotencyCache cache = new IdempotencyCache(config, clock::get)) {
+            assertNull(cache.putIfAbsent("a", CompletableFuture.completedFuture(result(true))));
+            assertNull(cache.putIfAbsent("b", CompletableFuture.completedFuture(result(true))));
+            assertEquals(1, cache.size());
+
+            CompletableFuture<NotificationResult> duplicate = cache.putIfAbsent("a", new CompletableFuture<>());
+
+            assertNotNull(duplicate);
+            assertTrue(duplicate.join().isSuccess());
+        }
+        try (IdempotencyCache reopened = new IdempotencyCache(config, clock::get)) {
+            assertNotNull(reopened.putIfAbsent("a", new CompletableFuture<>()), "spill file survives restarts");
+        }
+    }
+
+    @Test
+    void putIfAbsent_beyondCapacity_staysBounded() {
+        DeduplicationConfig config = DeduplicationConfig.builder()
+            .ttl(Duration.ofMinutes(1))
+            .maxEntries(64)
+            .build();
+        IdempotencyCache cache = new IdempotencyCache(config, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.putIfAbsent("key-" + i, new CompletableFuture<>());
+        }
+
+        assertTrue(cache.size() <= 64);
+    }
+
+    @Test
+    void builder_withDeduplication_wrapsService() {
+        NotificationService built = NotificationServiceBuilder.builder()
+            .sync()
+            .deduplication(DeduplicationConfig.defaultConfig())
+            .build();
+
+        assertInstanceOf(DeduplicatingNotificationService.class, built);
+    }
+
+    private static NotificationRequest request(String id) {
+        return NotificationRequest.builder()
+            .notificationId(id)
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+    }
+
+    private static NotificationResult result(boolean success) {
+        return NotificationResult.builder()
+            .success(success)
+            .status(success ? NotificationStatus.SENT : NotificationStatus.FAILED)
+            .providerName("TestProvider")
+            .timestamp(Instant.now())
+            .attemptNumber(1)
+            .build();
+    }
+}
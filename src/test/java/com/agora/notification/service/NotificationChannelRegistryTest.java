@@ -1,13 +1,28 @@
 package com.agora.notification.service;
 
 import com.agora.notification.channels.EmailChannel;
+import com.agora.notification.config.AdaptiveLimitConfig;
 import com.agora.notification.core.NotificationChannel;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.limiting.AdaptiveConcurrencyLimiter;
+import com.agora.notification.limiting.ConcurrencyLimitedProvider;
 import com.agora.notification.models.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -98,4 +113,105 @@ class NotificationChannelRegistryTest {
         assertEquals(1, registry.getChannels().size());
         assertEquals(mockChannel, registry.getChannels().get(Channel.EMAIL));
     }
+
+    @Test
+    void getChannels_returnsImmutableSnapshotUnaffectedByLaterWrites() {
+        when(mockChannel.getChannelType()).thenReturn(Channel.EMAIL);
+        registry.register(mockChannel);
+
+        Map<Channel, NotificationChannel> snapshot = registry.getChannels();
+        registry.clear();
+
+        assertEquals(1, snapshot.size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(Channel.EMAIL));
+        assertNull(registry.getChannel(Channel.EMAIL));
+    }
+
+    @Test
+    void swapProvider_replacesProviderAndReturnsPrevious() {
+        NotificationProvider oldProvider = mock(NotificationProvider.class);
+        NotificationProvider newProvider = mock(NotificationProvider.class);
+        EmailChannel channel = new EmailChannel(oldProvider);
+        registry.register(channel);
+
+        assertSame(oldProvider, registry.swapProvider(Channel.EMAIL, newProvider));
+        assertSame(newProvider, channel.getProvider());
+        assertNull(registry.swapProvider(Channel.SMS, newProvider));
+    }
+
+    @Test
+    void swapProvider_decoratedChannel_keepsDecoratorsAndTheirState() {
+        NotificationProvider oldProvider = mock(NotificationProvider.class);
+        NotificationProvider newProvider = mock(NotificationProvider.class);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(AdaptiveLimitConfig.defaultConfig());
+        EmailChannel channel = new EmailChannel(new ConcurrencyLimitedProvider(oldProvider, limiter));
+        registry.register(channel);
+
+        assertSame(oldProvider, registry.swapProvider(Channel.EMAIL, newProvider));
+
+        ConcurrencyLimitedProvider swapped = assertInstanceOf(ConcurrencyLimitedProvider.class, channel.getProvider());
+        assertSame(newProvider, swapped.getDelegate());
+        assertSame(limiter, swapped.getLimiter());
+    }
+
+    @Test
+    void swapProvider_concurrently_eachCallerGetsTheProviderItReplaced() throws Exception {
+        NotificationProvider initial = mock(NotificationProvider.class);
+        EmailChannel channel = new EmailChannel(initial);
+        registry.register(channel);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<NotificationProvider>> swaps = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                NotificationProvider next = mock(NotificationProvider.class);
+                swaps.add(pool.submit(() -> registry.swapProvider(Channel.EMAIL, next)));
+            }
+            Set<NotificationProvider> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<NotificationProvider> swap : swaps) {
+                assertTrue(replaced.add(swap.get(5, TimeUnit.SECONDS)), "two swaps replaced the same provider");
+            }
+            assertTrue(replaced.contains(initial));
+            assertFalse(replaced.contains(channel.getProvider()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void registerAndGetChannel_concurrently_neverLosesWrites() throws Exception {
+        NotificationChannel sms = mock(NotificationChannel.class);
+        when(sms.getChannelType()).thenReturn(Channel.SMS);
+        NotificationChannel push = mock(NotificationChannel.class);
+        when(push.getChannelType()).thenReturn(Channel.PUSH);
+        registry.register(sms);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    registry.register(push);
+                    registry.unregister(Channel.PUSH);
+                }
+            });
+            Future<?> otherWriter = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    registry.register(new EmailChannel());
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    assertSame(sms, registry.getChannel(Channel.SMS));
+                }
+            });
+            writer.get(10, TimeUnit.SECONDS);
+            otherWriter.get(10, TimeUnit.SECONDS);
+            reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertSame(sms, registry.getChannel(Channel.SMS));
+        assertNotNull(registry.getChannel(Channel.EMAIL));
+        assertNull(registry.getChannel(Channel.PUSH));
+    }
 }
@@ -1,17 +1,38 @@
 package com.agora.notification.service;
 
+import com.agora.notification.config.AdaptiveLimitConfig;
+import com.agora.notification.config.BulkheadConfig;
+import com.agora.notification.config.DeduplicationConfig;
+import com.agora.notification.config.DigestConfig;
+import com.agora.notification.config.DomainThrottleConfig;
+import com.agora.notification.config.EmailConfig;
+import com.agora.notification.config.FrequencyCapConfig;
+import com.agora.notification.config.QuotaConfig;
+import com.agora.notification.config.TenantConfig;
 import com.agora.notification.core.NotificationChannel;
 import com.agora.notification.core.NotificationService;
+import com.agora.notification.digest.DigestMerger;
 import com.agora.notification.factory.ChannelFactory;
+import com.agora.notification.limiting.ConcurrencyLimitedProvider;
+import com.agora.notification.limiting.InMemoryQuotaStore;
+import com.agora.notification.limiting.QuotaLimitedProvider;
+import com.agora.notification.limiting.SharedRateLimiter;
 import com.agora.notification.models.Channel;
 import com.agora.notification.models.NotificationRequest;
 import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
 import com.agora.notification.providers.email.SendGridEmailProvider;
 import com.agora.notification.retry.RetryConfig;
+import com.agora.notification.suppression.SuppressionList;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
 import com.agora.notification.channels.EmailChannel;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 class NotificationServiceBuilderTest {
 
@@ -20,6 +41,307 @@ class NotificationServiceBuilderTest {
         assertNotNull(NotificationServiceBuilder.builder());
     }
 
+    @Test
+    void bulkhead_isAppliedToAsyncServiceForConfiguredChannelOnly() {
+        NotificationService service = NotificationServiceBuilder.builder()
+            .bulkhead(Channel.SMS, BulkheadConfig.builder().maxConcurrent(4).maxQueued(100).build())
+            .bulkhead(Channel.PUSH, BulkheadConfig.builder().maxConcurrent(0).build())
+            .async()
+            .build();
+
+        AsyncNotificationService async = assertInstanceOf(AsyncNotificationService.class, service);
+        assertEquals(4, async.getBulkhead(Channel.SMS).getMaxConcurrent());
+        assertEquals(100, async.getBulkhead(Channel.SMS).getMaxQueued());
+        assertNull(async.getBulkhead(Channel.PUSH));
+        assertNull(async.getBulkhead(Channel.EMAIL));
+        service.shutdown();
+    }
+
+    @Test
+    void defaultBulkhead_isSharedByChannelsWithoutTheirOwn() {
+        NotificationService service = NotificationServiceBuilder.builder()
+            .bulkhead(Channel.SMS, BulkheadConfig.builder().maxConcurrent(4).maxQueued(100).build())
+            .defaultBulkhead(BulkheadConfig.builder().maxConcurrent(8).maxQueued(1000).build())
+            .priorityScheduling(Duration.ofSeconds(5))
+            .tenant("marketing", TenantConfig.builder().weight(1).maxConcurrent(2).build())
+            .async()
+            .build();
+
+        AsyncNotificationService async = assertInstanceOf(AsyncNotificationService.class, service);
+        assertEquals(4, async.getBulkhead(Channel.SMS).getMaxConcurrent());
+        assertEquals(8, async.getBulkhead(Channel.EMAIL).getMaxConcurrent());
+        assertSame(async.getBulkhead(Channel.EMAIL), async.getBulkhead(Channel.PUSH));
+        service.shutdown();
+    }
+
+    @Test
+    void defaultBulkhead_withTenantsAndDomainThrottling_keepsTenantCapsAndPacesEmailOnly() {
+        NotificationChannel sms = mock(NotificationChannel.class);
+        when(sms.getChannelType()).thenReturn(Channel.SMS);
+        CompletableFuture<NotificationResult> firstSms = new CompletableFuture<>();
+        when(sms.sendAsync(any(NotificationRequest.class)))
+            .thenReturn(firstSms)
+            .thenAnswer(invocation -> new CompletableFuture<>());
+        NotificationChannel email = mock(NotificationChannel.class);
+        when(email.getChannelType()).thenReturn(Channel.EMAIL);
+        when(email.sendAsync(any(NotificationRequest.class))).thenAnswer(invocation -> new CompletableFuture<>());
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(sms)
+            .registerChannel(email)
+            .defaultBulkhead(BulkheadConfig.builder().maxConcurrent(4).maxQueued(100).build())
+            .tenant("bulk", TenantConfig.builder().weight(1).maxConcurrent(1).build())
+            .domainThrottle("gmail.com", DomainThrottleConfig.builder().ratePerSecond(0.1).burst(1).build())
+            .async()
+            .build();
+        NotificationRequest.NotificationRequestBuilder bulkSms = NotificationRequest.builder()
+            .channel(Channel.SMS).recipient("+1234567890").message("Sale").tenant("bulk");
+        NotificationRequest.NotificationRequestBuilder gmail = NotificationRequest.builder()
+            .channel(Channel.EMAIL).recipient("user@gmail.com").subject("Receipt").message("Thanks").tenant("shop");
+
+        service.sendAsync(bulkSms.build());
+        service.sendAsync(bulkSms.build());
+        service.sendAsync(gmail.build());
+        service.sendAsync(gmail.build());
+
+        // Free slots remain, but "bulk" is at its cap and gmail.com has spent its burst
+        verify(email, timeout(5000).times(1)).sendAsync(any(NotificationRequest.class));
+        verify(sms, after(200).times(1)).sendAsync(any(NotificationRequest.class));
+        verify(email, times(1)).sendAsync(any(NotificationRequest.class));
+
+        firstSms.complete(NotificationResult.builder().success(true).status(NotificationStatus.SENT).build());
+        verify(sms, timeout(5000).times(2)).sendAsync(any(NotificationRequest.class));
+        service.shutdown();
+    }
+
+    @Test
+    void adaptiveConcurrency_wrapsEachChannelProvider() {
+        EmailChannel channel = new EmailChannel(new SendGridEmailProvider(EmailConfig.builder()
+            .apiKey("SG.test")
+            .fromEmail("from@example.com")
+            .build()));
+
+        NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .adaptiveConcurrency(AdaptiveLimitConfig.defaultConfig())
+            .sync()
+            .build();
+
+        ConcurrencyLimitedProvider limited = assertInstanceOf(ConcurrencyLimitedProvider.class, channel.getProvider());
+        assertInstanceOf(SendGridEmailProvider.class, limited.getDelegate());
+        assertEquals(20, limited.getLimiter().getLimit());
+        assertEquals("SendGrid", channel.getProvider().getName());
+    }
+
+    @Test
+    void sharedQuota_wrapsOnlyThatChannelsProvider() {
+        EmailChannel channel = new EmailChannel(new SendGridEmailProvider(EmailConfig.builder()
+            .apiKey("SG.test")
+            .fromEmail("from@example.com")
+            .build()));
+
+        NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .sharedQuota(Channel.EMAIL, new InMemoryQuotaStore(), QuotaConfig.builder()
+                .name("sendgrid").ratePerSecond(100).burst(100).chunkSize(10).leaseDuration(Duration.ofSeconds(1)).build())
+            .sharedQuota(Channel.SMS, new InMemoryQuotaStore(), QuotaConfig.builder().name("twilio").build())
+            .sync()
+            .build();
+
+        QuotaLimitedProvider limited = assertInstanceOf(QuotaLimitedProvider.class, channel.getProvider());
+        assertInstanceOf(SendGridEmailProvider.class, limited.getDelegate());
+        assertEquals("sendgrid", limited.getLimiter().getConfig().getName());
+    }
+
+    @Test
+    void sharedQuota_withAdaptiveConcurrency_isAppliedInsideTheLimit() {
+        EmailChannel channel = new EmailChannel(new SendGridEmailProvider(EmailConfig.builder()
+            .apiKey("SG.test")
+            .fromEmail("from@example.com")
+            .build()));
+
+        NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .adaptiveConcurrency(AdaptiveLimitConfig.defaultConfig())
+            .sharedQuota(Channel.EMAIL, new InMemoryQuotaStore(), QuotaConfig.builder()
+                .name("sendgrid").ratePerSecond(100).burst(100).chunkSize(10).leaseDuration(Duration.ofSeconds(1)).build())
+            .sync()
+            .build();
+
+        ConcurrencyLimitedProvider limited = assertInstanceOf(ConcurrencyLimitedProvider.class, channel.getProvider());
+        assertInstanceOf(QuotaLimitedProvider.class, limited.getDelegate());
+    }
+
+    @Test
+    void sharedQuota_returnsUnspentTokensOnShutdown() {
+        EmailChannel channel = new EmailChannel(new SendGridEmailProvider(EmailConfig.builder()
+            .apiKey("SG.test")
+            .fromEmail("from@example.com")
+            .build()));
+        InMemoryQuotaStore store = spy(new InMemoryQuotaStore());
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .sharedQuota(Channel.EMAIL, store, QuotaConfig.builder()
+                .name("sendgrid").ratePerSecond(100).burst(100).chunkSize(10).leaseDuration(Duration.ofMinutes(1)).build())
+            .async()
+            .build();
+        SharedRateLimiter limiter = assertInstanceOf(QuotaLimitedProvider.class, channel.getProvider()).getLimiter();
+        assertTrue(limiter.tryAcquire());
+
+        service.shutdown();
+
+        verify(store).release("sendgrid", 100, 9);
+        assertEquals(0, limiter.getLocalTokens());
+    }
+
+    @Test
+    void suppressionList_shortCircuitsBeforeValidationAndProvider() {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.getChannelType()).thenReturn(Channel.EMAIL);
+        SuppressionList suppressionList = SuppressionList.inMemory(100);
+        suppressionList.add("not-an-address");
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .suppressionList(suppressionList)
+            .validation()
+            .sync()
+            .build();
+
+        NotificationResult result = service.send(NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("not-an-address")
+            .message("Test")
+            .build());
+
+        assertEquals(NotificationStatus.SUPPRESSED, result.getStatus());
+        assertFalse(result.isSuccess());
+        verify(channel, never()).send(any(NotificationRequest.class));
+    }
+
+    @Test
+    void frequencyCap_throttlesRecipientOverCap() {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.getChannelType()).thenReturn(Channel.SMS);
+        when(channel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true).status(NotificationStatus.SENT).build());
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .frequencyCap(Channel.SMS, FrequencyCapConfig.builder().maxSends(2).window(Duration.ofHours(1)).build())
+            .sync()
+            .build();
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("+15551234567")
+            .message("Test")
+            .build();
+
+        service.send(request);
+        service.send(request);
+        NotificationResult result = service.send(request);
+
+        assertEquals(NotificationStatus.THROTTLED, result.getStatus());
+        verify(channel, times(2)).send(any(NotificationRequest.class));
+    }
+
+    @Test
+    void deduplication_invalidConfig_isIgnored() {
+        NotificationService ignored = NotificationServiceBuilder.builder()
+            .deduplication(DeduplicationConfig.builder().ttl(Duration.ZERO).build())
+            .sync()
+            .build();
+        NotificationService kept = NotificationServiceBuilder.builder()
+            .deduplication(DeduplicationConfig.defaultConfig())
+            .deduplication(null)
+            .sync()
+            .build();
+
+        assertInstanceOf(SyncNotificationService.class, ignored);
+        assertInstanceOf(DeduplicatingNotificationService.class, kept);
+        kept.shutdown();
+    }
+
+    @Test
+    void digest_withDeduplication_sendsMergedNotification() {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.getChannelType()).thenReturn(Channel.PUSH);
+        when(channel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true).status(NotificationStatus.SENT).build());
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .deduplication(DeduplicationConfig.defaultConfig())
+            .digest(DigestConfig.builder().window(Duration.ofMillis(50)).maxOpenDigests(10).maxPerDigest(10).build(),
+                DigestMerger.latest())
+            .sync()
+            .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(NotificationStatus.DIGESTED, service.send(NotificationRequest.builder()
+                .notificationId("n" + i)
+                .channel(Channel.PUSH)
+                .recipient("device-token")
+                .title("New comment")
+                .body("Comment " + i)
+                .digestKey("comments")
+                .build()).getStatus());
+        }
+
+        verify(channel, timeout(5000).times(1)).send(argThat(r -> r != null && "Comment 2".equals(r.getBody())));
+    }
+
+    @Test
+    void digest_onShutdown_sendsOpenDigests() {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.getChannelType()).thenReturn(Channel.PUSH);
+        when(channel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true).status(NotificationStatus.SENT).build());
+        when(channel.sendAsync(any(NotificationRequest.class))).thenCallRealMethod();
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .digest(DigestConfig.builder().window(Duration.ofHours(1)).maxOpenDigests(10).maxPerDigest(10).build(),
+                DigestMerger.latest())
+            .async()
+            .build();
+
+        service.sendAsync(NotificationRequest.builder()
+            .channel(Channel.PUSH)
+            .recipient("device-token")
+            .title("New comment")
+            .body("Comment")
+            .digestKey("comments")
+            .build()).join();
+        verify(channel, never()).send(any(NotificationRequest.class));
+
+        service.shutdown();
+
+        verify(channel, times(1)).send(any(NotificationRequest.class));
+    }
+
+    @Test
+    void digest_sendsOneMergedNotificationPerWindow() {
+        NotificationChannel channel = mock(NotificationChannel.class);
+        when(channel.getChannelType()).thenReturn(Channel.PUSH);
+        when(channel.send(any(NotificationRequest.class))).thenReturn(NotificationResult.builder()
+            .success(true).status(NotificationStatus.SENT).build());
+        NotificationService service = NotificationServiceBuilder.builder()
+            .registerChannel(channel)
+            .digest(DigestConfig.builder().window(Duration.ofMillis(50)).maxOpenDigests(10).maxPerDigest(10).build(),
+                DigestMerger.latest())
+            .sync()
+            .build();
+
+        for (int i = 0; i < 5; i++) {
+            NotificationResult result = service.send(NotificationRequest.builder()
+                .channel(Channel.PUSH)
+                .recipient("device-token")
+                .title("New comment")
+                .body("Comment " + i)
+                .digestKey("comments")
+                .build());
+            assertEquals(NotificationStatus.DIGESTED, result.getStatus());
+        }
+
+        verify(channel, timeout(5000).times(1)).send(argThat(r -> "Comment 4".equals(r.getBody())));
+    }
+
     @Test
     void build_withNoChannels_returnsService() {
         NotificationService service = NotificationServiceBuilder.builder().build();
@@ -2,6 +2,7 @@ package com.agora.notification.service;
 
 import com.agora.notification.channels.EmailChannel;
 import com.agora.notification.core.NotificationChannel;
+import com.agora.notification.core.NotificationEvent;
 import com.agora.notification.core.NotificationService;
 import com.agora.notification.events.NotificationEventPublisher;
 import com.agora.notification.models.Channel;
@@ -10,6 +11,7 @@ import com.agora.notification.models.NotificationResult;
 import com.agora.notification.providers.email.SendGridEmailProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -176,4 +178,46 @@ class SyncNotificationServiceTest {
         // Verify events were published
         verify(eventPublisher, atLeastOnce()).publish(any());
     }
+    
+    @Test
+    void send_withCallerSuppliedId_usesItForEvents() {
+        NotificationRequest request = NotificationRequest.builder()
+            .notificationId("order-42-confirmation")
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+        
+        when(channelRegistry.getChannel(Channel.EMAIL)).thenReturn(mockChannel);
+        when(mockChannel.send(request)).thenReturn(NotificationResult.builder().success(true).build());
+        
+        service.send(request);
+        
+        ArgumentCaptor<NotificationEvent> events = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(eventPublisher, times(2)).publish(events.capture());
+        assertTrue(events.getAllValues().stream()
+            .allMatch(e -> "order-42-confirmation".equals(e.getNotificationId())));
+    }
+    
+    @Test
+    void send_withoutId_usesConfiguredGenerator() {
+        SyncNotificationService customService = 
+            new SyncNotificationService(channelRegistry, eventPublisher, () -> "generated-1");
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build();
+        
+        when(channelRegistry.getChannel(Channel.EMAIL)).thenReturn(mockChannel);
+        when(mockChannel.send(request)).thenReturn(NotificationResult.builder().success(true).build());
+        
+        customService.send(request);
+        
+        ArgumentCaptor<NotificationEvent> events = ArgumentCaptor.forClass(NotificationEvent.class);
+        verify(eventPublisher, times(2)).publish(events.capture());
+        assertEquals("generated-1", events.getAllValues().get(0).getNotificationId());
+    }
 }
@@ -0,0 +1,96 @@
+package com.agora.notification.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-10-19T12:00:00Z").toEpochMilli();
+
+    @Test
+    void nextId_returnsThirteenCharacterCrockfordId() {
+        String id = new TimeOrderedIdGenerator(7).nextId();
+
+        assertEquals(13, id.length());
+        assertTrue(id.matches("[0-9A-HJKMNP-TV-Z]{13}"));
+    }
+
+    @Test
+    void nextId_withinSameMillisecond_isStrictlyIncreasing() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, () -> NOW);
+
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, "IDs must sort in creation order");
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_whenClockGoesBackwards_staysMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock::get);
+
+        String first = generator.nextId();
+        clock.set(NOW - 5_000);
+        String second = generator.nextId();
+
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void timestampOf_returnsCreationTime() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3, () -> NOW);
+
+        assertEquals(Instant.ofEpochMilli(NOW), TimeOrderedIdGenerator.timestampOf(generator.nextId()));
+    }
+
+    @Test
+    void nextLong_encodesNodeId() {
+        long id = new TimeOrderedIdGenerator(1023, () -> NOW).nextLong();
+
+        assertEquals(1023, (id >>> TimeOrderedIdGenerator.SEQUENCE_BITS) & TimeOrderedIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void constructor_withNodeIdOutOfRange_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024));
+    }
+
+    @Test
+    void nextId_fromManyThreads_producesNoDuplicates() throws Exception {
+        TimeOrderedIdGenerator generator = TimeOrderedIdGenerator.getDefault();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(160_000, ids.size());
+    }
+}
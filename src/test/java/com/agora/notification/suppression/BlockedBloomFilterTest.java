@@ -0,0 +1,39 @@
+package com.agora.notification.suppression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockedBloomFilterTest {
+
+    @Test
+    void mightContain_neverMissesAddedKeysAndKeepsFalsePositivesNearTarget() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("user" + i + "@example.com");
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        // Blocking costs some accuracy; stay well within 2x the target
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void constructor_sizesFilterFromExpectedInsertions() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits per key at 1%
+        assertTrue(filter.sizeInBytes() >= 1_150_000 && filter.sizeInBytes() <= 1_300_000);
+        assertEquals(7, filter.getHashCount());
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BlockedBloomFilter(10, 1.0));
+    }
+}
@@ -0,0 +1,93 @@
+package com.agora.notification.suppression;
+
+import com.agora.notification.core.AsyncNotificationProvider;
+import com.agora.notification.core.NotificationProvider;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationRequest;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DeadTokenRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void add_boundsSizeByEvictingOldestAndNotifiesOnce() {
+        DeadTokenRegistry registry = DeadTokenRegistry.inMemory(2);
+        List<String> invalidated = new ArrayList<>();
+        registry.addListener(invalidated::add);
+
+        assertTrue(registry.add("t1"));
+        assertFalse(registry.add("t1"));
+        registry.add("t2");
+        registry.add("t3");
+
+        assertEquals(2, registry.size());
+        assertFalse(registry.isDead("t1"));
+        assertTrue(registry.isDead("t3"));
+        assertEquals(List.of("t1", "t2", "t3"), invalidated);
+    }
+
+    @Test
+    void persistent_survivesRestartAndCompactsFile() throws Exception {
+        Path file = tempDir.resolve("dead-tokens.txt");
+        DeadTokenRegistry registry = DeadTokenRegistry.persistent(file, 3);
+        for (int i = 0; i < 10; i++) {
+            registry.add("t" + i);
+        }
+        registry.remove("t9");
+
+        DeadTokenRegistry reloaded = DeadTokenRegistry.persistent(file, 3);
+
+        assertTrue(reloaded.isDead("t8"));
+        assertTrue(reloaded.isDead("t7"));
+        assertFalse(reloaded.isDead("t9"));
+        assertFalse(reloaded.isDead("t0"));
+        assertTrue(Files.readAllLines(file).size() <= 6);
+    }
+
+    @Test
+    void trackingProviderAndStage_skipTokenAfterProviderReportsIt() {
+        DeadTokenRegistry registry = DeadTokenRegistry.inMemory(100);
+        NotificationProvider fcm = mock(NotificationProvider.class);
+        when(fcm.sendAsync(any())).thenCallRealMethod();
+        when(fcm.send(any())).thenThrow(new ProviderException("FCM", "UNREGISTERED", ErrorCategory.INVALID_RECIPIENT));
+        DeadTokenTrackingProvider provider = new DeadTokenTrackingProvider(fcm, registry);
+        DeadTokenStage stage = new DeadTokenStage(registry);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.PUSH).recipient("stale-token").title("t").body("b").build();
+
+        assertNull(stage.apply(request));
+        assertThrows(ProviderException.class, () -> provider.send(request));
+
+        assertTrue(registry.isDead("stale-token"));
+        assertEquals(NotificationStatus.SUPPRESSED, stage.apply(request).getStatus());
+    }
+
+    @Test
+    void trackingProvider_delegateReturnsNoResult_passesItOn() {
+        DeadTokenRegistry registry = DeadTokenRegistry.inMemory(100);
+        AsyncNotificationProvider fcm = mock(AsyncNotificationProvider.class);
+        when(fcm.sendAsync(any())).thenReturn(CompletableFuture.completedFuture(null));
+        DeadTokenTrackingProvider provider = new DeadTokenTrackingProvider(fcm, registry);
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.PUSH).recipient("token").title("t").body("b").build();
+
+        assertNull(provider.sendAsync(request).join());
+        assertFalse(registry.isDead("token"));
+    }
+}
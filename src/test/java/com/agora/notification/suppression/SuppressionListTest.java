@@ -0,0 +1,77 @@
+package com.agora.notification.suppression;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuppressionListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void isSuppressed_matchesNormalisedRecipients() {
+        SuppressionList list = SuppressionList.inMemory(1_000);
+        list.add("Bounced@Example.com ");
+        list.add("+1 (555) 123-4567");
+
+        assertTrue(list.isSuppressed("bounced@example.com"));
+        assertTrue(list.isSuppressed("+15551234567"));
+        assertFalse(list.isSuppressed("clean@example.com"));
+        assertFalse(list.isSuppressed(null));
+        assertEquals(2, list.getSuppressedCount());
+    }
+
+    @Test
+    void isSuppressed_consultsStoreOnlyOnFilterHit() {
+        AtomicInteger storeLookups = new AtomicInteger();
+        InMemorySuppressionStore store = new InMemorySuppressionStore() {
+            @Override
+            public boolean contains(String recipient) {
+                storeLookups.incrementAndGet();
+                return super.contains(recipient);
+            }
+        };
+        SuppressionList list = new SuppressionList(store, 10_000, 0.001);
+        list.add("bounced@example.com");
+
+        for (int i = 0; i < 1_000; i++) {
+            list.isSuppressed("user" + i + "@example.com");
+        }
+        assertTrue(list.isSuppressed("bounced@example.com"));
+
+        assertEquals(list.getFilterHitCount(), storeLookups.get());
+        assertTrue(storeLookups.get() < 10, "store lookups: " + storeLookups.get());
+        assertEquals(1_001, list.getLookupCount());
+    }
+
+    @Test
+    void load_readsOneRecipientPerLineSkippingCommentsAndBlanks() throws Exception {
+        Path file = tempDir.resolve("suppressed.txt");
+        Files.write(file, List.of("# unsubscribed", "a@example.com", "", "  B@Example.com", "+15551234567"));
+        SuppressionList list = SuppressionList.inMemory(100);
+
+        assertEquals(3, list.load(file));
+        assertTrue(list.isSuppressed("a@example.com"));
+        assertTrue(list.isSuppressed("b@example.com"));
+        assertTrue(list.isSuppressed("+1 555 123 4567"));
+        assertFalse(list.isSuppressed("# unsubscribed"));
+    }
+
+    @Test
+    void remove_liftsSuppressionDespiteFilterBits() {
+        SuppressionList list = SuppressionList.inMemory(100);
+        list.add("back@example.com");
+
+        assertTrue(list.remove("Back@example.com"));
+        assertFalse(list.remove("back@example.com"));
+        assertFalse(list.isSuppressed("back@example.com"));
+        assertTrue(list.getFilter().mightContain("back@example.com"));
+    }
+}
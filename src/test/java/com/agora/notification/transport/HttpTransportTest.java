@@ -0,0 +1,214 @@
+package com.agora.notification.transport;
+
+import com.agora.notification.exceptions.DeadlineExceededException;
+import com.agora.notification.exceptions.ProviderException;
+import com.agora.notification.models.ErrorCategory;
+import com.agora.notification.models.NotificationResult;
+import com.agora.notification.models.NotificationStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpTransportTest {
+
+    private StubHttpServer server;
+    private HttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubHttpServer.start();
+        transport = new HttpTransport();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.close();
+    }
+
+    @Test
+    void sendAsync_postsBodyAndHeadersToBaseUrlPlusPath() {
+        HttpResponse<String> response = transport.sendAsync(request("/v3/mail/send", 5000)
+                .header("Authorization", "Bearer key")
+                .build())
+            .join();
+
+        assertEquals(200, response.statusCode());
+        StubHttpServer.Received received = server.requests().get(0);
+        assertEquals("/v3/mail/send", received.path());
+        assertEquals("Bearer key", received.header("Authorization"));
+        assertEquals("application/json", received.header("Content-Type"));
+        assertEquals("{\"hello\":\"world\"}", received.body());
+    }
+
+    @Test
+    void sendAsync_sequentialSendsReuseOneConnectionAndOneClient() {
+        for (int i = 0; i < 20; i++) {
+            transport.sendAsync(request("/send", 5000).build()).join();
+        }
+
+        assertEquals(20, server.requests().size());
+        assertEquals(1, server.connectionCount());
+        assertEquals(1, transport.poolCount());
+    }
+
+    @Test
+    void sendAsync_differentOriginsGetSeparatePools() throws Exception {
+        try (StubHttpServer other = StubHttpServer.start()) {
+            transport.sendAsync(request("/a", 5000).build()).join();
+            transport.sendAsync(TransportRequest.builder()
+                    .providerName("Other")
+                    .baseUrl(other.baseUrl())
+                    .path("/b")
+                    .build())
+                .join();
+
+            assertEquals(2, transport.poolCount());
+        }
+    }
+
+    @Test
+    void sendAsync_slowServer_failsWithProviderExceptionAfterTimeout() {
+        server.delay(1000);
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(request("/slow", 100).build()).join());
+
+        assertInstanceOf(ProviderException.class, thrown.getCause());
+        assertTrue(thrown.getCause().getMessage().contains("timed out after 100ms"));
+    }
+
+    @Test
+    void sendAsync_unreachableHost_failsWithProviderException() {
+        String baseUrl = server.baseUrl();
+        server.close();
+
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(TransportRequest.builder()
+                    .providerName("Test")
+                    .baseUrl(baseUrl)
+                    .path("/send")
+                    .timeoutMs(2000)
+                    .build())
+                .join());
+
+        assertInstanceOf(ProviderException.class, thrown.getCause());
+    }
+
+    @Test
+    void sendAsync_invalidUrl_failsWithoutSending() {
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(TransportRequest.builder()
+                    .providerName("Test")
+                    .baseUrl("not a url")
+                    .build())
+                .join());
+
+        assertInstanceOf(ProviderException.class, thrown.getCause());
+    }
+
+    @Test
+    void toResult_mapsSuccessAndErrorStatuses() {
+        HttpResponse<String> ok = transport.sendAsync(request("/ok", 5000).build()).join();
+        NotificationResult result = HttpResponseParser.toResult("Test", ok, "Sent");
+        assertTrue(result.isSuccess());
+        assertEquals(NotificationStatus.SENT, result.getStatus());
+        assertEquals("Test", result.getProviderName());
+
+        server.respondWith(400, "{\"error\":\"invalid recipient\"}");
+        HttpResponse<String> bad = transport.sendAsync(request("/bad", 5000).build()).join();
+        ProviderException error = assertThrows(ProviderException.class,
+            () -> HttpResponseParser.toResult("Test", bad, "Sent"));
+        assertTrue(error.getMessage().contains("400"));
+        assertTrue(error.getMessage().contains("invalid recipient"));
+    }
+
+    @Test
+    void toResult_rateLimitedResponse_carriesCategoryAndRetryAfter() throws Exception {
+        server.respondWith(429, "{\"error\":\"slow down\"}").header("Retry-After", "2");
+        HttpResponse<String> throttled = transport.sendAsync(request("/send", 5000).build()).join();
+        
+        ProviderException error = assertThrows(ProviderException.class,
+            () -> HttpResponseParser.toResult("Test", throttled, "Sent"));
+        
+        assertEquals(ErrorCategory.RATE_LIMITED, error.getCategory());
+        assertEquals(429, error.getStatusCode());
+        assertEquals(Duration.ofSeconds(2), error.getRetryAfter());
+    }
+    
+    @Test
+    void parseRetryAfter_acceptsSecondsAndHttpDates() {
+        assertEquals(Duration.ofSeconds(120), HttpResponseParser.parseRetryAfter("120"));
+        assertEquals(Duration.ZERO, HttpResponseParser.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        String inOneMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        Duration delay = HttpResponseParser.parseRetryAfter(inOneMinute);
+        assertTrue(delay.getSeconds() > 50 && delay.getSeconds() <= 60);
+        assertNull(HttpResponseParser.parseRetryAfter("soon"));
+        assertNull(HttpResponseParser.parseRetryAfter("-5"));
+    }
+    
+    @Test
+    void sendAsync_timeout_isTransient() {
+        server.delay(1000);
+        
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(request("/slow", 100).build()).join());
+        
+        assertEquals(ErrorCategory.TRANSIENT, ((ProviderException) thrown.getCause()).getCategory());
+    }
+    
+    @Test
+    void sendAsync_deadlineBeforeTimeout_shortensTimeout() {
+        server.delay(2000);
+        
+        long start = System.nanoTime();
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(request("/slow", 5000)
+                    .deadline(Instant.now().plusMillis(150))
+                    .build())
+                .join());
+        
+        assertInstanceOf(DeadlineExceededException.class, thrown.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+    }
+    
+    @Test
+    void sendAsync_deadlinePassed_failsWithoutSending() {
+        CompletionException thrown = assertThrows(CompletionException.class,
+            () -> transport.sendAsync(request("/late", 5000)
+                    .deadline(Instant.now().minusSeconds(1))
+                    .build())
+                .join());
+        
+        assertInstanceOf(DeadlineExceededException.class, thrown.getCause());
+        assertTrue(server.requests().isEmpty());
+    }
+    
+    @Test
+    void form_encodesPairsAndSkipsNullValues() {
+        assertEquals("To=%2B1234567890&Body=hello+world%26more",
+            TransportRequest.form("To", "+1234567890", "From", null, "Body", "hello world&more"));
+        assertEquals("Basic dXNlcjpwYXNz", TransportRequest.basicAuth("user", "pass"));
+    }
+
+    private TransportRequest.TransportRequestBuilder request(String path, int timeoutMs) {
+        return TransportRequest.builder()
+            .providerName("Test")
+            .baseUrl(server.baseUrl())
+            .path(path)
+            .contentType("application/json")
+            .body("{\"hello\":\"world\"}")
+            .timeoutMs(timeoutMs);
+    }
+}
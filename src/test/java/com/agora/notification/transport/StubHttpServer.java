@@ -0,0 +1,111 @@
+package com.agora.notification.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process provider stub on a loopback port for transport tests and benchmarks.
+ * Answers every POST with the configured status, body and delay, records requests, and counts
+ * distinct client connections so tests can check that connections are reused.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    /** A request as received by the stub. */
+    public record Received(String path, Map<String, List<String>> headers, String body) {
+        public String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+    }
+
+    private final HttpServer server;
+    private final List<Received> requests = new CopyOnWriteArrayList<>();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger statusCode = new AtomicInteger(200);
+    private volatile String responseBody = "{\"id\":\"stub\"}";
+    private final Map<String, String> responseHeaders = new ConcurrentHashMap<>();
+    private volatile long delayMs;
+
+    private StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public static StubHttpServer start() throws IOException {
+        return new StubHttpServer();
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public StubHttpServer respondWith(int status, String body) {
+        statusCode.set(status);
+        responseBody = body;
+        return this;
+    }
+
+    public StubHttpServer header(String name, String value) {
+        responseHeaders.put(name, value);
+        return this;
+    }
+
+    public StubHttpServer delay(long millis) {
+        delayMs = millis;
+        return this;
+    }
+
+    public List<Received> requests() {
+        return requests;
+    }
+
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            connections.add(exchange.getRemoteAddress());
+            String body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            requests.add(new Received(exchange.getRequestURI().getPath(), exchange.getRequestHeaders(), body));
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] response = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            responseHeaders.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            exchange.sendResponseHeaders(statusCode.get(), response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+}
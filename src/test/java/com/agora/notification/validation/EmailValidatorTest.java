@@ -184,4 +184,18 @@ class EmailValidatorTest {
                 "Should accept valid email: " + email);
         }
     }
+    
+    @Test
+    void hasPlausibleSyntax_rejectsObviousTyposBeforeFullValidation() {
+        assertFalse(EmailValidator.hasPlausibleSyntax("user.example.com"));
+        assertFalse(EmailValidator.hasPlausibleSyntax("@example.com"));
+        assertFalse(EmailValidator.hasPlausibleSyntax("user@"));
+        assertFalse(EmailValidator.hasPlausibleSyntax("user@localhost"));
+        assertFalse(EmailValidator.hasPlausibleSyntax("user@.com"));
+        assertFalse(EmailValidator.hasPlausibleSyntax("user@example."));
+        
+        assertTrue(EmailValidator.hasPlausibleSyntax("user@example.com"));
+        assertTrue(EmailValidator.hasPlausibleSyntax("\"john doe\"@example.com"));
+        assertTrue(EmailValidator.hasPlausibleSyntax("user@[192.168.0.1]"));
+    }
 }
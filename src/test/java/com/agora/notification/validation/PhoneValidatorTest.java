@@ -6,6 +6,8 @@ import com.agora.notification.models.NotificationRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PhoneValidatorTest {
@@ -162,4 +164,20 @@ class PhoneValidatorTest {
                 "Should reject invalid phone: " + phone);
         }
     }
+    
+    @Test
+    void isE164_matchesPreviousRegexBehaviour() {
+        Pattern legacy = Pattern.compile("^[+]?[1-9]\\d{6,14}$");
+        String[] inputs = {
+            "+1234567890", "1234567890", "+1 (555) 123-4567", "(+44) 20 7946 0958", "+1\t555\n1234567",
+            "0123456789", "+0123456789", "123456", "1234567", "123456789012345", "1234567890123456",
+            "++1234567890", "12345+67890", "+", "", "   ", "+1-800-FLOWERS", "+1.555.123.4567",
+            "\u0661\u0662\u0663\u0664\u0665\u0666\u0667", "1234567 ", " +1234567"
+        };
+        
+        for (String input : inputs) {
+            boolean expected = legacy.matcher(input.replaceAll("[\\s\\-\\(\\)]", "")).matches();
+            assertEquals(expected, PhoneValidator.isE164(input), "Mismatch for: '" + input + "'");
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.agora.notification.validation;
+
+import com.agora.notification.core.NotificationValidator;
+import com.agora.notification.exceptions.ValidationException;
+import com.agora.notification.models.Channel;
+import com.agora.notification.models.NotificationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ValidationStageTest {
+
+    private final ValidationStage stage = ValidationStage.withDefaults();
+
+    @Test
+    void apply_withValidEmail_returnsNullToContinue() {
+        assertNull(stage.apply(NotificationRequest.builder()
+            .channel(Channel.EMAIL)
+            .recipient("user@example.com")
+            .subject("Test")
+            .message("Test message")
+            .build()));
+    }
+
+    @Test
+    void apply_withInvalidPhone_throwsValidationException() {
+        NotificationRequest request = NotificationRequest.builder()
+            .channel(Channel.SMS)
+            .recipient("not-a-number")
+            .message("Test message")
+            .build();
+
+        assertThrows(ValidationException.class, () -> stage.apply(request));
+    }
+
+    @Test
+    void apply_withChannelWithoutValidators_passes() {
+        assertNull(stage.apply(NotificationRequest.builder()
+            .channel(Channel.PUSH)
+            .recipient("device-token")
+            .title("Title")
+            .body("Body")
+            .build()));
+    }
+
+    @Test
+    void apply_runsOnlyValidatorsSupportingTheChannel() {
+        NotificationValidator pushValidator = mock(NotificationValidator.class);
+        when(pushValidator.supports(Channel.PUSH)).thenReturn(true);
+        ValidationStage custom = new ValidationStage(List.of(pushValidator));
+
+        custom.apply(NotificationRequest.builder().channel(Channel.EMAIL).recipient("x").build());
+        verify(pushValidator, never()).validate(any());
+
+        custom.apply(NotificationRequest.builder().channel(Channel.PUSH).recipient("token").build());
+        verify(pushValidator).validate(any());
+    }
+
+    @Test
+    void apply_withMissingChannel_throwsValidationException() {
+        assertThrows(ValidationException.class,
+            () -> stage.apply(NotificationRequest.builder().recipient("user@example.com").build()));
+    }
+}